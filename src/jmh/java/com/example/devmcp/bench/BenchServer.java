@@ -0,0 +1,68 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.DevMcpApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The real application, started inside a benchmark fork.
+ *
+ * Same beans and wiring as production, with the differences a benchmark needs:
+ * a random port, no DEBUG line logging, and history / analysis cache in a temp
+ * directory so runs don't touch ~/.devmcp or each other. The search index is
+ * off — its background build would compete with the measured code.
+ *
+ * The server mode follows the spring.profiles.active system property, which
+ * the benchmarks profile passes on ({@code -Dreactive} sets async): with the
+ * async profile the same jar runs the ASYNC server on WebFlux.
+ */
+final class BenchServer implements AutoCloseable {
+
+    private final Path state;
+    private final ConfigurableApplicationContext context;
+
+    BenchServer(String... properties) throws IOException {
+        this.state = Files.createTempDirectory("devmcp-bench");
+        List<String> props = new ArrayList<>(List.of(
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "logging.level.com.example.devmcp=INFO",
+            "devmcp.search.enabled=false",
+            "devmcp.history.dir=" + state.resolve("history"),
+            "devmcp.sampling.cache.file=" + state.resolve("analysis-cache.tsv"),
+            "devmcp.build.warm.dir=" + state.resolve("workers")));
+        props.addAll(List.of(properties));
+        this.context = new SpringApplicationBuilder(DevMcpApplication.class)
+            .properties(props.toArray(String[]::new))
+            .run();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        delete(state);
+    }
+
+    static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+}
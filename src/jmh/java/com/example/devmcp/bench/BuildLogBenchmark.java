@@ -0,0 +1,88 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.BuildLog;
+import com.example.devmcp.BuildLogHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BuildLogHolder under one writer and several readers — a build streaming
+ * output while clients poll project://build-log, its tail and its pages.
+ *
+ * The writer appends lines and publishes a fresh log every {@link #LINES_PER_BUILD}
+ * lines (a new build), so readers also cross log switches. Small memory limit:
+ * older chunks spill to disk, as they do for long builds. JMH reports each
+ * method of the group separately; the readers' numbers are the ones that show
+ * contention on the log's monitor.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildLogBenchmark {
+
+    private static final int LINES_PER_BUILD = 200_000;
+    private static final int PAGE = 64 * 1024;
+    private static final String LINE =
+        "[INFO] --- surefire:3.5.2:test (default-test) @ core --- Tests run: 12, Failures: 0, Errors: 0";
+
+    private BuildLogHolder holder;
+    private BuildLog writing;
+    private int written;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        holder = new BuildLogHolder(DataSize.ofMegabytes(2));
+        writing = holder.startNewLog();
+        written = 0;
+    }
+
+    @Benchmark
+    @Group("publishAndRead")
+    @GroupThreads(1)
+    public void append() {
+        if (++written == LINES_PER_BUILD) {
+            writing = holder.startNewLog();
+            written = 0;
+        }
+        writing.appendLine(LINE);
+    }
+
+    @Benchmark
+    @Group("publishAndRead")
+    @GroupThreads(2)
+    public String tail() {
+        return holder.current().tail(100, PAGE);
+    }
+
+    @Benchmark
+    @Group("publishAndRead")
+    @GroupThreads(2)
+    public String page() {
+        BuildLog log = holder.current();
+        return log.read(Math.max(0, log.length() / 2), PAGE);
+    }
+
+    @Benchmark
+    @Group("publishAndRead")
+    @GroupThreads(1)
+    public String view() {
+        return holder.current().view(PAGE);
+    }
+}
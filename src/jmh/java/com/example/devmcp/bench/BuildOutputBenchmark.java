@@ -0,0 +1,68 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.tools.BuildTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The runBuildTool read loop: spawn, stream every output line into the build
+ * log, parse progress, record history — against a synthetic "build" that only
+ * prints Maven-style lines, so the numbers are the server's overhead and not
+ * a real compiler's.
+ *
+ * The project directory has no wrapper, so the goals run through {@code sh -c}.
+ * A progress token is passed so BuildProgressTracker sees every line, as it does
+ * for a real client. Compare with {@code -prof gc} for allocation per line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BuildOutputBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int lines;
+
+    private BenchServer server;
+    private BuildTools tools;
+    private Path project;
+    private String goals;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new BenchServer();
+        tools = server.bean(BuildTools.class);
+        project = Files.createTempDirectory("devmcp-bench-build");
+        goals = "awk 'BEGIN { for (i = 1; i <= " + lines + "; i++) "
+            + "printf \"[INFO] --- compiler:3.13.0:compile (default-compile) @ module-%d ---\\n\", i % 40 }'";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        BenchServer.delete(project);
+    }
+
+    @Benchmark
+    public String runBuildTool() {
+        return tools.runBuildTool(null, "bench", goals, project.toString(), true, false, null);
+    }
+}
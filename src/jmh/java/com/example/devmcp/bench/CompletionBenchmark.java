@@ -0,0 +1,73 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.metrics.McpMetrics;
+import com.example.devmcp.prompts.CompletionEngine;
+import com.example.devmcp.prompts.DevPrompts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * completeErrorExamples throughput — what every keystroke in a client's prompt
+ * dialog costs. The vocabulary is grown with {@link #LEARNED} error signatures
+ * (learned the way failed builds teach it) on top of the seed list; an empty
+ * prefix ranks the whole vocabulary.
+ *
+ * lookup measures the engine alone with a reused buffer; run with
+ * {@code -Djmh.args="-prof gc"}: its gc.alloc.rate.norm should stay at ~0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionBenchmark {
+
+    private static final int LEARNED = 20_000;
+
+    @Param({"", "cannot find", "NullPointerEx"})
+    String typed;
+
+    private DevPrompts prompts;
+    private CompletionEngine completions;
+    private final CompletionEngine.Buffer buffer = new CompletionEngine.Buffer();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        completions = new CompletionEngine(50_000, Duration.ofDays(1));
+        for (int i = 0; i < LEARNED; i += 100) {
+            StringBuilder output = new StringBuilder();
+            for (int j = i; j < i + 100; j++) {
+                output.append("[ERROR] /src/main/java/com/acme/Foo").append(j)
+                    .append(".java:[12,8] cannot find symbol: class Bar").append(j).append('\n');
+            }
+            completions.learnFromBuildOutput(output.toString());
+        }
+        prompts = new DevPrompts(completions, new McpMetrics(new SimpleMeterRegistry()), 100_000, 16_000);
+    }
+
+    @Benchmark
+    public List<String> completeErrorExamples() {
+        return prompts.completeErrorExamples(typed);
+    }
+
+    @Benchmark
+    public int lookup() {
+        return completions.complete("explain-build-error", "error", typed, CompletionEngine.MAX_VALUES, buffer);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.devmcp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test: many concurrent MCP clients against one server, SYNC vs ASYNC.
+ *
+ * Each JMH thread is one client with its own session and its own project
+ * directory (builds of one project are serialized by design). Run it once per
+ * server mode and compare the throughput:
+ *
+ *   mvn -Pbenchmarks verify -Djmh.include=ConcurrentClients              SYNC  (Spring MVC / Tomcat)
+ *   mvn -Pbenchmarks verify -Djmh.include=ConcurrentClients -Dreactive   ASYNC (WebFlux, async profile)
+ *
+ *   slowBuild   runBuildTool on a build that sleeps 500 ms — in SYNC mode each
+ *               call holds a request thread for its duration, so throughput caps
+ *               at (request threads / 0.5 s); ASYNC holds none
+ *   readFile    readFileTool on a 4 KB file under the same concurrency
+ *
+ * 256 clients by default, above Tomcat's 200 request threads; change with
+ * {@code -Djmh.args="-t 512"}. The global build limit is lifted so that it is
+ * the server mode, not devmcp.build.max-concurrent, that is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class ConcurrentClientsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        BenchServer server;
+        Path file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            server = new BenchServer("devmcp.build.max-concurrent=4096");
+            file = Files.createTempFile("devmcp-bench", ".txt");
+            FileReadBenchmark.write(file, 4 * 1024);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            server.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        McpHttpClient mcp;
+        Path project;
+        String buildArguments;
+        String readArguments;
+
+        @Setup(Level.Trial)
+        public void setUp(Server server) throws Exception {
+            mcp = new McpHttpClient(server.server.port());
+            project = Files.createTempDirectory("devmcp-bench-client");
+            buildArguments = """
+                {"goals":"sleep 0.5","projectPath":"%s","force":true}""".formatted(McpHttpClient.json(project.toString()));
+            readArguments = """
+                {"filePath":"%s"}""".formatted(McpHttpClient.json(server.file.toString()));
+            McpHttpClient.requireResult(mcp.callTool("readFileTool", readArguments));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            BenchServer.delete(project);
+        }
+    }
+
+    @Benchmark
+    public String slowBuild(Client client) throws Exception {
+        return client.mcp.callTool("runBuildTool", client.buildArguments);
+    }
+
+    @Benchmark
+    public String readFile(Client client) throws Exception {
+        return client.mcp.callTool("readFileTool", client.readArguments);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.resources.ProjectResources;
+import com.example.devmcp.tools.BuildTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * readFileTool and project://file/{name} over files of increasing size.
+ *
+ *   readFileTool        whole-file byte read (capped at devmcp.files.max-bytes)
+ *   readFileToolLines   a 100-line window from the middle — exercises the line index
+ *   projectFileResource the resource path, served from the content cache after the first read
+ *
+ * Files are Java-like text written under target/ (the resource resolves names
+ * against the working directory, which is the project root under Maven).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileReadBenchmark {
+
+    @Param({"4KB", "256KB", "4MB", "64MB"})
+    String size;
+
+    private BenchServer server;
+    private BuildTools tools;
+    private ProjectResources resources;
+    private Path dir;
+    private String relativeName;
+    private String absolutePath;
+    private long middleLine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new BenchServer();
+        tools = server.bean(BuildTools.class);
+        resources = server.bean(ProjectResources.class);
+
+        dir = Files.createDirectories(Path.of("target", "jmh-files"));
+        Path file = dir.resolve("file-" + size + ".txt");
+        long lines = write(file, DataSize.parse(size).toBytes());
+        relativeName = file.toString();
+        absolutePath = file.toAbsolutePath().toString();
+        middleLine = Math.max(1, lines / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        BenchServer.delete(dir);
+    }
+
+    @Benchmark
+    public String readFileTool() {
+        return tools.readFileTool(absolutePath, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String readFileToolLines() {
+        return tools.readFileTool(absolutePath, null, null, middleLine, middleLine + 99, null);
+    }
+
+    @Benchmark
+    public String projectFileResource() {
+        return resources.getProjectFile(relativeName);
+    }
+
+    /** Writes roughly {@code bytes} of source-like lines; returns the line count. */
+    static long write(Path file, long bytes) throws IOException {
+        long written = 0;
+        long lines = 0;
+        try (Writer out = Files.newBufferedWriter(file)) {
+            while (written < bytes) {
+                String line = "        result = service.process(request" + lines + ", context); // line " + lines + "\n";
+                out.write(line);
+                written += line.length();
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.devmcp.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal MCP client over Streamable HTTP: initialize a session, then one POST
+ * per JSON-RPC call. Responses come back as JSON or as an SSE stream; either
+ * way the body is read to the end and returned as text.
+ */
+final class McpHttpClient {
+
+    private static final String PROTOCOL_VERSION = "2025-06-18";
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final URI endpoint;
+    private final AtomicLong ids = new AtomicLong();
+    private final String sessionId;
+
+    McpHttpClient(int port) throws Exception {
+        this.endpoint = URI.create("http://localhost:" + port + "/mcp");
+        HttpResponse<String> init = post(null, """
+            {"jsonrpc":"2.0","id":0,"method":"initialize","params":{"protocolVersion":"%s",
+             "capabilities":{},"clientInfo":{"name":"jmh","version":"1.0"}}}""".formatted(PROTOCOL_VERSION));
+        this.sessionId = init.headers().firstValue("Mcp-Session-Id")
+            .orElseThrow(() -> new IllegalStateException("No session id: " + init.statusCode() + " " + init.body()));
+        post(sessionId, """
+            {"jsonrpc":"2.0","method":"notifications/initialized"}""");
+    }
+
+    String callTool(String name, String arguments) throws Exception {
+        return call("tools/call", """
+            {"name":"%s","arguments":%s}""".formatted(name, arguments));
+    }
+
+    String call(String method, String params) throws Exception {
+        String request = """
+            {"jsonrpc":"2.0","id":%d,"method":"%s","params":%s}""".formatted(ids.incrementAndGet(), method, params);
+        HttpResponse<String> response = post(sessionId, request);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(method + " → HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    /** Throws unless the response carries a JSON-RPC result — run once in setup, not per invocation. */
+    static String requireResult(String response) {
+        if (!response.contains("\"result\"")) throw new IllegalStateException("Unexpected response: " + response);
+        return response;
+    }
+
+    static String json(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private HttpResponse<String> post(String session, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json, text/event-stream")
+            .header("MCP-Protocol-Version", PROTOCOL_VERSION)
+            .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (session != null) request.header("Mcp-Session-Id", session);
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.metrics.McpMetrics;
+import com.example.devmcp.prompts.CompletionEngine;
+import com.example.devmcp.prompts.DevPrompts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt construction with large {@code diff} / {@code code} arguments. Below
+ * the prompt budget (100k chars) the cost grows with the argument; above it,
+ * only the scan does — the assembled prompt stays at the budget. The diff is a
+ * multi-file `git diff` with a lockfile and whitespace-only hunks mixed in.
+ * DevPrompts is built directly (no Spring context) with metrics enabled, as in
+ * production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBenchmark {
+
+    @Param({"1KB", "100KB", "1MB"})
+    String argumentSize;
+
+    private DevPrompts prompts;
+    private String diff;
+    private String code;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prompts = new DevPrompts(new CompletionEngine(50_000, Duration.ofDays(1)),
+            new McpMetrics(new SimpleMeterRegistry()), 100_000, 16_000);
+
+        int bytes = (int) DataSize.parse(argumentSize).toBytes();
+        diff = diff(bytes);
+        code = repeat("    public int add(int a, int b) { return a + b; }\n", bytes);
+    }
+
+    @Benchmark
+    public GetPromptResult commitMessage() {
+        return prompts.commitMessage(diff);
+    }
+
+    @Benchmark
+    public GetPromptResult codeReview() {
+        return prompts.codeReview(code);
+    }
+
+    private static String diff(int bytes) {
+        StringBuilder diff = new StringBuilder(bytes + 1024);
+        for (int file = 0; diff.length() < bytes; file++) {
+            String path = file % 10 == 9 ? "web/package-lock.json" : "src/main/java/App" + file + ".java";
+            diff.append("diff --git a/").append(path).append(" b/").append(path).append('\n')
+                .append("index 3b18e51..a9c1f2d 100644\n")
+                .append("--- a/").append(path).append('\n')
+                .append("+++ b/").append(path).append('\n')
+                .append("@@ -10,3 +10,4 @@ public class App {\n")
+                .append("     void handle(Request request) {\n")
+                .append("-        result = service.process(request);\n")
+                .append("+        result = service.process(request, context);\n")
+                .append("+        audit.record(request);\n")
+                .append("     }\n")
+                .append("@@ -40 +41 @@ public class App {\n")
+                .append("-    return  result;\n")
+                .append("+    return result;\n");
+        }
+        return diff.toString();
+    }
+
+    private static String repeat(String line, int bytes) {
+        return line.repeat(Math.max(1, bytes / line.length()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.devmcp.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the server JVM to the first answered tools/list, plain
+ * jar versus the fast-start build (Spring AOT, JDK AOT cache, lazy beans).
+ * Each invocation starts a fresh process; its resident set size once it has
+ * answered is reported as the secondary result {@code rssMegabytes} (Linux).
+ *
+ * Needs the packaged jars, so run it after a fast-start build:
+ * {@code mvn -Pbenchmarks -Dfaststart verify -Djmh.include=Startup}. The jar
+ * name comes from the build (bench.jar, set by the benchmarks profile); run
+ * elsewhere, the one jar in target is used. Without target/faststart/app.aot
+ * the faststart trial fails at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @Param({"default", "faststart"})
+    String mode;
+
+    private Path state;
+    private List<String> command;
+    private Process server;
+
+    /** Secondary result: RSS of the server once it has answered, one sample per start. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+        public long rssMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rssMegabytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path target = Path.of("target").toAbsolutePath();
+        state = Files.createTempDirectory("devmcp-startup");
+        command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        String jar = jarName(target);
+        Path dir = target;
+        if (mode.equals("faststart")) {
+            dir = target.resolve("faststart");
+            Path cache = dir.resolve("app.aot");
+            if (!Files.exists(cache)) {
+                throw new IllegalStateException("No " + cache + " — build with mvn -Dfaststart package first");
+            }
+            command.addAll(List.of("-XX:AOTCache=" + cache, "-Dspring.aot.enabled=true"));
+        }
+        command.addAll(List.of("-jar", dir.resolve(jar).toString(),
+            "--spring.main.banner-mode=off",
+            "--devmcp.search.enabled=false",
+            "--devmcp.history.dir=" + state.resolve("history"),
+            "--devmcp.sampling.cache.file=" + state.resolve("analysis-cache.tsv")));
+        if (mode.equals("faststart")) command.add("--spring.profiles.active=faststart");
+    }
+
+    @Benchmark
+    public String startToToolsList(Memory memory) throws Exception {
+        int port = freePort();
+        List<String> args = new ArrayList<>(command);
+        args.add("--server.port=" + port);
+        server = new ProcessBuilder(args)
+            .redirectErrorStream(true)
+            .redirectOutput(state.resolve("server.log").toFile())
+            .start();
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (true) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see " + state.resolve("server.log"));
+            }
+            try {
+                String tools = McpHttpClient.requireResult(new McpHttpClient(port).call("tools/list", "{}"));
+                memory.rssMegabytes = rssKb(server.pid()) / 1024;
+                return tools;
+            } catch (IOException notListeningYet) {
+                if (System.nanoTime() > deadline) throw new IllegalStateException("No tools/list answer within 60 s");
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopServer() throws Exception {
+        if (server == null) return;
+        server.destroy();
+        if (!server.waitFor(10, TimeUnit.SECONDS)) server.destroyForcibly().waitFor();
+        server = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchServer.delete(state);
+    }
+
+    /** bench.jar from the build, else the only executable jar in target. */
+    private static String jarName(Path target) throws IOException {
+        String name = System.getProperty("bench.jar");
+        if (name != null && !name.isBlank()) return name;
+        try (Stream<Path> files = Files.list(target)) {
+            List<String> jars = files.map(p -> p.getFileName().toString())
+                .filter(n -> n.endsWith(".jar") && !n.endsWith("-plain.jar"))
+                .toList();
+            if (jars.size() != 1) {
+                throw new IllegalStateException("Expected one jar in " + target + ", found " + jars
+                    + " — package first, or pass -Dbench.jar=<name>.jar");
+            }
+            return jars.get(0);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /** VmRSS from /proc (Linux); 0 where that is not available. */
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process is already gone
+        }
+        return 0;
+    }
+}
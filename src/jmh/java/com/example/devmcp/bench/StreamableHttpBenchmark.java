@@ -0,0 +1,80 @@
+package com.example.devmcp.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end JSON-RPC over Streamable HTTP on localhost: what a client sees
+ * for one call, including the web server, JSON (de)serialization, the
+ * annotation adapter and the metrics wrapper.
+ *
+ * One MCP session is initialized per trial; every invocation is a fresh POST
+ * to /mcp with the session header, as an MCP client sends it.
+ *
+ *   readFileTool        tools/call on a 4 KB file
+ *   listBuilds          tools/call with no arguments — the protocol floor
+ *   readPomResource     resources/read project://pom.xml (content cache hit)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class StreamableHttpBenchmark {
+
+    private BenchServer server;
+    private McpHttpClient client;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        server = new BenchServer();
+        client = new McpHttpClient(server.port());
+        file = Files.createTempFile("devmcp-bench", ".txt");
+        FileReadBenchmark.write(file, 4 * 1024);
+
+        // Fail the trial early rather than measure error responses
+        McpHttpClient.requireResult(readFileTool());
+        McpHttpClient.requireResult(listBuilds());
+        McpHttpClient.requireResult(readPomResource());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String readFileTool() throws Exception {
+        return client.callTool("readFileTool", """
+            {"filePath":"%s"}""".formatted(McpHttpClient.json(file.toString())));
+    }
+
+    @Benchmark
+    public String listBuilds() throws Exception {
+        return client.callTool("listBuilds", "{}");
+    }
+
+    @Benchmark
+    public String readPomResource() throws Exception {
+        return client.call("resources/read", """
+            {"uri":"project://pom.xml"}""");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.devmcp.bench;
+
+import com.example.devmcp.build.WarmBuildPool;
+import com.example.devmcp.tools.BuildTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end latency of one small build, cold (a new JVM per build) versus warm
+ * (devmcp.build.warm.enabled — Gradle daemon, or mvnd for Maven wrappers).
+ *
+ * Defaults to {@code validate} on this project, which is almost all launcher
+ * and JVM start-up: exactly the part warm mode removes. Point it at a real
+ * project with {@code -Djmh.args="-p project=/path/to/app -p goals=compile"}.
+ *
+ * Cold really is cold: Gradle builds run with {@code --no-daemon}, Maven builds
+ * on the plain wrapper. A Maven project without mvnd on the PATH has no warm
+ * launcher, so the warm trial fails rather than measure the cold command twice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WarmBuildBenchmark {
+
+    @Param({"cold", "warm"})
+    String mode;
+
+    @Param("")
+    String project;
+
+    @Param("validate")
+    String goals;
+
+    private BenchServer server;
+    private BuildTools tools;
+    private String projectPath;
+    private String buildGoals;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boolean warm = mode.equals("warm");
+        server = new BenchServer("devmcp.build.warm.enabled=" + warm);
+        tools = server.bean(BuildTools.class);
+        Path dir = Path.of(project.isBlank() ? "" : project).toAbsolutePath();
+        projectPath = dir.toString();
+
+        boolean gradle = dir.resolve("gradlew").toFile().exists();
+        if (warm && server.bean(WarmBuildPool.class).command(dir, List.of(gradle ? "./gradlew" : "./mvnw")).isEmpty()) {
+            server.close();
+            throw new IllegalStateException("No warm launcher for " + dir
+                + " (Maven needs mvnd on the PATH) — warm would measure the cold command");
+        }
+        // gradlew uses its daemon by default; a cold build must not
+        buildGoals = gradle && !warm ? goals + " --no-daemon" : goals;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();            // stops the daemon, so the next trial starts cold
+    }
+
+    @Benchmark
+    public String build() {
+        return tools.runBuildTool(null, null, buildGoals, projectPath, true, false, null);
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.devmcp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+
+/**
+ * Append-only, segmented store for one build's output.
+ *
+ * Output is appended into fixed-size chunks. Once the in-memory chunks exceed
+ * the memory limit, the oldest chunks are spilled to a temp file, so the heap
+ * cost of a build log is bounded no matter how verbose the build is:
+ *
+ *   [ spilled (temp file) ........ ][ chunk ][ chunk ][ current chunk ]
+ *   0                    spilledBytes                           length
+ *
+ * Reads are ranged by byte offset — callers ask for a page, never the whole
+ * log. All methods are synchronized: there is one writer (the build) and a
+ * handful of readers, and each read copies at most one page.
+ */
+public final class BuildLog implements AutoCloseable {
+
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int chunkSize;
+    private final long memoryLimit;
+
+    private final ArrayDeque<byte[]> sealedChunks = new ArrayDeque<>();
+    private byte[] current;
+    private int currentPos;
+
+    private long spilledBytes;
+    private long length;
+    private long lineCount;
+
+    private SpillFile spillFile;
+    private Cleaner.Cleanable cleanable;
+    private boolean finished;
+    private boolean closed;
+
+    public BuildLog(long memoryLimit) {
+        this(memoryLimit, DEFAULT_CHUNK_SIZE);
+    }
+
+    BuildLog(long memoryLimit, int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.memoryLimit = Math.max(memoryLimit, chunkSize);
+        this.current = new byte[chunkSize];
+    }
+
+    /** Convenience factory for short, fully-known text (error messages, tests). */
+    public static BuildLog of(String text, long memoryLimit) {
+        BuildLog log = new BuildLog(memoryLimit);
+        log.append(text);
+        log.finish();
+        return log;
+    }
+
+    // ── Writing ───────────────────────────────────────────────────────────────
+
+    /** Appends one line of build output followed by a newline. */
+    public void appendLine(String line) {
+        append(line);
+        append("\n");
+    }
+
+    public void append(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        append(bytes, 0, bytes.length);
+    }
+
+    /** Appends raw UTF-8 output, e.g. a recorded log copied back from history. */
+    public synchronized void append(byte[] bytes, int from, int count) {
+        if (closed) return;
+        int off = from;
+        int to = from + count;
+        while (off < to) {
+            int n = Math.min(to - off, chunkSize - currentPos);
+            System.arraycopy(bytes, off, current, currentPos, n);
+            currentPos += n;
+            off += n;
+            if (currentPos == chunkSize) {
+                sealCurrentChunk();
+            }
+        }
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '\n') lineCount++;
+        }
+        length += count;
+    }
+
+    /** Marks the output complete: the log will not grow beyond its current heap use. */
+    public synchronized void finish() {
+        finished = true;
+    }
+
+    private void sealCurrentChunk() {
+        sealedChunks.addLast(current);
+        current = new byte[chunkSize];
+        currentPos = 0;
+        while ((long) sealedChunks.size() * chunkSize + chunkSize > memoryLimit) {
+            spill(sealedChunks.removeFirst());
+        }
+    }
+
+    private void spill(byte[] chunk) {
+        try {
+            if (spillFile == null) {
+                spillFile = SpillFile.create();
+                cleanable = CLEANER.register(this, spillFile);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(chunk);
+            long pos = spilledBytes;
+            while (buf.hasRemaining()) {
+                pos += spillFile.channel.write(buf, pos);
+            }
+            spilledBytes += chunk.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill build log to disk", e);
+        }
+    }
+
+    // ── Reading ───────────────────────────────────────────────────────────────
+
+    /** Total bytes written so far. */
+    public synchronized long length() {
+        return length;
+    }
+
+    /** Number of complete lines written so far. */
+    public synchronized long lineCount() {
+        return lineCount;
+    }
+
+    /** Bytes currently held on the heap (excludes the spilled part). */
+    public synchronized long memoryBytes() {
+        return (long) (sealedChunks.size() + 1) * chunkSize;
+    }
+
+    /** True once {@link #finish()} or {@link #close()} was called. */
+    public synchronized boolean isFinished() {
+        return finished || closed;
+    }
+
+    /** Bytes spilled to the temp file. */
+    public synchronized long spilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Reads up to {@code limit} bytes starting at {@code offset} and decodes them
+     * as UTF-8. A multi-byte character split by the page boundary decodes as
+     * U+FFFD — pages are meant for display, not for re-assembly.
+     */
+    public String read(long offset, int limit) {
+        return new String(readBytes(offset, limit), StandardCharsets.UTF_8);
+    }
+
+    public synchronized byte[] readBytes(long offset, int limit) {
+        if (offset < 0 || limit <= 0 || offset >= length) return new byte[0];
+        int n = (int) Math.min(limit, length - offset);
+        byte[] out = new byte[n];
+        int written = 0;
+
+        // 1. Spilled region
+        if (offset < spilledBytes) {
+            int fromDisk = (int) Math.min(n, spilledBytes - offset);
+            readSpilled(offset, out, 0, fromDisk);
+            written = fromDisk;
+        }
+
+        // 2. In-memory chunks (sealed, then current)
+        long pos = offset + written;
+        long chunkStart = spilledBytes;
+        for (byte[] chunk : sealedChunks) {
+            written = copyFrom(chunk, chunk.length, chunkStart, pos, out, written);
+            pos = offset + written;
+            chunkStart += chunk.length;
+            if (written == n) return out;
+        }
+        copyFrom(current, currentPos, chunkStart, pos, out, written);
+        return out;
+    }
+
+    private static int copyFrom(byte[] chunk, int chunkLen, long chunkStart, long pos,
+                                byte[] out, int written) {
+        long chunkEnd = chunkStart + chunkLen;
+        if (pos >= chunkEnd || written == out.length) return written;
+        int from = (int) (pos - chunkStart);
+        int n = Math.min(chunkLen - from, out.length - written);
+        System.arraycopy(chunk, from, out, written, n);
+        return written + n;
+    }
+
+    private void readSpilled(long offset, byte[] out, int outOff, int len) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(out, outOff, len);
+            long pos = offset;
+            while (buf.hasRemaining()) {
+                int r = spillFile.channel.read(buf, pos);
+                if (r < 0) break;
+                pos += r;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read spilled build log", e);
+        }
+    }
+
+    /**
+     * Returns the byte offset where the last {@code lines} lines begin. Scans
+     * backwards block by block, so the cost is proportional to the tail size,
+     * not to the log size.
+     */
+    public synchronized long tailOffset(int lines) {
+        if (lines <= 0) return length;
+        final int block = 8 * 1024;
+        long end = length;
+        // A trailing newline terminates the last line; it doesn't start a new one.
+        long pos = end;
+        if (end > 0 && readBytes(end - 1, 1)[0] == '\n') pos--;
+        int seen = 0;
+        while (pos > 0) {
+            int n = (int) Math.min(block, pos);
+            byte[] bytes = readBytes(pos - n, n);
+            for (int i = n - 1; i >= 0; i--) {
+                if (bytes[i] == '\n' && ++seen == lines) {
+                    return pos - n + i + 1;
+                }
+            }
+            pos -= n;
+        }
+        return 0;
+    }
+
+    /** Reads the last {@code lines} lines, capped to the final {@code maxBytes}. */
+    public synchronized String tail(int lines, int maxBytes) {
+        long from = Math.max(tailOffset(lines), length - maxBytes);
+        return read(from, (int) (length - from));
+    }
+
+    /**
+     * Streams the log from the start, one page at a time — for single-pass
+     * consumers that must see every line without materialising the log.
+     * Reads whatever has been written by the time each page is fetched.
+     */
+    public InputStream openStream() {
+        return new InputStream() {
+            private long pos;
+            private byte[] page = new byte[0];
+            private int pageOff;
+
+            @Override
+            public int read() {
+                if (pageOff == page.length && !nextPage()) return -1;
+                return page[pageOff++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) return 0;
+                if (pageOff == page.length && !nextPage()) return -1;
+                int n = Math.min(len, page.length - pageOff);
+                System.arraycopy(page, pageOff, b, off, n);
+                pageOff += n;
+                return n;
+            }
+
+            private boolean nextPage() {
+                page = readBytes(pos, DEFAULT_CHUNK_SIZE);
+                pageOff = 0;
+                pos += page.length;
+                return page.length > 0;
+            }
+        };
+    }
+
+    /**
+     * The whole log when it fits in {@code maxBytes}; otherwise its tail with a
+     * leading note that points at the paged build-log resources.
+     */
+    public synchronized String view(int maxBytes) {
+        if (length <= maxBytes) return read(0, (int) length);
+        long from = length - maxBytes;
+        // Start on a line boundary so the first line isn't cut in half.
+        byte[] head = readBytes(from, Math.min(maxBytes, 4096));
+        for (int i = 0; i < head.length; i++) {
+            if (head[i] == '\n') { from += i + 1; break; }
+        }
+        return "... (" + from + " of " + length + " bytes omitted — read earlier output via " +
+               "project://build-log/page/{offset}/{limit})\n" + read(from, (int) (length - from));
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    /** Drops all buffers and deletes the spill file. Further appends are ignored. */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        sealedChunks.clear();
+        current = new byte[0];
+        currentPos = 0;
+        length = 0;
+        spilledBytes = 0;
+        if (cleanable != null) cleanable.clean();
+    }
+
+    /**
+     * The spill file and its channel, released by close() or — for logs that were
+     * simply replaced and dropped — by the Cleaner once the log is unreachable.
+     * Logs are therefore never closed out from under a reader that still holds one.
+     */
+    private record SpillFile(Path path, FileChannel channel) implements Runnable {
+
+        static SpillFile create() throws IOException {
+            Path path = Files.createTempFile("devmcp-build-", ".log");
+            path.toFile().deleteOnExit();
+            return new SpillFile(path, FileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+
+        @Override
+        public void run() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // also marked deleteOnExit
+            }
+        }
+    }
+}
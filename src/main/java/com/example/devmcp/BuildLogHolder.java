@@ -1,26 +1,248 @@
 package com.example.devmcp;
 
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Shared in-memory store for the most recent build output.
+ * Build output per MCP session.
+ *
+ * Written by: BuildTools.runBuildTool (streams each output line as it arrives)
+ * Read by:    ProjectResources (@McpResource project://build-log, paged and tail views)
+ *
+ * Each connected client sees its own latest build: a session holds the last
+ * log of every project it built, newest last. Clients without a session
+ * (stdio, tests) share {@value #DEFAULT_SESSION}.
  *
- * Written by: BuildTools.runBuildTool (after each build)
- * Read by:    ProjectResources.getBuildLog (@McpResource project://build-log)
+ *   sessions ──► Session ──volatile──► Logs (immutable: latest + project → log)
  *
- * volatile ensures visibility across threads without synchronization overhead
- * (one writer, many readers pattern).
+ * Reads are lock-free: a map lookup and a volatile read of the session's
+ * current snapshot. Starting a build copies the session's small project map
+ * under the session's monitor and publishes the copy.
+ *
+ * Memory is bounded on three levels:
+ *  - per log: devmcp.build-log.memory-limit, beyond which a log spills to disk
+ *  - per session: devmcp.build-log.session-memory — starting a build drops the
+ *    session's oldest project logs until they fit along with the new log's
+ *    limit. A finished log counts at the heap it holds; one still being
+ *    written counts at its limit, which it may yet grow to
+ *  - sessions: idle longer than devmcp.build-log.session-idle, or beyond
+ *    devmcp.build-log.max-sessions (least recently used first), are dropped
+ *    whenever a session starts a build. Reads never create a session.
+ *
+ * Dropped logs are not closed — whoever still holds one (a finishing build, a
+ * reader mid-page) keeps using it, and it is reclaimed once released.
  */
 @Component
 public class BuildLogHolder {
 
-    private volatile String lastBuildLog = "No build has been run yet.";
+    public static final String DEFAULT_SESSION = "default";
+
+    static final String NO_BUILD_YET = "No build has been run yet.";
+
+    /** Reads refresh a session's last-access time at most this often. */
+    private static final long TOUCH_INTERVAL_NANOS = 1_000_000_000L;
+
+    /** Immutable per-session state; replaced as a whole on every write. */
+    private record Logs(BuildLog latest, Map<Path, BuildLog> byProject) { }
+
+    private static final class Session {
+        final String id;
+        volatile Logs logs = new Logs(null, Map.of());
+        volatile long lastAccess = System.nanoTime();
+
+        Session(String id) {
+            this.id = id;
+        }
+
+        void touch() {
+            long now = System.nanoTime();
+            if (now - lastAccess > TOUCH_INTERVAL_NANOS) lastAccess = now;
+        }
+
+        long memoryBytes() {
+            long bytes = 0;
+            for (BuildLog log : logs.byProject().values()) bytes += log.memoryBytes();
+            return bytes;
+        }
+    }
+
+    private final long memoryLimit;
+    private final long sessionMemory;
+    private final int maxSessions;
+    private final long idleNanos;
+    private final BuildLog noBuildYet;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder overflowEvictions = new LongAdder();
+    private final LongAdder quotaEvictions = new LongAdder();
+
+    public BuildLogHolder() {
+        this(DataSize.ofMegabytes(8));
+    }
+
+    public BuildLogHolder(DataSize memoryLimit) {
+        this(memoryLimit, DataSize.ofMegabytes(32), 256, Duration.ofMinutes(30));
+    }
+
+    @Autowired
+    public BuildLogHolder(@Value("${devmcp.build-log.memory-limit:8MB}") DataSize memoryLimit,
+                          @Value("${devmcp.build-log.session-memory:32MB}") DataSize sessionMemory,
+                          @Value("${devmcp.build-log.max-sessions:256}") int maxSessions,
+                          @Value("${devmcp.build-log.session-idle:30m}") Duration sessionIdle) {
+        this.memoryLimit = memoryLimit.toBytes();
+        this.sessionMemory = Math.max(sessionMemory.toBytes(), 1);
+        this.maxSessions = Math.max(maxSessions, 1);
+        this.idleNanos = sessionIdle.toNanos();
+        this.noBuildYet = BuildLog.of(NO_BUILD_YET, this.memoryLimit);
+    }
+
+    /** The caller's session id, or {@value #DEFAULT_SESSION} without one. */
+    public static String sessionOf(McpSyncServerExchange exchange) {
+        String id = exchange != null ? exchange.sessionId() : null;
+        return id != null ? id : DEFAULT_SESSION;
+    }
+
+    // ── Writing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Starts a fresh log for a new build of {@code project} and publishes it
+     * immediately as the session's latest, so readers can follow the build
+     * while it runs.
+     */
+    public BuildLog startNewLog(String sessionId, Path project) {
+        long limit = logLimit();
+        return publish(sessionId, project, new BuildLog(limit), limit);
+    }
+
+    /** Publishes a short, fully-known log (e.g. an error message) as the session's latest. */
+    public void setLastBuildLog(String sessionId, Path project, String text) {
+        BuildLog log = BuildLog.of(text, logLimit());
+        publish(sessionId, project, log, log.memoryBytes());
+    }
+
+    /** Makes {@code log} the session's latest, reserving {@code reserve} heap bytes of its quota for it. */
+    private BuildLog publish(String sessionId, Path project, BuildLog log, long reserve) {
+        Path key = project != null ? project.toAbsolutePath().normalize() : Path.of("");
+        evictSessions(sessionId);
+        Session session = sessions.computeIfAbsent(sessionId, Session::new);
+        synchronized (session) {
+            Map<Path, BuildLog> byProject = new LinkedHashMap<>(session.logs.byProject());
+            byProject.remove(key);
+            long budget = sessionMemory - reserve;
+            for (BuildLog kept : byProject.values()) budget -= reserved(kept);
+            // Oldest projects first, until the new log fits the session's quota
+            for (Iterator<BuildLog> it = byProject.values().iterator(); budget < 0 && it.hasNext(); ) {
+                budget += reserved(it.next());
+                it.remove();
+                quotaEvictions.increment();
+            }
+            byProject.put(key, log);
+            session.logs = new Logs(log, Collections.unmodifiableMap(byProject));
+            session.lastAccess = System.nanoTime();
+        }
+        return log;
+    }
+
+    private long logLimit() {
+        return Math.min(memoryLimit, sessionMemory);
+    }
+
+    /** Quota a kept log takes: its heap once finished, otherwise what it may still grow to. */
+    private long reserved(BuildLog log) {
+        long bytes = log.memoryBytes();
+        return log.isFinished() ? bytes : Math.max(bytes, logLimit());
+    }
+
+    /** Drops idle sessions, then the least recently used ones beyond maxSessions, sparing {@code keep}. */
+    private void evictSessions(String keep) {
+        long now = System.nanoTime();
+        sessions.values().removeIf(s -> {
+            boolean idle = !s.id.equals(keep) && now - s.lastAccess > idleNanos;
+            if (idle) idleEvictions.increment();
+            return idle;
+        });
+        int excess = sessions.size() + (sessions.containsKey(keep) ? 0 : 1) - maxSessions;
+        if (excess <= 0) return;
+        List<Session> byAge = new ArrayList<>(sessions.values());
+        byAge.removeIf(s -> s.id.equals(keep));
+        byAge.sort(Comparator.comparingLong(s -> s.lastAccess));
+        for (int i = 0; i < excess && i < byAge.size(); i++) {
+            if (sessions.remove(byAge.get(i).id, byAge.get(i))) overflowEvictions.increment();
+        }
+    }
+
+    // ── Reading ───────────────────────────────────────────────────────────────
+
+    /** The session's latest build log, or a "no build yet" placeholder. Lock-free. */
+    public BuildLog current(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) return noBuildYet;
+        session.touch();
+        BuildLog latest = session.logs.latest();
+        return latest != null ? latest : noBuildYet;
+    }
+
+    /** Session count, heap per session and eviction counters, for project://build-sessions. */
+    public String stats() {
+        StringBuilder sb = new StringBuilder();
+        long now = System.nanoTime();
+        List<Session> all = new ArrayList<>(sessions.values());
+        all.sort(Comparator.comparingLong((Session s) -> s.lastAccess).reversed());
+        long total = 0;
+        for (Session s : all) total += s.memoryBytes();
+        sb.append("sessions:      ").append(all.size()).append(" of max ").append(maxSessions)
+          .append(", ").append(total / 1024).append(" KB on heap\n");
+        sb.append("quota:         ").append(sessionMemory / 1024).append(" KB per session, ")
+          .append(memoryLimit / 1024).append(" KB per log\n");
+        sb.append("evicted:       ").append(idleEvictions.sum()).append(" idle sessions, ")
+          .append(overflowEvictions.sum()).append(" over max-sessions, ")
+          .append(quotaEvictions.sum()).append(" logs over quota\n");
+        for (Session s : all) {
+            Logs logs = s.logs;
+            sb.append("  ").append(s.id.length() > 12 ? s.id.substring(0, 12) + "…" : s.id)
+              .append("  idle ").append(Duration.ofNanos(now - s.lastAccess).toSeconds()).append("s  ")
+              .append(logs.byProject().size()).append(" logs, ").append(s.memoryBytes() / 1024).append(" KB heap, ")
+              .append("latest ").append(logs.latest() != null ? logs.latest().length() : 0).append(" bytes\n");
+        }
+        return sb.toString();
+    }
+
+    // ── Default session ───────────────────────────────────────────────────────
+
+    public BuildLog startNewLog() {
+        return startNewLog(DEFAULT_SESSION, null);
+    }
+
+    public BuildLog current() {
+        return current(DEFAULT_SESSION);
+    }
 
+    /**
+     * Whole-log convenience read. Fine for short logs; large logs should be
+     * read through {@link BuildLog#read(long, int)} or {@link BuildLog#tail(int, int)}.
+     */
     public String getLastBuildLog() {
-        return lastBuildLog;
+        BuildLog log = current();
+        return log.read(0, (int) Math.min(log.length(), Integer.MAX_VALUE));
     }
 
-    public void setLastBuildLog(String log) {
-        this.lastBuildLog = log;
+    public void setLastBuildLog(String text) {
+        setLastBuildLog(DEFAULT_SESSION, null, text);
     }
 }
@@ -0,0 +1,49 @@
+package com.example.devmcp;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import org.springaicommunity.mcp.annotation.McpComplete;
+import org.springaicommunity.mcp.annotation.McpPrompt;
+import org.springaicommunity.mcp.annotation.McpResource;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Keeps the MCP server and the beans that declare its primitives eager when
+ * the faststart profile turns on spring.main.lazy-initialization.
+ *
+ * Nothing ever asks for those beans by type: the annotation scanner collects
+ * @McpTool/@McpResource/@McpPrompt/@McpComplete methods from beans as they are
+ * created, and the server registers itself with the transport when it is
+ * created. Made lazy, tools/list would come back empty. Everything they do not
+ * depend on (actuator endpoints, unused auto-configuration) stays lazy.
+ */
+@Component
+public class EagerPrimitivesFilter implements LazyInitializationExcludeFilter {
+
+    private static final List<Class<? extends Annotation>> PRIMITIVES =
+        List.of(McpTool.class, McpResource.class, McpPrompt.class, McpComplete.class);
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        if (beanType == null) return false;
+        return McpSyncServer.class.isAssignableFrom(beanType)
+            || McpAsyncServer.class.isAssignableFrom(beanType)
+            || declaresPrimitives(beanType);
+    }
+
+    static boolean declaresPrimitives(Class<?> type) {
+        for (Method m : type.getDeclaredMethods()) {
+            for (Class<? extends Annotation> primitive : PRIMITIVES) {
+                if (m.isAnnotationPresent(primitive)) return true;
+            }
+        }
+        return false;
+    }
+}
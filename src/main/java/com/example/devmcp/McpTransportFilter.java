@@ -0,0 +1,48 @@
+package com.example.devmcp;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Lets one jar serve either transport: drops the MCP server auto-configuration
+ * of the web stack the application is not running on.
+ *
+ * Both the WebMVC and the WebFlux starter are on the classpath, and each
+ * registers its own transport provider whatever the web application type, so
+ * the server would see two. spring.main.web-application-type decides: reactive
+ * (the async profile) keeps the WebFlux transport, anything else the WebMVC one.
+ * Other auto-configuration is left alone.
+ *
+ * Registered in META-INF/spring.factories; filters run before any bean exists.
+ */
+public class McpTransportFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final String MCP_SERVER_PACKAGE = "org.springframework.ai.mcp.server.";
+
+    private boolean reactive;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.reactive = "reactive".equalsIgnoreCase(
+            environment.getProperty("spring.main.web-application-type", "servlet"));
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata metadata) {
+        String otherStack = reactive ? "WebMvc" : "WebFlux";
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            String name = autoConfigurationClasses[i];
+            matches[i] = name == null
+                || !name.startsWith(MCP_SERVER_PACKAGE)
+                || !simpleName(name).contains(otherStack);
+        }
+        return matches;
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.devmcp.async;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Where the ASYNC handlers do their blocking work.
+ *
+ * File reads, history lookups and build processes are blocking JDK APIs —
+ * there is no non-blocking way to read a child process's stdout. In ASYNC mode
+ * they run here, one virtual thread per call: a parked virtual thread holds no
+ * carrier thread, so neither the event loop nor a request thread waits on
+ * I/O, and a thousand concurrent builds cost a thousand small stacks instead
+ * of a thousand platform threads.
+ *
+ * Only created with {@code spring.ai.mcp.server.type=ASYNC}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class VirtualThreadScheduler {
+
+    private final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mcp-async-", 0).factory());
+    private final Scheduler scheduler = Schedulers.fromExecutorService(executor, "mcp-async");
+
+    /** A Mono that runs {@code call} on its own virtual thread when subscribed. */
+    public <T> Mono<T> call(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.devmcp.build;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Narrows a build of a multi-module project to the modules a change can affect.
+ *
+ * Changed files come from git — everything that differs from {@code since}
+ * (default HEAD, i.e. uncommitted work) plus untracked files. Each file maps to
+ * the innermost module containing it (see ReactorGraph); those modules and
+ * everything downstream of them are built, the rest skipped:
+ *
+ *   Maven:  {@code <goals> -pl core,api -amd -T 1C}
+ *   Gradle: {@code :core:test :api:test --parallel}
+ *
+ * With Maven, unchanged upstream modules are resolved from the local
+ * repository, as with any {@code -pl} build — install them once first. A change
+ * to a root build file (root pom, .mvn/, settings.gradle, gradle/…) affects
+ * every module, so it falls back to the full build.
+ */
+@Component
+public class AffectedModules {
+
+    /**
+     * Outcome of the analysis. {@code fullBuildReason} set → run the original goals;
+     * {@code affected} empty otherwise → nothing to build.
+     */
+    public record Plan(String goals, List<String> changed, List<String> affected, List<String> skipped,
+                       int changedFiles, String fullBuildReason) {
+
+        public static Plan full(String goals, String reason) {
+            return new Plan(goals, List.of(), List.of(), List.of(), 0, reason);
+        }
+
+        public boolean isFull()       { return fullBuildReason != null; }
+        public boolean isNothing()    { return !isFull() && affected.isEmpty(); }
+
+        public String describe() {
+            if (isFull()) return "Full build — " + fullBuildReason;
+            if (isNothing()) return changedFiles + " changed files, none inside a module — nothing to build";
+            int total = affected.size() + skipped.size();
+            return "Affected-module build: " + affected.size() + " of " + total + " modules "
+                + "(changed: " + String.join(", ", changed) + "; " + changedFiles + " files)"
+                + (skipped.isEmpty() ? "" : "\nSkipped: " + String.join(", ", skipped));
+        }
+    }
+
+    private static final List<String> ROOT_BUILD_FILES = List.of(
+        "pom.xml", ".mvn/", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts",
+        "gradle.properties", "gradle/", "src/");
+
+    /** Gradle options whose value is the next token. */
+    private static final Set<String> GRADLE_VALUE_OPTIONS = Set.of(
+        "-x", "--exclude-task", "-P", "--project-prop", "-D", "--system-prop", "-p", "--project-dir",
+        "-c", "--settings-file", "-b", "--build-file", "-g", "--gradle-user-home", "-I", "--init-script",
+        "--include-build", "--console", "--warning-mode", "--max-workers", "--priority", "--tests");
+
+    /** Options of the task before them, not of the whole build. */
+    private static final Set<String> GRADLE_TASK_OPTIONS = Set.of("--tests", "--rerun", "--fail-fast", "--debug-jvm");
+
+    private final String threads;
+
+    public AffectedModules(@Value("${devmcp.build.affected.threads:1C}") String threads) {
+        this.threads = threads;
+    }
+
+    public Plan plan(Path project, String goals, String since) throws IOException, InterruptedException {
+        if (goals.matches(".*(^|\\s)(-pl|--projects|-rf|--resume-from)(\\s|=|$).*")) {
+            return Plan.full(goals, "the goals already select modules");
+        }
+        ReactorGraph graph = ReactorGraph.load(project);
+        if (graph == null) return Plan.full(goals, "not a multi-module Maven or Gradle build");
+        return plan(graph, goals, changedFiles(project, since == null || since.isBlank() ? "HEAD" : since.trim()));
+    }
+
+    Plan plan(ReactorGraph graph, String goals, List<String> files) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String file : files) {
+            String owner = graph.owner(file);
+            if (owner.equals(graph.rootId())) {
+                if (ROOT_BUILD_FILES.stream().anyMatch(f -> f.endsWith("/") ? file.startsWith(f) : file.equals(f))) {
+                    return Plan.full(goals, "root build file " + file + " changed");
+                }
+                continue;                           // README, docs, CI config…
+            }
+            changed.add(owner);
+        }
+        Set<String> affected = graph.withDependents(changed);
+        List<String> skipped = new ArrayList<>();
+        for (ReactorGraph.Module m : graph.modules()) {
+            if (!m.id().equals(graph.rootId()) && !affected.contains(m.id())) skipped.add(m.id());
+        }
+        String narrowed = affected.isEmpty() ? goals
+            : graph.tool() == ReactorGraph.Tool.MAVEN ? mavenGoals(goals, changed) : gradleGoals(goals, affected);
+        return new Plan(narrowed, List.copyOf(changed), List.copyOf(affected), skipped, files.size(), null);
+    }
+
+    private String mavenGoals(String goals, Set<String> changed) {
+        String narrowed = goals.trim() + " -pl " + String.join(",", changed) + " -amd";
+        return goals.matches(".*(^|\\s)(-T|--threads)(\\s|=|\\d|$).*") ? narrowed : narrowed + " -T " + threads;
+    }
+
+    /**
+     * Qualifies every task with each affected project path ({@code :} itself as
+     * {@code :task}), keeping the task options that follow it ({@code test --tests
+     * Foo}); other options pass through once, each with its value ({@code -x test},
+     * {@code -P key=value}). Already qualified tasks ({@code :app:run}) are kept as-is.
+     */
+    static String gradleGoals(String goals, Set<String> affected) {
+        List<List<String>> invocations = new ArrayList<>();    // a task, then its own options
+        List<String> options = new ArrayList<>();
+        String[] tokens = goals.trim().split("\\s+");
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (!token.startsWith("-")) {
+                invocations.add(new ArrayList<>(List.of(token)));
+                continue;
+            }
+            List<String> option = new ArrayList<>(List.of(token));
+            if (GRADLE_VALUE_OPTIONS.contains(token) && i + 1 < tokens.length) option.add(tokens[++i]);
+            boolean ofTask = !invocations.isEmpty() && GRADLE_TASK_OPTIONS.contains(token.split("=", 2)[0]);
+            (ofTask ? invocations.getLast() : options).addAll(option);
+        }
+        List<String> qualified = new ArrayList<>();
+        for (String module : affected) {
+            for (List<String> invocation : invocations) {
+                String task = invocation.getFirst();
+                if (task.startsWith(":")) continue;
+                qualified.add(module.equals(":") ? ":" + task : module + ":" + task);
+                qualified.addAll(invocation.subList(1, invocation.size()));
+            }
+        }
+        for (List<String> invocation : invocations) {
+            if (invocation.getFirst().startsWith(":")) qualified.addAll(invocation);
+        }
+        qualified.addAll(options);
+        if (!options.contains("--parallel")) qualified.add("--parallel");
+        return String.join(" ", qualified);
+    }
+
+    // ── Changed files ─────────────────────────────────────────────────────────
+
+    /** Project-relative paths that differ from {@code since}, plus untracked files. */
+    static List<String> changedFiles(Path project, String since) throws IOException, InterruptedException {
+        Set<String> files = new LinkedHashSet<>();
+        files.addAll(git(project, "diff", "--name-only", "--relative", since, "--"));
+        files.addAll(git(project, "ls-files", "--others", "--exclude-standard"));
+        return List.copyOf(files);
+    }
+
+    private static List<String> git(Path dir, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "core.quotepath=off"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+            .directory(dir.toFile())
+            .redirectErrorStream(true)
+            .start();
+        byte[] out = process.getInputStream().readAllBytes();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("git " + args[0] + " timed out");
+        }
+        String text = new String(out, StandardCharsets.UTF_8);
+        if (process.exitValue() != 0) throw new IOException("git " + args[0] + " failed: " + text.strip());
+        return text.lines().filter(l -> !l.isBlank()).toList();
+    }
+}
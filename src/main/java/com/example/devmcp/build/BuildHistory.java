@@ -0,0 +1,281 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.BuildLog;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Append-only, on-disk history of every build.
+ *
+ * Layout under devmcp.history.dir:
+ *   segment-000001.log   raw build logs, appended back to back
+ *   segment-000002.log   (a new segment starts once the current one exceeds
+ *                         devmcp.history.segment-size)
+ *   index.tsv            one line per build — id, start, duration, exit code,
+ *                         state, segment, offset, length, project, goals,
+ *                         input hash (see BuildInputHasher; empty if unknown)
+ *
+ * Startup reads index.tsv only — never the segments — so it costs a few
+ * bytes per build. Searches filter the in-memory index; logs are only read
+ * when a specific build's page is requested.
+ *
+ * Retention drops whole segments: the oldest go once the total exceeds
+ * devmcp.history.max-size, or once their newest build is older than
+ * devmcp.history.max-age. The index is then rewritten without them.
+ */
+@Component
+public class BuildHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildHistory.class);
+
+    private static final String INDEX = "index.tsv";
+
+    /** One index line. Byte offsets point into {@code segment-<segment>.log}. */
+    public record Entry(long id, Instant startedAt, Duration duration, Integer exitCode,
+                        BuildJob.State state, int segment, long offset, long length,
+                        String project, String goals, String inputHash) {
+
+        String toLine() {
+            return id + "\t" + startedAt.toEpochMilli() + "\t" + duration.toMillis() + "\t"
+                + (exitCode != null ? exitCode : "") + "\t" + state + "\t" + segment + "\t"
+                + offset + "\t" + length + "\t" + clean(project) + "\t" + clean(goals) + "\t" + inputHash;
+        }
+
+        static Entry parse(String line) {
+            String[] f = line.split("\t", 11);
+            return new Entry(Long.parseLong(f[0]), Instant.ofEpochMilli(Long.parseLong(f[1])),
+                Duration.ofMillis(Long.parseLong(f[2])), f[3].isEmpty() ? null : Integer.valueOf(f[3]),
+                BuildJob.State.valueOf(f[4]), Integer.parseInt(f[5]), Long.parseLong(f[6]),
+                Long.parseLong(f[7]), f[8], f[9], f.length > 10 ? f[10] : "");
+        }
+
+        private static String clean(String s) {
+            return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+
+        /** One-line summary for project://builds and searchBuildHistory. */
+        public String describe() {
+            return "#" + id + "  " + startedAt + "  " + state
+                + (exitCode != null ? " (exit " + exitCode + ")" : "")
+                + "  " + duration.toSeconds() + "s  " + length + " bytes  "
+                + goals + " @ " + project;
+        }
+    }
+
+    private final Path dir;
+    private final long segmentSize;
+    private final long maxSize;
+    private final Duration maxAge;
+
+    private final Object writeLock = new Object();
+    private final List<Entry> entries = new ArrayList<>();     // ascending id
+    private long nextId = 1;
+    private int currentSegment = 1;
+
+    public BuildHistory(@Value("${devmcp.history.dir:${user.home}/.devmcp/history}") Path dir,
+                        @Value("${devmcp.history.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${devmcp.history.max-size:1GB}") DataSize maxSize,
+                        @Value("${devmcp.history.max-age:30d}") Duration maxAge) {
+        this.dir = dir;
+        this.segmentSize = segmentSize.toBytes();
+        this.maxSize = maxSize.toBytes();
+        this.maxAge = maxAge;
+    }
+
+    @PostConstruct
+    synchronized void load() {
+        Path index = dir.resolve(INDEX);
+        try {
+            Files.createDirectories(dir);
+            if (Files.exists(index)) {
+                for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    try {
+                        entries.add(Entry.parse(line));
+                    } catch (RuntimeException e) {
+                        log.debug("Skipping corrupt history index line: {}", line);
+                    }
+                }
+            }
+            if (!entries.isEmpty()) {
+                Entry last = entries.getLast();
+                nextId = last.id() + 1;
+                currentSegment = last.segment();
+            }
+            log.info("Build history: {} builds indexed in {}", entries.size(), dir);
+        } catch (IOException e) {
+            log.warn("Build history unavailable ({}): {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a finished build's log to the current segment and indexes it.
+     * The copy runs under a writer-only lock, so searches and reads of other
+     * builds aren't blocked while a large log is written.
+     *
+     * @param inputHash the build's BuildInputHasher hash, or null if unknown
+     */
+    public Entry record(BuildJob job, BuildLog buildLog, String inputHash) {
+        synchronized (writeLock) {
+            try {
+                int segmentNo;
+                synchronized (this) {
+                    Path current = segmentPath(currentSegment);
+                    if (Files.exists(current) && Files.size(current) >= segmentSize) currentSegment++;
+                    segmentNo = currentSegment;
+                }
+                long offset;
+                long written = 0;
+                try (FileChannel ch = FileChannel.open(segmentPath(segmentNo),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                     InputStream in = buildLog.openStream()) {
+                    offset = ch.size();
+                    byte[] buf = new byte[64 * 1024];
+                    int n;
+                    while ((n = in.read(buf)) > 0) {
+                        ByteBuffer bb = ByteBuffer.wrap(buf, 0, n);
+                        while (bb.hasRemaining()) written += ch.write(bb);
+                    }
+                }
+
+                synchronized (this) {
+                    Entry entry = new Entry(nextId++, job.submittedAt(), job.elapsed(), job.exitCode(),
+                        job.state(), segmentNo, offset, written, job.projectPath().toString(), job.goals(),
+                        inputHash != null ? inputHash : "");
+                    Files.writeString(dir.resolve(INDEX), entry.toLine() + "\n", StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    entries.add(entry);
+                    applyRetention();
+                    return entry;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record build in history", e);
+            }
+        }
+    }
+
+    public synchronized Optional<Entry> find(long id) {
+        // ids ascend with list position, so binary search would do — linear is fine at this size
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).id() == id) return Optional.of(entries.get(i));
+        }
+        return Optional.empty();
+    }
+
+    /** The newest successful build of {@code project} with exactly these inputs, if its log is still retained. */
+    public synchronized Optional<Entry> findSuccessful(Path project, String inputHash) {
+        String path = project.toAbsolutePath().normalize().toString();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry e = entries.get(i);
+            if (e.state() == BuildJob.State.SUCCEEDED && e.inputHash().equals(inputHash)
+                    && e.project().equals(path)) return Optional.of(e);
+        }
+        return Optional.empty();
+    }
+
+    /** Newest-first entries matching {@code filter}, at most {@code limit}. Never touches logs. */
+    public synchronized List<Entry> search(Predicate<Entry> filter, int limit) {
+        List<Entry> result = new ArrayList<>();
+        for (int i = entries.size() - 1; i >= 0 && result.size() < limit; i--) {
+            if (filter.test(entries.get(i))) result.add(entries.get(i));
+        }
+        return result;
+    }
+
+    /** Reads part of a recorded build's log. */
+    public String read(Entry entry, long offset, int limit) {
+        if (offset < 0 || offset >= entry.length() || limit <= 0) return "";
+        int n = (int) Math.min(limit, entry.length() - offset);
+        try (FileChannel ch = FileChannel.open(segmentPath(entry.segment()), StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(n);
+            long pos = entry.offset() + offset;
+            while (buf.hasRemaining()) {
+                int r = ch.read(buf, pos);
+                if (r < 0) break;
+                pos += r;
+            }
+            return new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "(log no longer available: " + e.getMessage() + ")";
+        }
+    }
+
+    /** Appends a recorded build's whole log to {@code target}, a page at a time. */
+    public void copy(Entry entry, BuildLog target) {
+        try (FileChannel ch = FileChannel.open(segmentPath(entry.segment()), StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+            long pos = entry.offset();
+            long end = entry.offset() + entry.length();
+            while (pos < end) {
+                buf.clear().limit((int) Math.min(buf.capacity(), end - pos));
+                int r = ch.read(buf, pos);
+                if (r < 0) break;
+                target.append(buf.array(), 0, r);
+                pos += r;
+            }
+        } catch (IOException e) {
+            target.append("(log no longer available: " + e.getMessage() + ")");
+        }
+    }
+
+    // ── Retention ─────────────────────────────────────────────────────────────
+
+    private void applyRetention() throws IOException {
+        Instant cutoff = Instant.now().minus(maxAge);
+        boolean dropped = false;
+        while (!entries.isEmpty()) {
+            int oldest = entries.getFirst().segment();
+            if (oldest == currentSegment) break;        // never drop the segment being written
+            Instant newestInOldest = entries.stream()
+                .filter(e -> e.segment() == oldest)
+                .map(Entry::startedAt)
+                .max(Instant::compareTo)
+                .orElse(Instant.MIN);
+            if (totalSize() <= maxSize && newestInOldest.isAfter(cutoff)) break;
+
+            Files.deleteIfExists(segmentPath(oldest));
+            entries.removeIf(e -> e.segment() == oldest);
+            dropped = true;
+        }
+        if (dropped) rewriteIndex();
+    }
+
+    private long totalSize() {
+        long total = 0;
+        for (Entry e : entries) total += e.length();
+        return total;
+    }
+
+    private void rewriteIndex() throws IOException {
+        Path tmp = dir.resolve(INDEX + ".tmp");
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Entry e : entries) lines.add(e.toLine());
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("segment-%06d.log", segment));
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.files.GitIgnore;
+import com.example.devmcp.files.ProjectFileWatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Content hash of a build's inputs, for skipping builds whose inputs haven't
+ * changed since an earlier successful run.
+ *
+ * Inputs are every file under the project that git would track (.gitignore
+ * honoured; .git/ and friends skipped, target/ and build/ only where they are
+ * build output — see ProjectFileWatcher.isSkippedDir) plus .mvn/ — wrapper
+ * and maven.config live there — the build command and the project's absolute
+ * path, so two clones at the same commit don't share builds.
+ *
+ * Only wrapper launches (./mvnw, ./gradlew) are cacheable: anything else runs
+ * through a shell and may act outside the project. A hit also needs the
+ * build's output directories to still exist — a clean in between means the
+ * build must run again.
+ *
+ * The hash is a Merkle tree: a file's digest is SHA-256 of its bytes, a
+ * directory's digest covers its sorted children's names and digests, and the
+ * root digest also covers the command. File digests are cached per project
+ * with the size and mtime they were computed at, so a re-hash only reads
+ * files whose stat changed; everything else is one stat call per file.
+ *
+ * Not covered: anything outside the project (remote SNAPSHOT dependencies,
+ * ~/.m2/settings.xml, environment variables). runBuildTool's force flag is
+ * the escape hatch.
+ */
+@Component
+public class BuildInputHasher {
+
+    private static final int BUFFER = 64 * 1024;
+
+    /** Inputs of one build. {@code rehashed} counts files whose bytes were actually read. */
+    public record Result(String hash, int files, int rehashed, Duration elapsed) {}
+
+    private record FileState(long size, long modified, byte[] digest) {}
+
+    private final int maxProjects;
+
+    // Per-project digest caches, least recently hashed project evicted first
+    private final LinkedHashMap<Path, Map<Path, FileState>> projects = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder forced = new LongAdder();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    public BuildInputHasher(@Value("${devmcp.build.cache.max-projects:16}") int maxProjects) {
+        this.maxProjects = maxProjects;
+    }
+
+    public Result hash(Path project, List<String> command) throws IOException {
+        long start = System.nanoTime();
+        Path root = project.toAbsolutePath().normalize();
+
+        Map<Path, FileState> cached;
+        synchronized (projects) {
+            cached = projects.computeIfAbsent(root, r -> new HashMap<>());
+            while (projects.size() > maxProjects) {
+                projects.remove(projects.keySet().iterator().next());
+            }
+        }
+
+        // One hash per project at a time; the cache is rebuilt so deleted files drop out
+        synchronized (cached) {
+            Walk walk = new Walk(root, cached);
+            byte[] tree = walk.directory(root);
+            cached.clear();
+            cached.putAll(walk.seen);
+
+            MessageDigest md = sha256();
+            md.update(tree);
+            md.update(root.toString().getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            for (String part : command) {
+                md.update(part.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+            }
+            String hash = HexFormat.of().formatHex(md.digest());
+            return new Result(hash, walk.seen.size(), walk.rehashed,
+                Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /** True for a Maven or Gradle wrapper launch — the only commands whose output may be reused. */
+    public static boolean isCacheable(List<String> command) {
+        return !command.isEmpty() && outputDir(command.get(0)) != null;
+    }
+
+    /**
+     * True if the output directory of {@code command}'s build tool (target/ for
+     * Maven, build/ for Gradle) exists at the project root or next to a module's
+     * build file, i.e. no clean removed what the reused build produced.
+     */
+    public static boolean outputsPresent(Path project, List<String> command) throws IOException {
+        String out = command.isEmpty() ? null : outputDir(command.get(0));
+        if (out == null) return false;
+        Path root = project.toAbsolutePath().normalize();
+        try (Stream<Path> dirs = Files.walk(root, 4)) {
+            return dirs.anyMatch(dir -> dir.getFileName().toString().equals(out)
+                && Files.isDirectory(dir) && ProjectFileWatcher.isSkippedDir(dir, root));
+        }
+    }
+
+    private static String outputDir(String launcher) {
+        return switch (launcher) {
+            case "./mvnw", "mvnw.cmd" -> "target";
+            case "./gradlew", "gradlew.bat" -> "build";
+            default -> null;
+        };
+    }
+
+    /** One traversal: computes directory digests bottom-up, reusing unchanged file digests. */
+    private static final class Walk {
+        final GitIgnore gitIgnore;
+        final Map<Path, FileState> previous;
+        final Map<Path, FileState> seen = new HashMap<>();
+        final byte[] buffer = new byte[BUFFER];
+        int rehashed;
+
+        Walk(Path root, Map<Path, FileState> previous) {
+            this.gitIgnore = new GitIgnore(root);
+            this.previous = previous;
+        }
+
+        byte[] directory(Path dir) throws IOException {
+            List<Path> children;
+            try (Stream<Path> list = Files.list(dir)) {
+                children = new ArrayList<>(list.sorted().toList());
+            }
+            MessageDigest md = sha256();
+            for (Path child : children) {
+                BasicFileAttributes attrs =
+                    Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                boolean isDir = attrs.isDirectory();
+                if (isDir && !child.getFileName().toString().equals(".mvn")
+                        && gitIgnore.isIgnoredEntry(child, true)) continue;
+                if (!isDir && gitIgnore.isIgnoredEntry(child, false)) continue;
+
+                byte[] digest;
+                if (isDir) {
+                    digest = directory(child);
+                } else if (attrs.isRegularFile()) {
+                    digest = file(child, attrs);
+                } else {
+                    continue;                   // symlinks, devices
+                }
+                md.update(child.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                md.update(isDir ? (byte) 'd' : (byte) 'f');
+                md.update(digest);
+            }
+            return md.digest();
+        }
+
+        byte[] file(Path file, BasicFileAttributes attrs) throws IOException {
+            long size = attrs.size();
+            long modified = attrs.lastModifiedTime().toMillis();
+            FileState state = previous.get(file);
+            if (state == null || state.size() != size || state.modified() != modified) {
+                MessageDigest md = sha256();
+                try (InputStream in = Files.newInputStream(file)) {
+                    int n;
+                    while ((n = in.read(buffer)) > 0) md.update(buffer, 0, n);
+                }
+                state = new FileState(size, modified, md.digest());
+                rehashed++;
+            }
+            seen.put(file, state);
+            return state.digest();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    // ── Outcome counters ──────────────────────────────────────────────────────
+
+    public void recordHit(Duration saved) {
+        hits.increment();
+        savedMillis.addAndGet(Math.max(0, saved.toMillis()));
+    }
+
+    public void recordMiss(boolean force) {
+        (force ? forced : misses).increment();
+    }
+
+    /** One-line-per-counter summary for the project://build-cache resource. */
+    public String stats() {
+        int tracked;
+        synchronized (projects) {
+            tracked = projects.size();
+        }
+        long h = hits.sum();
+        long m = misses.sum();
+        return "hits:          " + h + "\n"
+             + "misses:        " + m + "\n"
+             + "forced:        " + forced.sum() + "\n"
+             + "hit ratio:     " + (h + m == 0 ? "n/a" : String.format("%.1f%%", 100.0 * h / (h + m))) + "\n"
+             + "time saved:    " + Duration.ofMillis(savedMillis.get()).toSeconds() + "s\n"
+             + "projects:      " + tracked + " / " + maxProjects + "\n";
+    }
+}
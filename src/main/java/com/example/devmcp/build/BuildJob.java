@@ -0,0 +1,157 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.BuildLog;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * One build submitted to the {@link BuildScheduler}.
+ *
+ * Lifecycle: QUEUED → RUNNING → SUCCEEDED | FAILED, or CANCELLED / TIMED_OUT
+ * from either of the first two states. State fields are volatile — the
+ * build's virtual thread writes them, listBuilds and cancelBuild read them.
+ */
+public final class BuildJob {
+
+    public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED, TIMED_OUT }
+
+    private final long id;
+    private final Path projectPath;
+    private final String goals;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Integer exitCode;
+    private volatile Process process;
+    private volatile BuildLog log;
+    private volatile Future<?> future;
+    private volatile int testReports;
+
+    BuildJob(long id, Path projectPath, String goals) {
+        this.id = id;
+        this.projectPath = projectPath;
+        this.goals = goals;
+    }
+
+    public long id()               { return id; }
+    public Path projectPath()      { return projectPath; }
+    public String goals()          { return goals; }
+    public State state()           { return state; }
+    public Integer exitCode()      { return exitCode; }
+    public BuildLog log()          { return log; }
+    public Instant submittedAt()   { return submittedAt; }
+    public int testReports()       { return testReports; }
+
+    public boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+
+    /** Wall-clock time spent running (or queued, if the build never started). */
+    public Duration elapsed() {
+        Instant from = startedAt != null ? startedAt : submittedAt;
+        Instant to = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(from, to);
+    }
+
+    /** Time spent waiting in the queue before the build started (so far, if it hasn't). */
+    public Duration queued() {
+        Instant started = startedAt;
+        return Duration.between(submittedAt, started != null ? started : Instant.now());
+    }
+
+    /** Time since the build left the queue, or null while it is still queued. */
+    Duration runningFor() {
+        Instant started = startedAt;
+        return started != null ? Duration.between(started, Instant.now()) : null;
+    }
+
+    /** The log this build writes to — set by the build task once it starts. */
+    public void attachLog(BuildLog log) {
+        this.log = log;
+    }
+
+    /** Number of JUnit XML reports the build wrote — set by the build task when it ends. */
+    public void recordTestReports(int reports) {
+        this.testReports = reports;
+    }
+
+    /**
+     * Registers the running process so it can be killed on cancel. If the job
+     * was cancelled while the process was being spawned, the process is killed
+     * right away.
+     */
+    public void attachProcess(Process process) {
+        this.process = process;
+        if (isFinished()) destroyTree(process);
+    }
+
+    CompletableFuture<Integer> result() {
+        return result;
+    }
+
+    void attachFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    synchronized void complete(int exitCode) {
+        // Cancelled or timed out: the exit code is the kill's, not the build's
+        if (isFinished()) return;
+        this.exitCode = exitCode;
+        finish(exitCode == 0 ? State.SUCCEEDED : State.FAILED);
+        result.complete(exitCode);
+    }
+
+    void fail(Throwable error) {
+        finish(State.FAILED);
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * Stops the build: a queued job never starts, a running job has its whole
+     * process tree killed. Returns false if the job had already finished.
+     */
+    synchronized boolean stop(State reason) {
+        if (isFinished()) return false;
+        state = reason;
+        finishedAt = Instant.now();
+        Future<?> f = future;
+        if (f != null) f.cancel(true);
+        Process p = process;
+        if (p != null) destroyTree(p);
+        result.cancel(false);
+        return true;
+    }
+
+    private synchronized void finish(State outcome) {
+        // A cancel/timeout that already happened wins over the exit code it caused
+        if (isFinished()) return;
+        state = outcome;
+        finishedAt = Instant.now();
+    }
+
+    private static void destroyTree(Process process) {
+        // Children first — Maven/Gradle wrappers fork the real JVM as a child
+        process.toHandle().descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /** One-line summary used by listBuilds. */
+    public String describe() {
+        return "#" + id + " " + state
+            + (exitCode != null ? " (exit " + exitCode + ")" : "")
+            + " — " + goals + " @ " + projectPath
+            + " — " + elapsed().toSeconds() + "s";
+    }
+}
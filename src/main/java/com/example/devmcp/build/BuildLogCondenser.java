@@ -0,0 +1,330 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.BuildLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reduces a build log to the parts that explain a failure.
+ *
+ * One pass over the log keeps:
+ *  - errors:  Maven [ERROR] blocks, javac/kotlinc diagnostics with the source
+ *             line and caret that follow them, Gradle "What went wrong" blocks
+ *  - tests:   failing test headers (surefire "<<< FAILURE!", Gradle "FAILED")
+ *             and their stack traces, with test-framework/reflection frames and
+ *             repeated frames collapsed into one "... N frames omitted" line
+ *  - summary: Maven reactor summary, BUILD SUCCESS/FAILURE, Gradle FAILURE
+ *
+ * Each section is capped while reading, so memory stays proportional to the
+ * budget however large the log is. The result is used as the MCP sampling
+ * payload and served as project://build-log/errors.
+ */
+@Component
+public class BuildLogCondenser {
+
+    private static final int MAX_CONTINUATION_LINES = 20;
+    private static final int MAX_APP_FRAMES = 10;
+    private static final int DIAGNOSTIC_CONTEXT_LINES = 2;
+
+    private static final String[] FRAMEWORK_FRAMES = {
+        "org.junit.", "junit.framework.", "org.apache.maven.surefire.", "org.gradle.",
+        "java.base/jdk.internal.", "java.base/java.lang.reflect.", "jdk.internal.",
+        "java.lang.reflect.", "sun.reflect.", "jdk.proxy", "org.testng.internal."
+    };
+
+    private static final String[] MAVEN_BOILERPLATE = {
+        "-> [Help", "To see the full stack trace", "Re-run Maven", "For more information",
+        "[Help 1]", "After correcting the problems"
+    };
+
+    private final int maxChars;
+
+    public BuildLogCondenser(@Value("${devmcp.build-log.condensed-max-chars:12000}") int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    public int maxChars() {
+        return maxChars;
+    }
+
+    /** Condenses {@code log}; falls back to its tail when nothing failure-shaped was found. */
+    public String condense(BuildLog log) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(log.openStream(), StandardCharsets.UTF_8))) {
+            String condensed = condense(reader, maxChars);
+            if (condensed != null) {
+                return condensed + "\n(condensed from " + log.lineCount() + " lines / "
+                     + log.length() + " bytes — full output: project://build-log)";
+            }
+            return log.view(maxChars);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Condenses build output passed as text, e.g. a prompt argument; null if nothing failure-shaped was found. */
+    public static String condense(String output, int budget) {
+        try {
+            return condense(new BufferedReader(new StringReader(output)), budget);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Returns null if the input contained no errors, test failures or summary. */
+    static String condense(BufferedReader reader, int budget) throws IOException {
+        Pass pass = new Pass(budget);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            pass.accept(line);
+        }
+        return pass.render(budget);
+    }
+
+    // ── Single pass state machine ─────────────────────────────────────────────
+
+    private enum Mode { NONE, ERROR_BLOCK, DIAGNOSTIC, STACK_TRACE, GRADLE_BLOCK, SUMMARY }
+
+    private static final class Pass {
+
+        final Section errors;
+        final Section tests;
+        final Section summary;
+        final Set<String> seenErrors = new HashSet<>();
+
+        Mode mode = Mode.NONE;
+        Section traceTarget;
+        int continuation;
+        int diagnosticLeft;
+        int appFrames;
+        int omittedFrames;
+        String lastFrame;
+
+        Pass(int budget) {
+            errors = new Section("Errors", budget);
+            tests = new Section("Test failures", budget);
+            summary = new Section("Build summary", budget);
+        }
+
+        void accept(String line) {
+            switch (mode) {
+                case STACK_TRACE -> { if (stackTraceLine(line)) return; }
+                case DIAGNOSTIC -> {
+                    if (diagnosticLeft-- > 0 && !line.startsWith("[")) { errors.add(line); return; }
+                }
+                case ERROR_BLOCK -> { if (errorContinuation(line)) return; }
+                case GRADLE_BLOCK -> {
+                    if (line.startsWith("* Try:") || line.startsWith("* Exception is:")) {
+                        mode = Mode.NONE;
+                    } else {
+                        if (!line.isBlank()) errors.add(line);
+                        return;
+                    }
+                }
+                case SUMMARY -> {
+                    String body = stripLevel(line);
+                    if (!body.isBlank() && !body.startsWith("-----")) summary.add(body);
+                    if (body.startsWith("Total time")) mode = Mode.NONE;
+                    return;
+                }
+                default -> { }
+            }
+            mode = Mode.NONE;
+            classify(line);
+        }
+
+        private void classify(String line) {
+            String body = stripLevel(line);
+
+            if (body.startsWith("Reactor Summary")) {
+                summary.add(body);
+                mode = Mode.SUMMARY;
+            } else if (body.startsWith("BUILD FAILURE") || body.startsWith("BUILD SUCCESS")
+                    || line.startsWith("BUILD FAILED") || line.startsWith("FAILURE: ")) {
+                summary.add(body);
+            } else if (line.startsWith("* What went wrong:")) {
+                errors.add(line);
+                mode = Mode.GRADLE_BLOCK;
+            } else if (line.contains("<<< FAILURE!") || line.contains("<<< ERROR!")
+                    || (line.endsWith(" FAILED") && line.contains(" > "))) {
+                startTrace(tests, line);
+            } else if (line.startsWith("[ERROR]")) {
+                if (body.isBlank() || isBoilerplate(body)) return;
+                if (body.startsWith("Tests run:") || body.startsWith("Failures:")
+                        || body.startsWith("Errors:") || body.startsWith("  ")) {
+                    tests.add(line);
+                } else if (errors.isFull() || seenErrors.add(body)) {
+                    // Maven repeats errors in its final summary; once the section is
+                    // full, lines are only counted, so the seen-set stays budget-sized
+                    errors.add(line);
+                }
+                mode = Mode.ERROR_BLOCK;
+                continuation = 0;
+            } else if (isCompilerDiagnostic(line)) {
+                if (errors.isFull() || seenErrors.add(line)) errors.add(line);
+                mode = Mode.DIAGNOSTIC;
+                diagnosticLeft = DIAGNOSTIC_CONTEXT_LINES;
+            }
+        }
+
+        /** Unprefixed lines after an [ERROR] line belong to it (multi-line messages, traces). */
+        private boolean errorContinuation(String line) {
+            if (line.startsWith("[") || line.isEmpty()) return false;
+            if (isFrame(line)) {
+                startTrace(errors, null);
+                return stackTraceLine(line);
+            }
+            if (continuation++ < MAX_CONTINUATION_LINES) errors.add(line);
+            return true;
+        }
+
+        private void startTrace(Section target, String header) {
+            if (header != null) target.add(header);
+            traceTarget = target;
+            mode = Mode.STACK_TRACE;
+            appFrames = 0;
+            omittedFrames = 0;
+            lastFrame = null;
+        }
+
+        /** Returns false when the trace has ended and {@code line} needs classifying. */
+        private boolean stackTraceLine(String line) {
+            if (line.startsWith("[") || line.isBlank()) {
+                flushOmitted();
+                return false;
+            }
+            if (!isFrame(line)) {
+                // Exception message, "Caused by:", "... 12 more"
+                flushOmitted();
+                if (line.stripLeading().startsWith("Caused by:")) appFrames = 0;
+                traceTarget.add(line);
+                lastFrame = null;
+                return true;
+            }
+            if (line.equals(lastFrame) || isFrameworkFrame(line) || appFrames >= MAX_APP_FRAMES) {
+                omittedFrames++;
+            } else {
+                flushOmitted();
+                traceTarget.add(line);
+                appFrames++;
+            }
+            lastFrame = line;
+            return true;
+        }
+
+        private void flushOmitted() {
+            if (omittedFrames > 0) {
+                traceTarget.add("\t... " + omittedFrames + " frames omitted");
+                omittedFrames = 0;
+            }
+        }
+
+        String render(int budget) {
+            flushOmitted();
+            if (errors.isEmpty() && tests.isEmpty() && summary.isEmpty()) return null;
+
+            // Summary is short and orients the reader; errors and tests share the rest
+            int summaryBudget = Math.min(summary.length(), budget / 5);
+            int rest = budget - summaryBudget;
+            int errorBudget = errors.length() + tests.length() <= rest
+                ? errors.length()
+                : Math.min(errors.length(), Math.max(rest / 2, rest - tests.length()));
+            int testBudget = rest - errorBudget;
+
+            StringBuilder out = new StringBuilder(budget + 256);
+            errors.renderTo(out, errorBudget);
+            tests.renderTo(out, testBudget);
+            summary.renderTo(out, summaryBudget);
+            return out.toString().stripTrailing();
+        }
+    }
+
+    /** A capped, line-oriented output section. */
+    private static final class Section {
+
+        private final String title;
+        private final int cap;
+        private final StringBuilder text = new StringBuilder();
+        private int omittedLines;
+
+        Section(String title, int cap) {
+            this.title = title;
+            this.cap = cap;
+        }
+
+        void add(String line) {
+            if (text.length() + line.length() + 1 > cap) {
+                omittedLines++;
+            } else {
+                text.append(line).append('\n');
+            }
+        }
+
+        boolean isEmpty() { return text.isEmpty(); }
+
+        boolean isFull() { return omittedLines > 0; }
+
+        int length() { return text.length(); }
+
+        void renderTo(StringBuilder out, int budget) {
+            if (text.isEmpty() || budget <= 0) return;
+            out.append("=== ").append(title).append(" ===\n");
+            int end = text.length();
+            int omitted = omittedLines;
+            if (end > budget) {
+                end = text.lastIndexOf("\n", budget) + 1;
+                for (int i = end; i < text.length(); i++) {
+                    if (text.charAt(i) == '\n') omitted++;
+                }
+            }
+            out.append(text, 0, end);
+            if (omitted > 0) out.append("... (").append(omitted).append(" more lines omitted)\n");
+            out.append('\n');
+        }
+    }
+
+    // ── Line predicates ───────────────────────────────────────────────────────
+
+    private static String stripLevel(String line) {
+        if (line.startsWith("[INFO]") || line.startsWith("[ERROR]")) {
+            int from = line.indexOf(']') + 2;
+            return from < line.length() ? line.substring(from) : "";
+        }
+        return line;
+    }
+
+    private static boolean isBoilerplate(String body) {
+        for (String b : MAVEN_BOILERPLATE) {
+            if (body.startsWith(b)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isCompilerDiagnostic(String line) {
+        // javac (Gradle/plain): Foo.java:12: error: ...   kotlinc: e: file:///...Foo.kt:3:5 ...
+        return (line.contains(".java:") && line.contains(": error:")) || line.startsWith("e: ");
+    }
+
+    private static boolean isFrame(String line) {
+        String s = line.stripLeading();
+        return s.startsWith("at ") || (s.startsWith("...") && s.endsWith("more"));
+    }
+
+    private static boolean isFrameworkFrame(String line) {
+        String s = line.stripLeading();
+        if (!s.startsWith("at ")) return false;
+        for (String prefix : FRAMEWORK_FRAMES) {
+            if (s.startsWith(prefix, 3)) return true;
+        }
+        return false;
+    }
+}
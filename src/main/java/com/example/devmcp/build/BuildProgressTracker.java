@@ -0,0 +1,157 @@
+package com.example.devmcp.build;
+
+/**
+ * Derives build progress from Maven / Gradle console output, one line at a time.
+ *
+ * Recognised lines (after an optional "[INFO] " prefix):
+ *   Maven   "Building core 1.0-SNAPSHOT   [3/12]"   → module 3 of 12 started
+ *           "--- maven-compiler-plugin:3.11:compile (default) @ core ---"
+ *                                                   → one more mojo in the current module
+ *           "Reactor Summary"                       → all modules done
+ *   Gradle  "> Task :app:compileJava"               → one more task executed
+ *
+ * Maven reports a fraction of 1.0. Within a module, each mojo moves progress
+ * part of the way towards the next module (1 - 1/(mojos+1)), so single-module
+ * builds move too. Gradle's plain console never prints a task total, so
+ * Gradle progress is a task count with an unknown total — valid MCP, and
+ * enough for a client to tell a moving build from a hung one.
+ *
+ * Runs once per output line, so {@link #onLine} does no regex and no
+ * allocation: it only compares characters and parses small integers in place.
+ * Strings are built only when an update is actually emitted, and updates are
+ * coalesced to at most one per {@code minIntervalNanos}.
+ *
+ * Not thread-safe — one tracker per build, fed by the build's reader thread.
+ */
+public final class BuildProgressTracker {
+
+    /** Receives coalesced progress updates. {@code total} is null when unknown. */
+    @FunctionalInterface
+    public interface Sink {
+        void progress(double progress, Double total, String message);
+    }
+
+    private static final String INFO = "[INFO] ";
+    private static final String BUILDING = "Building ";
+    private static final String MOJO = "--- ";
+    private static final String REACTOR_SUMMARY = "Reactor Summary";
+    private static final String GRADLE_TASK = "> Task :";
+
+    private final Sink sink;
+    private final long minIntervalNanos;
+
+    // Maven state
+    private int module;
+    private int modules;
+    private int mojosInModule;
+    private String moduleLine;          // kept by reference; only sliced when emitting
+    private boolean reactorDone;
+
+    // Gradle state
+    private int gradleTasks;
+    private String taskLine;
+
+    private double lastEmitted = -1;
+    private long lastEmitNanos;
+    private boolean dirty;
+
+    public BuildProgressTracker(Sink sink, long minIntervalNanos) {
+        this.sink = sink;
+        this.minIntervalNanos = minIntervalNanos;
+        this.lastEmitNanos = System.nanoTime() - minIntervalNanos;
+    }
+
+    public void onLine(String line) {
+        int start = line.startsWith(INFO) ? INFO.length() : 0;
+
+        if (line.startsWith(GRADLE_TASK, start)) {
+            gradleTasks++;
+            taskLine = line;
+            dirty = true;
+        } else if (line.startsWith(BUILDING, start) && line.endsWith("]")) {
+            if (parseModuleCounter(line)) {
+                mojosInModule = 0;
+                moduleLine = line;
+                dirty = true;
+            }
+        } else if (line.startsWith(MOJO, start) && line.endsWith(" ---")) {
+            mojosInModule++;
+            if (modules == 0) { module = 1; modules = 1; moduleLine = null; }
+            dirty = true;
+        } else if (line.startsWith(REACTOR_SUMMARY, start)) {
+            reactorDone = true;
+            dirty = true;
+        }
+
+        if (dirty) {
+            long now = System.nanoTime();
+            if (now - lastEmitNanos >= minIntervalNanos) {
+                emit(now);
+            }
+        }
+    }
+
+    /** Sends the final update regardless of the rate limit. */
+    public void finish(int exitCode) {
+        String message = "Build finished — exit code " + exitCode;
+        if (gradleTasks > 0 && modules == 0) {
+            sink.progress(gradleTasks, (double) gradleTasks, message);
+        } else {
+            sink.progress(1.0, 1.0, message);
+        }
+    }
+
+    /** Parses the trailing "[n/m]" of a Maven "Building ..." line. */
+    private boolean parseModuleCounter(String line) {
+        int close = line.length() - 1;
+        int slash = line.lastIndexOf('/', close);
+        int open = line.lastIndexOf('[', slash);
+        if (open < 0 || slash < 0) return false;
+        int n = parseInt(line, open + 1, slash);
+        int m = parseInt(line, slash + 1, close);
+        if (n <= 0 || m <= 0 || n > m) return false;
+        module = n;
+        modules = m;
+        return true;
+    }
+
+    private static int parseInt(CharSequence s, int from, int to) {
+        if (from >= to) return -1;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private void emit(long now) {
+        dirty = false;
+        if (modules > 0) {
+            double done = reactorDone
+                ? 1.0
+                : (module - 1 + (1.0 - 1.0 / (mojosInModule + 1))) / modules;
+            // Progress must never go backwards — clamp just below 1.0 until finish()
+            double progress = Math.min(Math.max(done, lastEmitted), 0.99);
+            if (progress <= lastEmitted) return;
+            lastEmitted = progress;
+            lastEmitNanos = now;
+            sink.progress(progress, 1.0, reactorDone
+                ? "Reactor summary"
+                : "Module " + module + "/" + modules + moduleName());
+        } else if (gradleTasks > 0) {
+            lastEmitted = gradleTasks;
+            lastEmitNanos = now;
+            sink.progress(gradleTasks, null, "Task " + gradleTasks + ": "
+                + taskLine.substring(taskLine.indexOf(':')));
+        }
+    }
+
+    private String moduleName() {
+        if (moduleLine == null) return "";
+        int from = moduleLine.indexOf(BUILDING) + BUILDING.length();
+        int to = moduleLine.lastIndexOf('[');
+        return " — " + moduleLine.substring(from, to).strip();
+    }
+}
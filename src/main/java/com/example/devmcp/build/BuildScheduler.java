@@ -0,0 +1,184 @@
+package com.example.devmcp.build;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs build processes off the MCP request thread.
+ *
+ * Each build gets its own virtual thread. This moves the process, not the
+ * caller: SYNC runBuildTool still waits in {@link #await(BuildJob)}, so its
+ * request thread stays parked for the whole build — progress notifications
+ * and sampling need the request to stay open. ASYNC mode (AsyncBuildTools)
+ * waits on a virtual thread instead and frees the request thread.
+ *
+ * A submitted build starts when two rules allow it:
+ *  - per project: builds on the same directory run one at a time, in
+ *    submission order (fair lock), so they never share a target/ folder
+ *  - global: at most devmcp.build.max-concurrent builds run at once
+ *
+ * Waiting for either rule parks a virtual thread, not a platform thread.
+ * Every build is bounded by devmcp.build.timeout, counted from when it
+ * starts — time queued behind other builds does not count — after which its
+ * process tree is killed. A project's lock is dropped once no build of it is
+ * running or queued.
+ */
+@Component
+public class BuildScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BuildScheduler.class);
+
+    /** Finished jobs kept around for listBuilds. */
+    private static final int RETAINED_JOBS = 50;
+
+    /** While a build is queued, await re-checks whether it has started this often. */
+    private static final long QUEUED_POLL_MILLIS = 1000;
+
+    /** A project's lock and the number of builds holding or waiting for it; changed only inside compute. */
+    private static final class ProjectLock {
+        final ReentrantLock lock = new ReentrantLock(true);
+        int users;
+    }
+
+    /** The work a build does once it holds its project lock and a global permit. */
+    @FunctionalInterface
+    public interface BuildTask {
+        int run(BuildJob job) throws Exception;
+    }
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Path, ProjectLock> projectLocks = new ConcurrentHashMap<>();
+    private final Map<Long, BuildJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Semaphore permits;
+    private final Duration timeout;
+
+    public BuildScheduler(@Value("${devmcp.build.max-concurrent:0}") int maxConcurrent,
+                          @Value("${devmcp.build.timeout:30m}") Duration timeout) {
+        int limit = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(limit, true);
+        this.timeout = timeout;
+        log.info("Build scheduler: max {} concurrent builds, timeout {}", limit, timeout);
+    }
+
+    /** Queues a build and returns immediately. */
+    public BuildJob submit(Path projectPath, String goals, BuildTask task) {
+        Path key = projectPath.toAbsolutePath().normalize();
+        BuildJob job = new BuildJob(ids.incrementAndGet(), key, goals);
+        jobs.put(job.id(), job);
+        pruneFinished();
+
+        job.attachFuture(executor.submit(() -> execute(job, key, task)));
+        return job;
+    }
+
+    private void execute(BuildJob job, Path key, BuildTask task) {
+        ReentrantLock lock = projectLocks.compute(key, (k, l) -> {
+            ProjectLock held = l != null ? l : new ProjectLock();
+            held.users++;
+            return held;
+        }).lock;
+        try {
+            lock.lockInterruptibly();
+            try {
+                permits.acquire();
+                try {
+                    if (job.isFinished()) return;       // cancelled while queued
+                    job.markRunning();
+                    job.complete(task.run(job));
+                } finally {
+                    permits.release();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();         // cancelled — stop() already set the state
+        } catch (Exception e) {
+            if (!job.isFinished()) log.error("Build #{} failed to run", job.id(), e);
+            job.fail(e);
+        } finally {
+            projectLocks.computeIfPresent(key, (k, l) -> --l.users == 0 ? null : l);
+        }
+    }
+
+    /** Projects with a build running or queued. */
+    int lockedProjects() {
+        return projectLocks.size();
+    }
+
+    /**
+     * Blocks the caller until the build finishes or has run for the timeout; a
+     * timed-out build is killed. Returns the exit code, or null if the build was stopped.
+     */
+    public Integer await(BuildJob job) throws Exception {
+        try {
+            while (true) {
+                Duration running = job.runningFor();
+                long wait = running != null ? timeout.minus(running).toMillis() : QUEUED_POLL_MILLIS;
+                try {
+                    return job.result().get(Math.max(wait, 0), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (running == null) continue;      // still queued: the clock has not started
+                    job.stop(BuildJob.State.TIMED_OUT);
+                    log.warn("Build #{} timed out after {}", job.id(), timeout);
+                    return null;
+                }
+            }
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /** Cancels a queued or running build. Returns false if unknown or already finished. */
+    public boolean cancel(long id) {
+        BuildJob job = jobs.get(id);
+        return job != null && job.stop(BuildJob.State.CANCELLED);
+    }
+
+    /** All known builds, newest first. */
+    public List<BuildJob> list() {
+        List<BuildJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparingLong(BuildJob::id).reversed());
+        return all;
+    }
+
+    private void pruneFinished() {
+        if (jobs.size() <= RETAINED_JOBS) return;
+        jobs.values().stream()
+            .filter(BuildJob::isFinished)
+            .sorted(Comparator.comparingLong(BuildJob::id))
+            .limit(jobs.size() - RETAINED_JOBS)
+            .toList()
+            .forEach(j -> jobs.remove(j.id()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(j -> j.stop(BuildJob.State.CANCELLED));
+        executor.shutdownNow();
+    }
+}
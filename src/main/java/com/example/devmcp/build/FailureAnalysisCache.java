@@ -0,0 +1,211 @@
+package com.example.devmcp.build;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers AI analyses of build failures, keyed by a failure fingerprint.
+ *
+ * The fingerprint is a SHA-256 over the condensed log's lines after
+ * normalisation: timestamps, paths (reduced to file names), line/column
+ * numbers, durations, ports and PIDs are masked, and the lines are
+ * de-duplicated and sorted. The same compile error on the next build —
+ * different time, different elapsed seconds, different checkout path —
+ * hashes the same. Other numbers are kept: "expected: 1 but was: 2" and
+ * "expected: 400 but was: 200" are different failures.
+ *
+ * Bounded LRU (devmcp.sampling.cache.max-entries) with a TTL
+ * (devmcp.sampling.cache.ttl), persisted to a small TSV file so analyses
+ * survive restarts. The file is rewritten on each store; it holds at most a
+ * few hundred short entries.
+ */
+@Component
+public class FailureAnalysisCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureAnalysisCache.class);
+
+    private static final Pattern TIMESTAMP =
+        Pattern.compile("\\d{4}-\\d{2}-\\d{2}[T ]\\d{2}:\\d{2}:\\d{2}(?:[.,]\\d+)?(?:Z|[+-]\\d{2}:?\\d{2})?|\\d{2}:\\d{2}:\\d{2}(?:[.,]\\d+)?");
+    private static final Pattern PATH =
+        Pattern.compile("(?:[A-Za-z]:)?(?:[\\\\/][\\w.@$+-]+)+[\\\\/]([\\w.@$+-]+)");
+    private static final Pattern HEX = Pattern.compile("0x[0-9a-fA-F]+|@[0-9a-f]{6,}");
+    // App.java:[12,5]  App.java:12:5  (AppTest.java:42)
+    private static final Pattern LOCATION = Pattern.compile("(\\.\\w+):(?:\\[\\d+(?:,\\d+)?]|\\d+(?::\\d+)?)");
+    private static final Pattern DURATION = Pattern.compile(
+        "\\b\\d+(?:[.,]\\d+)?\\s*(?:ms|s|sec|secs|seconds?|m|min|mins|minutes?|h)\\b");
+    private static final Pattern PORT = Pattern.compile(
+        "(?i)(localhost|127\\.0\\.0\\.1|0\\.0\\.0\\.0|\\[::1]|\\bport\\s?[:=]?\\s?)(:?)\\d+");
+    private static final Pattern PID = Pattern.compile("(?i)\\b(pid|process)(\\s?[:=#]?\\s?)\\d+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private record Entry(String analysis, long createdAt) {}
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Path file;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public FailureAnalysisCache(@Value("${devmcp.sampling.cache.max-entries:200}") int maxEntries,
+                                @Value("${devmcp.sampling.cache.ttl:7d}") Duration ttl,
+                                @Value("${devmcp.sampling.cache.file:${user.home}/.devmcp/analysis-cache.tsv}") Path file) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.file = file;
+    }
+
+    // ── Fingerprinting ────────────────────────────────────────────────────────
+
+    /** Stable hash of a condensed failure log; see class comment for what is masked. */
+    public static String fingerprint(String condensedLog) {
+        TreeSet<String> lines = new TreeSet<>();
+        for (String line : condensedLog.split("\n")) {
+            String n = normalize(line);
+            if (!n.isEmpty()) lines.add(n);
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                sha.update(line.getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    static String normalize(String line) {
+        String s = TIMESTAMP.matcher(line).replaceAll("<ts>");
+        s = PATH.matcher(s).replaceAll("$1");
+        s = HEX.matcher(s).replaceAll("<hex>");
+        s = LOCATION.matcher(s).replaceAll("$1:#");
+        s = DURATION.matcher(s).replaceAll("<time>");
+        s = PORT.matcher(s).replaceAll("$1$2#");
+        s = PID.matcher(s).replaceAll("$1$2#");
+        return SPACES.matcher(s).replaceAll(" ").strip();
+    }
+
+    // ── Cache ─────────────────────────────────────────────────────────────────
+
+    public Optional<String> lookup(String fingerprint) {
+        synchronized (this) {
+            Entry entry = entries.get(fingerprint);
+            if (entry != null && !isExpired(entry)) {
+                hits.increment();
+                return Optional.of(entry.analysis());
+            }
+            if (entry != null) {
+                entries.remove(fingerprint);
+                expired.increment();
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void store(String fingerprint, String analysis) {
+        List<String> snapshot;
+        synchronized (this) {
+            entries.put(fingerprint, new Entry(analysis, System.currentTimeMillis()));
+            while (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+            snapshot = serialize();
+        }
+        persist(snapshot);
+    }
+
+    private boolean isExpired(Entry entry) {
+        return Instant.ofEpochMilli(entry.createdAt()).plus(ttl).isBefore(Instant.now());
+    }
+
+    public String stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return "entries:   " + size + " / " + maxEntries + "\n"
+             + "hits:      " + h + "\n"
+             + "misses:    " + m + "\n"
+             + "hit ratio: " + (h + m == 0 ? "n/a" : String.format("%.1f%%", 100.0 * h / (h + m))) + "\n"
+             + "expired:   " + expired.sum() + "\n"
+             + "ttl:       " + ttl + "\n"
+             + "file:      " + file + "\n";
+    }
+
+    // ── Persistence: fingerprint \t createdAtMillis \t base64(analysis) ───────
+
+    @PostConstruct
+    void load() {
+        if (!Files.exists(file)) return;
+        try {
+            int loaded = 0;
+            synchronized (this) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] parts = line.split("\t", 3);
+                    if (parts.length != 3) continue;
+                    Entry entry = new Entry(
+                        new String(Base64.getDecoder().decode(parts[2]), StandardCharsets.UTF_8),
+                        Long.parseLong(parts[1]));
+                    if (!isExpired(entry)) {
+                        entries.put(parts[0], entry);
+                        loaded++;
+                    }
+                }
+            }
+            log.info("Loaded {} cached failure analyses from {}", loaded, file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable analysis cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private List<String> serialize() {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            lines.add(e.getKey() + "\t" + e.getValue().createdAt() + "\t"
+                + Base64.getEncoder().encodeToString(e.getValue().analysis().getBytes(StandardCharsets.UTF_8)));
+        }
+        return lines;
+    }
+
+    private synchronized void persist(List<String> lines) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist analysis cache to {}: {}", file, e.getMessage());
+        }
+    }
+}
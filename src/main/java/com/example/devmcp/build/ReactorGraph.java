@@ -0,0 +1,276 @@
+package com.example.devmcp.build;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Module dependency graph of a multi-module build, read straight from the
+ * build files — no Maven or Gradle run needed.
+ *
+ * Maven: the root pom's {@code <modules>}, recursively; a module depends on
+ * every reactor module it lists as a {@code <dependency>} or {@code <parent>}.
+ * Module ids are directory paths relative to the root, which is what {@code -pl}
+ * accepts.
+ *
+ * Gradle: {@code include} lines of settings.gradle(.kts), with {@code projectDir}
+ * overrides; a project depends on every {@code project(":x")} its build script
+ * mentions. Module ids are project paths such as {@code :core}.
+ *
+ * Both readers are deliberately shallow — profiles, BOM imports and dynamic
+ * includes are not evaluated — and err towards more edges, never fewer.
+ */
+final class ReactorGraph {
+
+    enum Tool { MAVEN, GRADLE }
+
+    record Module(String id, Path dir, Set<String> dependsOn) {}
+
+    private static final Pattern GRADLE_INCLUDE = Pattern.compile("^\\s*include\\b(.*)$", Pattern.MULTILINE);
+    private static final Pattern QUOTED = Pattern.compile("[\"']([^\"']+)[\"']");
+    private static final Pattern GRADLE_PROJECT_DIR = Pattern.compile(
+        "project\\(\\s*[\"'](:[^\"']+)[\"']\\s*\\)\\.projectDir\\s*=\\s*(?:file|new File)\\((?:\\s*settingsDir\\s*,)?\\s*[\"']([^\"']+)[\"']");
+    private static final Pattern GRADLE_PROJECT_DEP = Pattern.compile(
+        "project\\(\\s*(?:path\\s*[:=]\\s*)?[\"'](:[^\"']+)[\"']");
+
+    private final Tool tool;
+    private final Path root;
+    private final Map<String, Module> modules;      // insertion order = reactor order
+
+    private ReactorGraph(Tool tool, Path root, Map<String, Module> modules) {
+        this.tool = tool;
+        this.root = root;
+        this.modules = modules;
+    }
+
+    /** Reads the project's module graph; null when it is not a multi-module Maven or Gradle build. */
+    static ReactorGraph load(Path project) throws IOException {
+        Path root = project.toAbsolutePath().normalize();
+        if (Files.isRegularFile(root.resolve("pom.xml"))) {
+            ReactorGraph graph = loadMaven(root);
+            return graph.modules.size() > 1 ? graph : null;
+        }
+        for (String settings : List.of("settings.gradle", "settings.gradle.kts")) {
+            if (Files.isRegularFile(root.resolve(settings))) {
+                ReactorGraph graph = loadGradle(root, root.resolve(settings));
+                return graph.modules.size() > 1 ? graph : null;
+            }
+        }
+        return null;
+    }
+
+    Tool tool()                    { return tool; }
+    Collection<Module> modules()   { return modules.values(); }
+
+    /** Id of the innermost module containing a root-relative path. */
+    String owner(String relativePath) {
+        Path file = root.resolve(relativePath).normalize();
+        Module best = null;
+        for (Module m : modules.values()) {
+            if (file.startsWith(m.dir())
+                    && (best == null || m.dir().getNameCount() > best.dir().getNameCount())) {
+                best = m;
+            }
+        }
+        return best != null ? best.id() : rootId();
+    }
+
+    String rootId() {
+        return tool == Tool.MAVEN ? "." : ":";
+    }
+
+    /** The given modules plus everything that depends on them, transitively, in reactor order. */
+    Set<String> withDependents(Set<String> changed) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Module m : modules.values()) {
+            for (String dep : m.dependsOn()) dependents.computeIfAbsent(dep, k -> new ArrayList<>()).add(m.id());
+        }
+        Set<String> reached = new LinkedHashSet<>(changed);
+        Deque<String> work = new ArrayDeque<>(changed);
+        while (!work.isEmpty()) {
+            for (String next : dependents.getOrDefault(work.pop(), List.of())) {
+                if (reached.add(next)) work.push(next);
+            }
+        }
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String id : modules.keySet()) if (reached.contains(id)) ordered.add(id);
+        return ordered;
+    }
+
+    // ── Maven ─────────────────────────────────────────────────────────────────
+
+    private record Pom(String coordinates, String artifactId, List<String> modules,
+                       List<String> references) {}
+
+    private static ReactorGraph loadMaven(Path root) throws IOException {
+        DocumentBuilder xml = newDocumentBuilder();
+        Map<Path, Pom> poms = new LinkedHashMap<>();
+        Deque<Path> work = new ArrayDeque<>(List.of(root));
+        while (!work.isEmpty()) {
+            Path entry = work.pop();
+            // <module> names a directory, or occasionally an alternative pom file
+            Path file = Files.isDirectory(entry) ? entry.resolve("pom.xml") : entry;
+            Path dir = file.getParent();
+            if (poms.containsKey(dir) || !Files.isRegularFile(file)) continue;
+            Pom pom = readPom(xml, file);
+            poms.put(dir, pom);
+            for (String module : pom.modules()) work.add(dir.resolve(module).normalize());
+        }
+
+        // Resolve references against reactor coordinates; fall back to the bare artifactId
+        Map<String, String> byCoordinates = new HashMap<>();
+        Map<String, String> byArtifactId = new HashMap<>();
+        poms.forEach((dir, pom) -> {
+            String id = mavenId(root, dir);
+            byCoordinates.put(pom.coordinates(), id);
+            byArtifactId.putIfAbsent(pom.artifactId(), id);
+        });
+
+        Map<String, Module> modules = new LinkedHashMap<>();
+        poms.forEach((dir, pom) -> {
+            String id = mavenId(root, dir);
+            Set<String> deps = new TreeSet<>();
+            for (String ref : pom.references()) {
+                String target = byCoordinates.get(ref);
+                if (target == null) target = byArtifactId.get(ref.substring(ref.indexOf(':') + 1));
+                if (target != null && !target.equals(id)) deps.add(target);
+            }
+            modules.put(id, new Module(id, dir, deps));
+        });
+        return new ReactorGraph(Tool.MAVEN, root, modules);
+    }
+
+    private static String mavenId(Path root, Path dir) {
+        String rel = root.relativize(dir).toString().replace('\\', '/');
+        return rel.isEmpty() ? "." : rel;
+    }
+
+    private static Pom readPom(DocumentBuilder xml, Path file) throws IOException {
+        Document doc;
+        try {
+            doc = xml.parse(file.toFile());
+        } catch (SAXException e) {
+            throw new IOException("Cannot parse " + file + ": " + e.getMessage(), e);
+        }
+        Element project = doc.getDocumentElement();
+        Element parent = child(project, "parent");
+        String artifactId = text(child(project, "artifactId"));
+        String groupId = text(child(project, "groupId"));
+        if (groupId == null && parent != null) groupId = text(child(parent, "groupId"));
+
+        List<String> modules = new ArrayList<>();
+        Element moduleList = child(project, "modules");
+        if (moduleList != null) {
+            for (Element m : children(moduleList, "module")) modules.add(text(m));
+        }
+
+        List<String> references = new ArrayList<>();
+        if (parent != null) references.add(text(child(parent, "groupId")) + ":" + text(child(parent, "artifactId")));
+        // Plain and plugin dependencies; dependencyManagement only pins versions
+        for (Element deps : Arrays.asList(child(project, "dependencies"), child(child(project, "build"), "plugins"))) {
+            if (deps == null) continue;
+            for (Element dep : children(deps, null)) {
+                String g = text(child(dep, "groupId"));
+                if (g == null || g.equals("${project.groupId}") || g.equals("${project.parent.groupId}")) g = groupId;
+                references.add(g + ":" + text(child(dep, "artifactId")));
+            }
+        }
+        return new Pom(groupId + ":" + artifactId, artifactId, modules, references);
+    }
+
+    private static DocumentBuilder newDocumentBuilder() throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return factory.newDocumentBuilder();
+        } catch (Exception e) {
+            throw new IOException("No XML parser available", e);
+        }
+    }
+
+    private static Element child(Element parent, String name) {
+        if (parent == null) return null;
+        for (Element e : children(parent, name)) return e;
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String name) {
+        List<Element> found = new ArrayList<>();
+        NodeList nodes = parent.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node n = nodes.item(i);
+            if (n instanceof Element e && (name == null || name.equals(e.getTagName()))) found.add(e);
+        }
+        return found;
+    }
+
+    private static String text(Element e) {
+        return e == null ? null : e.getTextContent().strip();
+    }
+
+    // ── Gradle ────────────────────────────────────────────────────────────────
+
+    private static ReactorGraph loadGradle(Path root, Path settings) throws IOException {
+        String script = stripComments(Files.readString(settings));
+
+        Map<String, Path> dirs = new LinkedHashMap<>();
+        dirs.put(":", root);
+        Matcher include = GRADLE_INCLUDE.matcher(script);
+        while (include.find()) {
+            Matcher name = QUOTED.matcher(include.group(1));
+            while (name.find()) {
+                String path = name.group(1).startsWith(":") ? name.group(1) : ":" + name.group(1);
+                dirs.put(path, root.resolve(path.substring(1).replace(':', '/')).normalize());
+            }
+        }
+        Matcher projectDir = GRADLE_PROJECT_DIR.matcher(script);
+        while (projectDir.find()) {
+            if (dirs.containsKey(projectDir.group(1))) {
+                dirs.put(projectDir.group(1), root.resolve(projectDir.group(2)).normalize());
+            }
+        }
+
+        Map<String, Module> modules = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> e : dirs.entrySet()) {
+            Set<String> deps = new TreeSet<>();
+            for (String file : List.of("build.gradle", "build.gradle.kts")) {
+                Path build = e.getValue().resolve(file);
+                if (!Files.isRegularFile(build)) continue;
+                Matcher dep = GRADLE_PROJECT_DEP.matcher(stripComments(Files.readString(build)));
+                while (dep.find()) {
+                    if (dirs.containsKey(dep.group(1)) && !dep.group(1).equals(e.getKey())) deps.add(dep.group(1));
+                }
+            }
+            modules.put(e.getKey(), new Module(e.getKey(), e.getValue(), deps));
+        }
+        return new ReactorGraph(Tool.GRADLE, root, modules);
+    }
+
+    private static String stripComments(String script) {
+        return script.replaceAll("(?s)/\\*.*?\\*/", "").replaceAll("(?m)^\\s*//.*$", "");
+    }
+}
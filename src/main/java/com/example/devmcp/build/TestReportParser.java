@@ -0,0 +1,171 @@
+package com.example.devmcp.build;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for JUnit XML reports — the format written by Surefire,
+ * Failsafe and Gradle's test tasks.
+ *
+ *   <testsuite name="com.acme.FooTest" tests="3" ...>
+ *     <testcase classname="com.acme.FooTest" name="adds" time="0.012"/>
+ *     <testcase classname="com.acme.FooTest" name="divides" time="0.004">
+ *       <failure message="expected: 1 but was: 2" type="...AssertionFailedError">stack…</failure>
+ *     </testcase>
+ *     <testcase ...><skipped/></testcase>
+ *     <system-out>…</system-out>
+ *   </testsuite>
+ *
+ * StAX, one pass, no DOM: only testcase attributes and the first lines of a
+ * failure's stack trace are kept. Captured stdout/stderr — usually most of the
+ * file — is skipped without being buffered.
+ */
+final class TestReportParser {
+
+    /** Stack trace lines kept per failure. */
+    static final int STACK_LINES = 6;
+    static final int MAX_MESSAGE = 500;
+    private static final int MAX_DETAIL = 8 * 1024;
+
+    private static final XMLInputFactory FACTORY = newFactory();
+
+    private TestReportParser() {}
+
+    static List<TestResults.TestCase> parse(Path report, String module, String task) throws IOException {
+        try (InputStream in = Files.newInputStream(report)) {
+            return parse(in, module, task);
+        }
+    }
+
+    static List<TestResults.TestCase> parse(InputStream in, String module, String task) throws IOException {
+        List<TestResults.TestCase> cases = new ArrayList<>();
+        XMLStreamReader xml = null;
+        try {
+            xml = FACTORY.createXMLStreamReader(in);
+
+            String className = null;
+            String name = null;
+            double time = 0;
+            TestResults.Status status = null;
+            String message = null;
+            String type = null;
+            StringBuilder detail = null;        // non-null while inside <failure>/<error>
+
+            while (xml.hasNext()) {
+                switch (xml.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String element = xml.getLocalName();
+                        if (element.equals("testcase")) {
+                            className = xml.getAttributeValue(null, "classname");
+                            name = xml.getAttributeValue(null, "name");
+                            time = parseTime(xml.getAttributeValue(null, "time"));
+                            status = TestResults.Status.PASSED;
+                            message = null;
+                            type = null;
+                        } else if (status != null && (element.equals("failure") || element.equals("error"))) {
+                            status = element.equals("failure") ? TestResults.Status.FAILED : TestResults.Status.ERROR;
+                            message = xml.getAttributeValue(null, "message");
+                            type = xml.getAttributeValue(null, "type");
+                            detail = new StringBuilder();
+                        } else if (status != null && element.equals("skipped")) {
+                            status = TestResults.Status.SKIPPED;
+                            message = xml.getAttributeValue(null, "message");
+                        } else if (element.equals("system-out") || element.equals("system-err")
+                                || element.startsWith("flaky") || element.startsWith("rerun")) {
+                            skipElement(xml);       // captured output; reruns that eventually passed
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (detail != null && detail.length() < MAX_DETAIL && countLines(detail) < STACK_LINES) {
+                            detail.append(xml.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        String element = xml.getLocalName();
+                        if (detail != null && (element.equals("failure") || element.equals("error"))) {
+                            message = summarize(message, detail);
+                            detail = null;
+                        } else if (element.equals("testcase") && status != null) {
+                            cases.add(new TestResults.TestCase(module, className != null ? className : "",
+                                name != null ? name : "", status, time, task,
+                                message != null ? truncate(message) : null,
+                                type != null && !type.isEmpty() ? type : null));
+                            status = null;
+                        }
+                    }
+                    default -> { }
+                }
+            }
+        } catch (XMLStreamException e) {
+            // Reports are written while we read them during a build; a half-written
+            // file is retried on the next poll
+            throw new IOException("Incomplete or invalid test report: " + e.getMessage(), e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+        return cases;
+    }
+
+    /** The failure message, else the first stack line; followed by the first few "at" lines. */
+    private static String summarize(String message, StringBuilder detail) {
+        String[] lines = detail.toString().strip().split("\n");
+        StringBuilder sb = new StringBuilder();
+        sb.append(message != null && !message.isBlank() ? message.strip() : lines.length > 0 ? lines[0].strip() : "");
+        int kept = 0;
+        for (String line : lines) {
+            String l = line.strip();
+            if (l.startsWith("at ") && kept++ < STACK_LINES - 1) sb.append("\n    ").append(l);
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_MESSAGE ? text : text.substring(0, MAX_MESSAGE) + "…";
+    }
+
+    private static int countLines(StringBuilder sb) {
+        int n = 0;
+        for (int i = 0; i < sb.length(); i++) if (sb.charAt(i) == '\n') n++;
+        return n;
+    }
+
+    private static void skipElement(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+
+    private static double parseTime(String time) {
+        if (time == null || time.isEmpty()) return 0;
+        try {
+            return Double.parseDouble(time.replace(",", ""));    // Surefire writes 1,234.5 for long runs
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
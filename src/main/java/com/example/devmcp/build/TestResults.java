@@ -0,0 +1,416 @@
+package com.example.devmcp.build;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Structured test results per project, ingested from the JUnit XML reports a
+ * build writes — so agents read "3 failed: FooTest#divides — expected 1 but
+ * was 2" instead of digging through the build's stdout.
+ *
+ * While a build runs, a {@link Collector} polls the project's report
+ * directories (target/surefire-reports, target/failsafe-reports and
+ * build/test-results/&lt;task&gt; of every module) and stream-parses each report
+ * that appeared or changed since the build started. Surefire and Gradle write
+ * one file per test class as the class finishes, so results arrive during the
+ * build rather than after it. Reports already seen with the same size and
+ * mtime are not read again.
+ *
+ * The model keeps the latest outcome of every test. A report of a complete
+ * run replaces everything its file held before, so deleted tests drop out. A
+ * filtered run ({@code -Dtest=}, {@code --tests}, e.g. rerunFailedTests)
+ * rewrites the same file with only the tests it ran; its results are merged
+ * by test, leaving the rest of the suite as it was.
+ */
+@Component
+public class TestResults {
+
+    private static final Logger log = LoggerFactory.getLogger(TestResults.class);
+
+    public enum Status { PASSED, FAILED, ERROR, SKIPPED }
+
+    /**
+     * One test's latest outcome. {@code task} is the Maven plugin that ran it
+     * ("test" for Surefire, "integration-test" for Failsafe) or the Gradle test task.
+     */
+    public record TestCase(String module, String className, String name, Status status, double seconds,
+                           String task, String message, String type) {
+
+        public String key() {
+            return module + " " + className + "#" + name;
+        }
+
+        public boolean failed() {
+            return status == Status.FAILED || status == Status.ERROR;
+        }
+
+        public String label() {
+            String simple = className.substring(className.lastIndexOf('.') + 1);
+            return (module.equals(".") || module.equals(":") ? "" : module + " ") + simple + "#" + name;
+        }
+    }
+
+    /** Failed tests of a project as a build invocation that runs only them. */
+    public record Rerun(String goals, List<TestCase> tests) {}
+
+    private record Stamp(long size, long modified, List<String> keys) {}
+
+    /** Results of one project; guarded by its own monitor. */
+    private static final class ProjectResults {
+        final Map<String, TestCase> tests = new LinkedHashMap<>();
+        final Map<String, TestCase> lastBuild = new LinkedHashMap<>();    // what build #buildId ran
+        final Map<Path, Stamp> reports = new HashMap<>();
+        long buildId;
+        Instant updated;
+    }
+
+    private static final Pattern TEST_FILTER =
+        Pattern.compile("(^|\\s)(-Dtest=|-Dit\\.test=|--tests(\\s|=))");
+
+    private final long pollMillis;
+    private final int slowest;
+    private final Map<Path, ProjectResults> projects = new ConcurrentHashMap<>();
+
+    public TestResults(@Value("${devmcp.test-results.poll-interval:1s}") Duration pollInterval,
+                       @Value("${devmcp.test-results.slowest:10}") int slowest) {
+        this.pollMillis = Math.max(50, pollInterval.toMillis());
+        this.slowest = slowest;
+    }
+
+    // ── Ingestion ─────────────────────────────────────────────────────────────
+
+    /**
+     * Starts collecting the reports a build writes. Closing the collector stops
+     * polling and picks up whatever the build wrote last. {@code goals} tell a
+     * complete run from a filtered one.
+     */
+    public Collector collect(Path project, long buildId, String goals) {
+        return new Collector(key(project), buildId, isFiltered(goals));
+    }
+
+    /** True if the goals run only some tests — their reports don't cover whole classes. */
+    static boolean isFiltered(String goals) {
+        return goals != null && TEST_FILTER.matcher(goals).find();
+    }
+
+    public final class Collector implements AutoCloseable {
+        private final Path project;
+        private final long buildId;
+        private final boolean filtered;
+        private final Instant since;
+        private final List<ReportDir> dirs;
+        private final Thread poller;
+        private int ingested;
+
+        private Collector(Path project, long buildId, boolean filtered) {
+            this.project = project;
+            this.buildId = buildId;
+            this.filtered = filtered;
+            // mtime granularity is a second or two on some filesystems
+            this.since = Instant.now().minusSeconds(2);
+            this.dirs = reportDirs(project);
+            this.poller = Thread.ofVirtual().name("devmcp-test-results-" + buildId).start(this::poll);
+        }
+
+        private void poll() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(pollMillis);
+                    scan();
+                }
+            } catch (InterruptedException e) {
+                // build finished
+            }
+        }
+
+        private synchronized void scan() {
+            ingested += TestResults.this.scan(project, buildId, filtered, since, dirs);
+        }
+
+        /** Report files ingested during this build. */
+        public synchronized int ingested() {
+            return ingested;
+        }
+
+        @Override
+        public void close() {
+            poller.interrupt();
+            try {
+                poller.join(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scan();
+        }
+    }
+
+    /** A directory of JUnit XML reports and what wrote it. */
+    record ReportDir(Path dir, String module, String task) {}
+
+    static List<ReportDir> reportDirs(Path project) {
+        Map<String, Path> modules = new LinkedHashMap<>();
+        boolean maven = Files.isRegularFile(project.resolve("pom.xml"));
+        try {
+            ReactorGraph graph = ReactorGraph.load(project);
+            if (graph != null) graph.modules().forEach(m -> modules.put(m.id(), m.dir()));
+        } catch (IOException e) {
+            log.debug("No module graph for {}: {}", project, e.getMessage());
+        }
+        if (modules.isEmpty()) modules.put(maven ? "." : ":", project);
+
+        List<ReportDir> dirs = new ArrayList<>();
+        modules.forEach((module, dir) -> {
+            dirs.add(new ReportDir(dir.resolve("target/surefire-reports"), module, "test"));
+            dirs.add(new ReportDir(dir.resolve("target/failsafe-reports"), module, "integration-test"));
+            // build/test-results/<task>/ — the task directories only exist once the task ran
+            dirs.add(new ReportDir(dir.resolve("build/test-results"), module, null));
+        });
+        return dirs;
+    }
+
+    /** Parses new or changed reports under the given directories; returns how many were read. */
+    int scan(Path project, long buildId, boolean filtered, Instant since, List<ReportDir> dirs) {
+        ProjectResults results = projects.computeIfAbsent(project, p -> new ProjectResults());
+        int read = 0;
+        for (ReportDir reportDir : dirs) {
+            if (reportDir.task() != null) {
+                read += scanDir(results, buildId, filtered, since, reportDir.dir(), reportDir.module(),
+                    reportDir.task());
+            } else if (Files.isDirectory(reportDir.dir())) {
+                try (DirectoryStream<Path> tasks = Files.newDirectoryStream(reportDir.dir(), Files::isDirectory)) {
+                    for (Path task : tasks) {
+                        read += scanDir(results, buildId, filtered, since, task, reportDir.module(),
+                            task.getFileName().toString());
+                    }
+                } catch (IOException e) {
+                    log.debug("Cannot list {}: {}", reportDir.dir(), e.getMessage());
+                }
+            }
+        }
+        return read;
+    }
+
+    private int scanDir(ProjectResults results, long buildId, boolean filtered, Instant since, Path dir,
+                        String module, String task) {
+        if (!Files.isDirectory(dir)) return 0;
+        int read = 0;
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(dir, "TEST-*.xml")) {
+            for (Path report : reports) {
+                BasicFileAttributes attrs = Files.readAttributes(report, BasicFileAttributes.class);
+                long modified = attrs.lastModifiedTime().toMillis();
+                if (modified < since.toEpochMilli()) continue;          // left over from an earlier build
+                synchronized (results) {
+                    Stamp stamp = results.reports.get(report);
+                    if (stamp != null && stamp.size() == attrs.size() && stamp.modified() == modified) continue;
+                }
+                List<TestCase> cases;
+                try {
+                    cases = TestReportParser.parse(report, module, task);
+                } catch (IOException e) {
+                    log.debug("Skipping {} for now: {}", report, e.getMessage());
+                    continue;                                           // still being written
+                }
+                synchronized (results) {
+                    if (results.buildId != buildId) {
+                        results.lastBuild.clear();
+                        results.buildId = buildId;
+                    }
+                    Stamp previous = results.reports.get(report);
+                    Set<String> keys = new LinkedHashSet<>();
+                    if (previous != null && filtered) {
+                        keys.addAll(previous.keys());                       // merge by test
+                    } else if (previous != null) {
+                        previous.keys().forEach(results.tests::remove);     // the whole class again
+                    }
+                    for (TestCase c : cases) {
+                        results.tests.put(c.key(), c);
+                        results.lastBuild.put(c.key(), c);
+                        keys.add(c.key());
+                    }
+                    results.reports.put(report, new Stamp(attrs.size(), modified, List.copyOf(keys)));
+                    results.updated = Instant.now();
+                }
+                read++;
+            }
+        } catch (IOException e) {
+            log.debug("Cannot scan {}: {}", dir, e.getMessage());
+        }
+        return read;
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    private List<TestCase> tests(Path project) {
+        ProjectResults results = projects.get(key(project));
+        if (results == null) return List.of();
+        synchronized (results) {
+            return List.copyOf(results.tests.values());
+        }
+    }
+
+    public List<TestCase> failed(Path project) {
+        return tests(project).stream().filter(TestCase::failed).toList();
+    }
+
+    /**
+     * Counts of the tests build {@code buildId} ran, for runBuildTool's result;
+     * empty when that build wrote no reports.
+     */
+    public Optional<String> summaryLine(Path project, long buildId) {
+        ProjectResults results = projects.get(key(project));
+        if (results == null) return Optional.empty();
+        List<TestCase> ran;
+        synchronized (results) {
+            if (results.buildId != buildId) return Optional.empty();
+            ran = List.copyOf(results.lastBuild.values());
+        }
+        return ran.isEmpty() ? Optional.empty() : Optional.of("Tests: " + ran.size() + " run, " + counts(ran));
+    }
+
+    private static String counts(List<TestCase> tests) {
+        Map<Status, Long> counts = tests.stream().collect(Collectors.groupingBy(TestCase::status, Collectors.counting()));
+        long failed = counts.getOrDefault(Status.FAILED, 0L) + counts.getOrDefault(Status.ERROR, 0L);
+        return counts.getOrDefault(Status.PASSED, 0L) + " passed, " + failed + " failed, "
+            + counts.getOrDefault(Status.SKIPPED, 0L) + " skipped";
+    }
+
+    /** Full view for project://test-results: counts, failures with messages, slowest tests. */
+    public String describe() {
+        if (projects.isEmpty()) return "No test results yet — run a build that executes tests.";
+        StringBuilder sb = new StringBuilder();
+        projects.forEach((project, results) -> {
+            long buildId;
+            Instant updated;
+            synchronized (results) {
+                buildId = results.buildId;
+                updated = results.updated;
+            }
+            List<TestCase> tests = tests(project);
+            if (tests.isEmpty()) return;
+            double total = tests.stream().mapToDouble(TestCase::seconds).sum();
+            sb.append(project).append(" — build #").append(buildId).append(", updated ").append(updated).append("\n");
+            sb.append("Tests: ").append(tests.size()).append(" known, ").append(counts(tests))
+              .append(String.format(" (%.1fs in tests)%n", total));
+
+            List<TestCase> failed = tests.stream().filter(TestCase::failed).toList();
+            if (!failed.isEmpty()) {
+                sb.append("\nFailures:\n");
+                for (TestCase t : failed) {
+                    sb.append("  ").append(t.status()).append(' ').append(t.label());
+                    if (t.type() != null) sb.append(" — ").append(t.type().substring(t.type().lastIndexOf('.') + 1));
+                    sb.append("\n");
+                    if (t.message() != null) {
+                        sb.append("      ").append(t.message().replace("\n", "\n      ")).append("\n");
+                    }
+                }
+            }
+            sb.append("\nSlowest:\n");
+            tests.stream()
+                .sorted(Comparator.comparingDouble(TestCase::seconds).reversed())
+                .limit(slowest)
+                .forEach(t -> sb.append(String.format("  %7.3fs  %s%n", t.seconds(), t.label())));
+            sb.append("\n");
+        });
+        return sb.isEmpty() ? "No test results yet — run a build that executes tests." : sb.toString();
+    }
+
+    // ── Rerun ─────────────────────────────────────────────────────────────────
+
+    /** Goals that run only the failed tests of the project, or empty when none failed. */
+    public Optional<Rerun> rerun(Path project) {
+        List<TestCase> failed = failed(project);
+        if (failed.isEmpty()) return Optional.empty();
+        boolean maven = Files.isRegularFile(key(project).resolve("pom.xml"));
+        return Optional.of(new Rerun(maven ? mavenRerun(failed) : gradleRerun(failed), failed));
+    }
+
+    /**
+     * {@code test -pl a,b -Dtest=FooTest#x+y,BarTest#z -Dsurefire.failIfNoSpecifiedTests=false};
+     * Failsafe failures add {@code -Dit.test=…} and run to {@code verify}. Modules
+     * without a matching test run none instead of failing.
+     */
+    static String mavenRerun(List<TestCase> failed) {
+        List<String> modules = failed.stream().map(TestCase::module).filter(m -> !m.equals(".")).distinct().toList();
+        String unit = methodFilter(failed.stream().filter(t -> !t.task().equals("integration-test")).toList());
+        String it = methodFilter(failed.stream().filter(t -> t.task().equals("integration-test")).toList());
+
+        StringBuilder goals = new StringBuilder(it.isEmpty() ? "test" : "verify");
+        if (!modules.isEmpty()) goals.append(" -pl ").append(String.join(",", modules));
+        if (!unit.isEmpty()) goals.append(" -Dtest=").append(unit);
+        if (!it.isEmpty()) goals.append(" -Dit.test=").append(it);
+        goals.append(" -Dsurefire.failIfNoSpecifiedTests=false -DfailIfNoTests=false");
+        return goals.toString();
+    }
+
+    /** {@code :core:test --tests com.acme.FooTest.x :app:integrationTest --tests …} — one filter per test. */
+    static String gradleRerun(List<TestCase> failed) {
+        Map<String, List<TestCase>> byTask = new LinkedHashMap<>();
+        for (TestCase t : failed) {
+            String task = (t.module().equals(":") ? "" : t.module()) + ":" + t.task();
+            byTask.computeIfAbsent(task, k -> new ArrayList<>()).add(t);
+        }
+        StringBuilder goals = new StringBuilder();
+        byTask.forEach((task, tests) -> {
+            goals.append(goals.isEmpty() ? "" : " ").append(task);
+            tests.stream()
+                .map(t -> {
+                    String method = methodName(t.name());
+                    // Display names with spaces can't be a --tests token; run the whole class then
+                    return method.isEmpty() || method.contains(" ") ? t.className() : t.className() + "." + method;
+                })
+                .distinct()
+                .forEach(filter -> goals.append(" --tests ").append(filter));
+        });
+        return goals.toString();
+    }
+
+    /** Surefire's -Dtest syntax: {@code Class#m1+m2,OtherClass}. */
+    private static String methodFilter(List<TestCase> tests) {
+        Map<String, List<String>> byClass = new LinkedHashMap<>();
+        for (TestCase t : tests) {
+            List<String> methods = byClass.computeIfAbsent(t.className(), k -> new ArrayList<>());
+            String method = methodName(t.name());
+            if (!method.isEmpty() && !method.contains(" ") && !methods.contains(method)) methods.add(method);
+        }
+        return byClass.entrySet().stream()
+            .map(e -> e.getValue().isEmpty() ? e.getKey()
+                : e.getKey() + "#" + String.join("+", e.getValue()))
+            .collect(Collectors.joining(","));
+    }
+
+    /** "divides(int)[2]" → "divides" — parameters and invocation indexes are not part of a filter. */
+    static String methodName(String name) {
+        int end = name.length();
+        int paren = name.indexOf('(');
+        int bracket = name.indexOf('[');
+        if (paren >= 0) end = paren;
+        if (bracket >= 0) end = Math.min(end, bracket);
+        return name.substring(0, end).strip();
+    }
+
+    private static Path key(Path project) {
+        return project.toAbsolutePath().normalize();
+    }
+}
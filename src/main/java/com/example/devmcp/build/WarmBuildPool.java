@@ -0,0 +1,322 @@
+package com.example.devmcp.build;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Warm execution mode: builds run against long-lived build daemons instead of
+ * a fresh JVM per call, so repeated small builds skip JVM startup, plugin
+ * classloading and JIT warm-up.
+ *
+ * The workers are the build tools' own daemons — the Gradle daemon for
+ * gradlew projects, mvnd (the Maven daemon, if installed) for mvnw projects.
+ * Each project gets its own daemon registry under devmcp.build.warm.dir
+ * ({@code org.gradle.daemon.registry.base} / {@code mvnd.daemonStorage}), so
+ * its worker is a daemon of its own: not shared with other projects or with
+ * the user's shell builds, and stopped without touching theirs.
+ *
+ * The pool decides when to use them and when to throw them away: a project's
+ * worker is stopped after {@code max-builds} builds, or when its own daemons'
+ * resident memory passes {@code max-memory} (Linux only — read from /proc),
+ * and the next build starts a fresh one.
+ *
+ * Projects without a supported daemon keep the cold command, which is also the
+ * only path when warm mode is off (the default).
+ */
+@Component
+public class WarmBuildPool {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmBuildPool.class);
+
+    public enum Kind {
+        GRADLE_DAEMON("org.gradle.launcher.daemon.bootstrap.GradleDaemon"),
+        MAVEN_DAEMON("org.mvndaemon.mvnd.common.MavenDaemon");
+
+        /** Main class on the daemon's command line — how its processes are found. */
+        final String mainClass;
+
+        Kind(String mainClass) {
+            this.mainClass = mainClass;
+        }
+    }
+
+    /** Per-project worker bookkeeping; guarded by the project's build lock in BuildScheduler. */
+    private static final class Worker {
+        final Kind kind;
+        final Path dir;
+        final List<String> stopCommand;
+        int builds;
+        int recycled;
+
+        Worker(Kind kind, Path dir, List<String> stopCommand) {
+            this.kind = kind;
+            this.dir = dir;
+            this.stopCommand = stopCommand;
+        }
+    }
+
+    /** Gradle daemons log to {@code <registry base>/<version>/daemon-<pid>.out.log}. */
+    private static final Pattern GRADLE_DAEMON_LOG = Pattern.compile("daemon-(\\d+)\\.out\\.log");
+
+    private final boolean enabled;
+    private final int maxBuilds;
+    private final long maxMemoryBytes;
+    private final Duration idleTimeout;
+    private final String mvnd;
+    private final Path workersDir;
+    private final Map<Path, Worker> workers = new ConcurrentHashMap<>();
+    private volatile Optional<Path> mvndPath;
+
+    // Build durations, to show what warm mode buys
+    private final LongAdder warmBuilds = new LongAdder();
+    private final LongAdder warmMillis = new LongAdder();
+    private final LongAdder coldBuilds = new LongAdder();
+    private final LongAdder coldMillis = new LongAdder();
+    private final LongAdder recycledByCount = new LongAdder();
+    private final LongAdder recycledByMemory = new LongAdder();
+
+    public WarmBuildPool(@Value("${devmcp.build.warm.enabled:false}") boolean enabled,
+                         @Value("${devmcp.build.warm.max-builds:50}") int maxBuilds,
+                         @Value("${devmcp.build.warm.max-memory:2GB}") DataSize maxMemory,
+                         @Value("${devmcp.build.warm.idle-timeout:30m}") Duration idleTimeout,
+                         @Value("${devmcp.build.warm.mvnd:mvnd}") String mvnd,
+                         @Value("${devmcp.build.warm.dir:${user.home}/.devmcp/workers}") Path workersDir) {
+        this.enabled = enabled;
+        this.maxBuilds = maxBuilds;
+        this.maxMemoryBytes = maxMemory.toBytes();
+        this.idleTimeout = idleTimeout;
+        this.mvnd = mvnd;
+        this.workersDir = workersDir.toAbsolutePath().normalize();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * The warm form of a cold build command, or empty when warm mode is off or
+     * the project has no daemon to run on. Only the launcher changes — goals are
+     * passed through, so build avoidance hashes both forms the same way.
+     */
+    public Optional<List<String>> command(Path project, List<String> cold) {
+        if (!enabled || cold.isEmpty()) return Optional.empty();
+        String launcher = cold.getFirst();
+        List<String> goals = cold.subList(1, cold.size());
+        List<String> warm = new ArrayList<>();
+        Path dir = workerDir(project);
+        Worker worker;
+
+        if (launcher.endsWith("gradlew") || launcher.endsWith("gradlew.bat")) {
+            String registry = "-Dorg.gradle.daemon.registry.base=" + dir;
+            warm.add(launcher);
+            warm.add("--daemon");
+            warm.add(registry);
+            warm.add("-Dorg.gradle.daemon.idletimeout=" + idleTimeout.toMillis());
+            worker = workers.computeIfAbsent(key(project),
+                p -> new Worker(Kind.GRADLE_DAEMON, dir, List.of(launcher, "--stop", registry)));
+        } else if (launcher.endsWith("mvnw") || launcher.endsWith("mvnw.cmd")) {
+            Optional<Path> daemon = mvnd();
+            if (daemon.isEmpty()) return Optional.empty();
+            String binary = daemon.get().toString();
+            String storage = "-Dmvnd.daemonStorage=" + dir;
+            warm.add(binary);
+            warm.add(storage);
+            warm.add("-Dmvnd.idleTimeout=" + idleTimeout.toSeconds() + "s");
+            worker = workers.computeIfAbsent(key(project),
+                p -> new Worker(Kind.MAVEN_DAEMON, dir, List.of(binary, "--stop", storage)));
+        } else {
+            return Optional.empty();            // shell commands have nothing to keep warm
+        }
+        warm.addAll(goals);
+        log.debug("Warm build on {} ({} builds since start)", worker.kind, worker.builds);
+        return Optional.of(warm);
+    }
+
+    /**
+     * Records a finished build and recycles the project's worker when it is due.
+     * Called at the end of the build, still under the project's build lock, so a
+     * recycle never races the next build of the same project.
+     */
+    public void afterBuild(Path project, boolean warm, Duration elapsed) {
+        (warm ? warmBuilds : coldBuilds).increment();
+        (warm ? warmMillis : coldMillis).add(elapsed.toMillis());
+        if (!warm) return;
+
+        Worker worker = workers.get(key(project));
+        if (worker == null) return;
+        worker.builds++;
+        if (worker.builds >= maxBuilds) {
+            recycledByCount.increment();
+            recycle(project, worker, worker.builds + " builds");
+            return;
+        }
+        long rss = residentBytes(worker.kind, worker.dir);
+        if (rss > maxMemoryBytes) {
+            recycledByMemory.increment();
+            recycle(project, worker, DataSize.ofBytes(rss).toMegabytes() + "MB resident");
+        }
+    }
+
+    private void recycle(Path project, Worker worker, String reason) {
+        log.info("Recycling {} for {} after {}", worker.kind, project, reason);
+        stop(project, worker);
+        worker.builds = 0;
+        worker.recycled++;
+    }
+
+    private static void stop(Path project, Worker worker) {
+        try {
+            Process stop = new ProcessBuilder(worker.stopCommand)
+                .directory(project.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            if (!stop.waitFor(1, TimeUnit.MINUTES)) stop.destroyForcibly();
+        } catch (IOException e) {
+            log.warn("Could not stop {} for {}: {}", worker.kind, project, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Daemons outliving the server would only hold memory — stop the ones this server used. */
+    @PreDestroy
+    void shutdown() {
+        workers.forEach(WarmBuildPool::stop);
+        workers.clear();
+    }
+
+    // ── Process inspection ────────────────────────────────────────────────────
+
+    /**
+     * Resident memory of one worker's daemons — those registered under its
+     * {@code dir}, not every daemon of this kind on the host; 0 where /proc is
+     * unavailable. A Gradle daemon is found by the pid in its log file name,
+     * an mvnd daemon by the storage directory on its command line.
+     */
+    static long residentBytes(Kind kind, Path dir) {
+        Set<Long> logged = loggedPids(dir);
+        String storage = dir.toString();
+        return ProcessHandle.allProcesses()
+            .filter(p -> p.info().arguments()
+                .map(args -> {
+                    List<String> list = List.of(args);
+                    if (!list.contains(kind.mainClass)) return false;
+                    return logged.contains(p.pid()) || list.stream().anyMatch(a -> a.contains(storage));
+                })
+                .orElse(false))
+            .mapToLong(p -> residentBytes(p.pid()))
+            .sum();
+    }
+
+    /** Pids named by Gradle daemon log files under {@code dir}; empty if it doesn't exist yet. */
+    static Set<Long> loggedPids(Path dir) {
+        Set<Long> pids = new HashSet<>();
+        try (Stream<Path> files = Files.find(dir, 2, (f, attrs) -> attrs.isRegularFile())) {
+            files.forEach(f -> {
+                Matcher m = GRADLE_DAEMON_LOG.matcher(f.getFileName().toString());
+                if (m.matches()) pids.add(Long.parseLong(m.group(1)));
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // no daemon started yet
+        }
+        return pids;
+    }
+
+    static long residentBytes(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    // "VmRSS:	  123456 kB"
+                    String kb = line.substring(6).trim().split("\\s+")[0];
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // process gone, or not Linux
+        }
+        return 0;
+    }
+
+    private Optional<Path> mvnd() {
+        Optional<Path> resolved = mvndPath;
+        if (resolved == null) {
+            resolved = findExecutable(mvnd);
+            mvndPath = resolved;
+            if (resolved.isEmpty()) log.info("Warm mode: '{}' not found — Maven builds stay cold", mvnd);
+        }
+        return resolved;
+    }
+
+    static Optional<Path> findExecutable(String name) {
+        Path direct = Path.of(name);
+        if (direct.isAbsolute()) return Files.isExecutable(direct) ? Optional.of(direct) : Optional.empty();
+        String path = System.getenv("PATH");
+        if (path == null) return Optional.empty();
+        for (String dir : path.split(File.pathSeparator)) {
+            if (dir.isEmpty()) continue;
+            for (String candidate : List.of(name, name + ".cmd", name + ".exe")) {
+                Path file = Path.of(dir, candidate);
+                if (Files.isRegularFile(file) && Files.isExecutable(file)) return Optional.of(file);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Path key(Path project) {
+        return project.toAbsolutePath().normalize();
+    }
+
+    /** The project's own daemon registry: its directory name plus a hash of the full path. */
+    private Path workerDir(Path project) {
+        Path key = key(project);
+        String name = key.getFileName() != null ? key.getFileName().toString() : "root";
+        return workersDir.resolve(name + "-" + HexFormat.of().toHexDigits(key.toString().hashCode()));
+    }
+
+    /** Summary for the project://build-workers resource. */
+    public String stats() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("warm mode:     ").append(enabled ? "on" : "off").append("\n");
+        sb.append("recycle after: ").append(maxBuilds).append(" builds or ")
+          .append(DataSize.ofBytes(maxMemoryBytes).toMegabytes()).append("MB resident\n");
+        sb.append("warm builds:   ").append(meanLine(warmBuilds.sum(), warmMillis.sum())).append("\n");
+        sb.append("cold builds:   ").append(meanLine(coldBuilds.sum(), coldMillis.sum())).append("\n");
+        sb.append("recycled:      ").append(recycledByCount.sum()).append(" by build count, ")
+          .append(recycledByMemory.sum()).append(" by memory\n");
+        workers.forEach((project, w) -> sb.append("  ").append(project).append("  ").append(w.kind)
+            .append("  ").append(w.builds).append(" builds since start, recycled ")
+            .append(w.recycled).append("x\n"));
+        return sb.toString();
+    }
+
+    private static String meanLine(long builds, long millis) {
+        return builds == 0 ? "0"
+            : builds + " (mean " + String.format("%.1f", millis / 1000.0 / builds) + "s)";
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.devmcp.files;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Reads many files in one call, for readFilesTool.
+ *
+ * Entries are absolute paths or globs over them — {@code *.java}, {@code src/**}
+ * — and relative ones resolve against a base directory. A glob is walked from
+ * its last literal directory, honouring .gitignore, and its matches are sorted.
+ *
+ * Reading happens in two concurrent passes on virtual threads, at most
+ * devmcp.files.batch.parallelism files open at a time across all calls:
+ *  1. probe — size, plus the first {@value #SNIFF_BYTES} bytes to spot binary
+ *     files (a NUL byte). Files no larger than that are done after this pass.
+ *  2. read — the rest, each capped at its share of the budget
+ *
+ * Between them the byte budgets are handed out in entry order — per file at
+ * most maxBytesPerFile, in total at most maxTotalBytes — so the result does not
+ * depend on which read finished first. Latency is that of the slowest file in
+ * each pass, not the sum of all reads.
+ */
+@Component
+public class BatchFileReader {
+
+    static final int SNIFF_BYTES = 8 * 1024;
+
+    /** One file of the batch: its content, or why it has none. */
+    public record FileResult(Path path, long size, String content, String skipped) {
+
+        public boolean read() {
+            return content != null;
+        }
+    }
+
+    /**
+     * @param files      in entry order, at most maxFiles
+     * @param moreFiles  true if the globs matched more than maxFiles
+     * @param unmatched  globs that matched no file
+     */
+    public record Result(List<FileResult> files, boolean moreFiles, List<String> unmatched) {
+
+        public long bytes() {
+            long bytes = 0;
+            for (FileResult file : files) {
+                if (file.read()) bytes += file.content().length();
+            }
+            return bytes;
+        }
+    }
+
+    private record Probe(Path path, long size, byte[] head, boolean binary, String error) { }
+
+    private final FileRangeReader fileRangeReader;
+    private final Semaphore permits;
+    private final int maxFiles;
+    private final long defaultMaxTotalBytes;
+
+    public BatchFileReader(FileRangeReader fileRangeReader,
+                           @Value("${devmcp.files.batch.max-files:200}") int maxFiles,
+                           @Value("${devmcp.files.batch.max-total-bytes:1MB}") DataSize maxTotalBytes,
+                           @Value("${devmcp.files.batch.parallelism:32}") int parallelism) {
+        this.fileRangeReader = fileRangeReader;
+        this.maxFiles = maxFiles;
+        this.defaultMaxTotalBytes = maxTotalBytes.toBytes();
+        this.permits = new Semaphore(Math.max(1, parallelism));
+    }
+
+    /**
+     * Reads every file named or matched by {@code entries}. {@code baseDir},
+     * {@code maxBytesPerFile} and {@code maxTotalBytes} are optional.
+     */
+    public Result read(List<String> entries, String baseDir, Integer maxBytesPerFile, Integer maxTotalBytes)
+            throws IOException {
+        Path base = baseDir == null || baseDir.isBlank() ? null : Path.of(baseDir).toAbsolutePath().normalize();
+        List<String> unmatched = new ArrayList<>();
+        Set<Path> paths = new LinkedHashSet<>();
+        boolean moreFiles = false;
+        for (String entry : entries) {
+            if (entry == null || entry.isBlank()) continue;
+            moreFiles |= expand(entry.strip(), base, paths, unmatched);
+        }
+
+        List<Probe> probes = inParallel(List.copyOf(paths), BatchFileReader::probe);
+
+        // Hand out the budgets in entry order
+        long perFile = maxBytesPerFile != null && maxBytesPerFile > 0
+            ? maxBytesPerFile : fileRangeReader.defaultMaxBytes();
+        long remaining = maxTotalBytes != null && maxTotalBytes > 0 ? maxTotalBytes : defaultMaxTotalBytes;
+        FileResult[] results = new FileResult[probes.size()];
+        List<Integer> pending = new ArrayList<>();
+        int[] budgets = new int[probes.size()];
+        for (int i = 0; i < probes.size(); i++) {
+            Probe p = probes.get(i);
+            if (p.error() != null) {
+                results[i] = new FileResult(p.path(), p.size(), null, p.error());
+            } else if (p.binary()) {
+                results[i] = new FileResult(p.path(), p.size(), null, "binary");
+            } else if (p.size() == 0) {
+                results[i] = new FileResult(p.path(), 0, "", null);
+            } else if (remaining <= 0) {
+                results[i] = new FileResult(p.path(), p.size(), null, "over the total byte budget");
+            } else {
+                int budget = (int) Math.min(Math.min(perFile, remaining), p.size());
+                remaining -= budget;
+                if (p.head().length == p.size() && budget == p.size()) {
+                    results[i] = new FileResult(p.path(), p.size(), new String(p.head(), StandardCharsets.UTF_8), null);
+                } else {
+                    budgets[i] = budget;
+                    pending.add(i);
+                }
+            }
+        }
+
+        List<FileResult> read = inParallel(pending, i -> {
+            Probe p = probes.get(i);
+            try {
+                return new FileResult(p.path(), p.size(), fileRangeReader.readBytes(p.path(), 0L, null, budgets[i]), null);
+            } catch (IOException e) {
+                return new FileResult(p.path(), p.size(), null, describe(e));
+            }
+        });
+        for (int k = 0; k < pending.size(); k++) results[pending.get(k)] = read.get(k);
+        return new Result(Arrays.asList(results), moreFiles, unmatched);
+    }
+
+    // ── Selection ─────────────────────────────────────────────────────────────
+
+    /** Adds the files {@code entry} names or matches; returns true if it stopped at maxFiles. */
+    private boolean expand(String entry, Path base, Set<Path> paths, List<String> unmatched) throws IOException {
+        int glob = firstGlobChar(entry);
+        Path path = Path.of(glob < 0 ? entry : entry.substring(0, entry.lastIndexOf('/', glob) + 1));
+        if (!path.isAbsolute()) {
+            if (base == null) throw new IllegalArgumentException("Relative entry '" + entry + "' needs baseDir");
+            path = base.resolve(path);
+        }
+        path = path.toAbsolutePath().normalize();
+        if (glob < 0) {
+            if (paths.size() >= maxFiles) return !paths.contains(path);
+            paths.add(path);
+            return false;
+        }
+
+        Path root = path;
+        String pattern = entry.substring(entry.lastIndexOf('/', glob) + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        // A leading **/ also matches files directly in the root, as in git and most shells
+        PathMatcher top = pattern.startsWith("**/")
+            ? FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(3)) : matcher;
+        if (!Files.isDirectory(root)) {
+            unmatched.add(entry);
+            return false;
+        }
+        GitIgnore gitIgnore = new GitIgnore(repositoryRoot(root));
+        List<Path> matches = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+                return !d.equals(root) && gitIgnore.isIgnoredEntry(d, true)
+                    ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path f, BasicFileAttributes attrs) {
+                Path relative = root.relativize(f);
+                if (attrs.isRegularFile() && (matcher.matches(relative) || top.matches(relative))
+                        && !gitIgnore.isIgnoredEntry(f, false)) {
+                    matches.add(f.toAbsolutePath().normalize());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path f, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (matches.isEmpty()) unmatched.add(entry);
+        matches.sort(null);
+        for (Path match : matches) {
+            if (paths.size() >= maxFiles && !paths.contains(match)) return true;
+            paths.add(match);
+        }
+        return false;
+    }
+
+    private static int firstGlobChar(String entry) {
+        for (int i = 0; i < entry.length(); i++) {
+            if ("*?[{".indexOf(entry.charAt(i)) >= 0) return i;
+        }
+        return -1;
+    }
+
+    /** The enclosing git work tree, so .gitignore files above the glob root apply too. */
+    private static Path repositoryRoot(Path dir) {
+        for (Path d = dir; d != null; d = d.getParent()) {
+            if (Files.exists(d.resolve(".git"))) return d;
+        }
+        return dir;
+    }
+
+    // ── Reading ───────────────────────────────────────────────────────────────
+
+    private static Probe probe(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attrs.isDirectory()) return new Probe(path, 0, null, false, "is a directory — use a glob such as dir/*");
+            byte[] head;
+            try (InputStream in = Files.newInputStream(path)) {
+                head = in.readNBytes((int) Math.min(SNIFF_BYTES, attrs.size()));
+            }
+            for (byte b : head) {
+                if (b == 0) return new Probe(path, attrs.size(), null, true, null);
+            }
+            return new Probe(path, attrs.size(), head, false, null);
+        } catch (IOException e) {
+            return new Probe(path, 0, null, false, describe(e));
+        }
+    }
+
+    /** Runs {@code task} over {@code items} on virtual threads; results in item order. */
+    private <T, R> List<R> inParallel(List<T> items, Function<T, R> task) {
+        if (items.isEmpty()) return List.of();
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                Callable<R> call = () -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(item);
+                    } finally {
+                        permits.release();
+                    }
+                };
+                futures.add(executor.submit(call));
+            }
+        }                                               // close() waits for all of them
+        List<R> results = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            if (future.state() != Future.State.SUCCESS) {
+                throw new IllegalStateException("Batch read interrupted", future.exceptionNow());
+            }
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
+    private static String describe(IOException e) {
+        if (e instanceof NoSuchFileException) return "no such file";
+        if (e instanceof AccessDeniedException) return "access denied";
+        return "error: " + e.getMessage();
+    }
+}
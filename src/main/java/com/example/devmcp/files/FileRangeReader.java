@@ -0,0 +1,234 @@
+package com.example.devmcp.files;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, ranged file reads shared by readFileTool and the project:// resources.
+ *
+ * Nothing here ever loads a whole file. Two addressing modes:
+ *  - bytes: offset + length, served by positional FileChannel reads
+ *  - lines: startLine..endLine (1-based, inclusive), served through a sparse
+ *    line-offset index — one checkpoint every {@value #STRIDE} lines, built once
+ *    per file with a memory-mapped scan and cached until the file changes.
+ *    Finding line N then costs at most STRIDE lines of scanning, whatever the
+ *    file size.
+ *
+ * Every read is capped at maxBytes. A capped read ends with a continuation
+ * cursor telling the caller where to pick up, instead of failing.
+ */
+@Component
+public class FileRangeReader {
+
+    static final int STRIDE = 1024;
+
+    private static final int INDEXED_FILES = 32;
+    private static final int SCAN_BLOCK = 8 * 1024;
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    private final int defaultMaxBytes;
+
+    /** LRU of line indexes, keyed by absolute path. */
+    private final Map<Path, LineIndex> lineIndexes =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, LineIndex> eldest) {
+                return size() > INDEXED_FILES;
+            }
+        };
+
+    public FileRangeReader(@Value("${devmcp.files.max-bytes:256KB}") DataSize maxBytes) {
+        this.defaultMaxBytes = (int) maxBytes.toBytes();
+    }
+
+    public int defaultMaxBytes() {
+        return defaultMaxBytes;
+    }
+
+    /**
+     * Reads {@code length} bytes from {@code offset} (both optional), capped at
+     * {@code maxBytes} (optional — falls back to devmcp.files.max-bytes).
+     */
+    public String readBytes(Path file, Long offset, Integer length, Integer maxBytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long from = Math.clamp(offset != null ? offset : 0, 0, size);
+            long wanted = length != null ? Math.min(length, size - from) : size - from;
+            int cap = cap(maxBytes);
+            int n = (int) Math.min(wanted, cap);
+
+            byte[] bytes = readAt(ch, from, n);
+            int usable = n < wanted ? utf8Boundary(bytes, n) : n;
+            String text = new String(bytes, 0, usable, StandardCharsets.UTF_8);
+            if (usable < wanted) {
+                long next = from + usable;
+                text += "\n... [truncated: showed bytes " + from + "–" + next + " of " + size
+                     + " — continue with offset=" + next + "]";
+            }
+            return text;
+        }
+    }
+
+    /**
+     * Reads lines {@code startLine}..{@code endLine} (1-based, inclusive; endLine
+     * optional = to end of file), capped at {@code maxBytes}.
+     */
+    public String readLines(Path file, long startLine, Long endLine, Integer maxBytes) throws IOException {
+        LineIndex index = lineIndex(file);
+        long first = Math.max(startLine, 1);
+        long last = endLine != null ? Math.min(endLine, index.lineCount()) : index.lineCount();
+        if (first > last) {
+            return "(no lines in range — file has " + index.lineCount() + " lines)";
+        }
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long from = index.lineStart(ch, first);
+            long to = last < index.lineCount() ? index.lineStart(ch, last + 1) : ch.size();
+            int cap = cap(maxBytes);
+            if (to - from <= cap) {
+                return new String(readAt(ch, from, (int) (to - from)), StandardCharsets.UTF_8);
+            }
+
+            // Over budget: keep whole lines only, then point at the next one
+            byte[] bytes = readAt(ch, from, cap);
+            int cut = cap;
+            long linesShown = 0;
+            for (int i = 0; i < cap; i++) {
+                if (bytes[i] == '\n') { cut = i + 1; linesShown++; }
+            }
+            if (linesShown == 0) {
+                // A single line longer than the budget — continue by byte offset instead
+                cut = utf8Boundary(bytes, cap);
+                return new String(bytes, 0, cut, StandardCharsets.UTF_8)
+                    + "\n... [truncated: line " + first + " exceeds " + cap
+                    + " bytes — continue with offset=" + (from + cut) + "]";
+            }
+            long nextLine = first + linesShown;
+            return new String(bytes, 0, cut, StandardCharsets.UTF_8)
+                + "\n... [truncated: showed lines " + first + "–" + (nextLine - 1) + " of "
+                + index.lineCount() + " — continue with startLine=" + nextLine + "]";
+        }
+    }
+
+    private int cap(Integer maxBytes) {
+        return maxBytes != null && maxBytes > 0 ? maxBytes : defaultMaxBytes;
+    }
+
+    // ── Line index ────────────────────────────────────────────────────────────
+
+    LineIndex lineIndex(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        synchronized (lineIndexes) {
+            LineIndex cached = lineIndexes.get(key);
+            if (cached != null && cached.size() == size && cached.modified() == modified) {
+                return cached;
+            }
+        }
+        // Build outside the lock — a slow scan of one file must not block other readers
+        LineIndex built = LineIndex.build(key, size, modified);
+        synchronized (lineIndexes) {
+            lineIndexes.put(key, built);
+        }
+        return built;
+    }
+
+    /**
+     * Sparse line index: checkpoints[k] is the byte offset of line k*STRIDE + 1.
+     * A file with 10M lines needs ~10K longs.
+     */
+    record LineIndex(long size, long modified, long lineCount, long[] checkpoints) {
+
+        static LineIndex build(Path file, long size, long modified) throws IOException {
+            long[] checkpoints = new long[16];
+            int count = 1;                  // checkpoints[0] = 0 (line 1)
+            long lines = 0;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (long base = 0; base < size; base += MAP_WINDOW) {
+                    MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, base,
+                        Math.min(MAP_WINDOW, size - base));
+                    for (int i = 0, n = buf.limit(); i < n; i++) {
+                        if (buf.get(i) == '\n') {
+                            lines++;
+                            if (lines % STRIDE == 0 && base + i + 1 < size) {
+                                if (count == checkpoints.length) {
+                                    checkpoints = Arrays.copyOf(checkpoints, count * 2);
+                                }
+                                checkpoints[count++] = base + i + 1;
+                            }
+                        }
+                    }
+                }
+            }
+            // A last line without a trailing newline still counts
+            if (size > 0 && lastByte(file, size) != '\n') lines++;
+            return new LineIndex(size, modified, lines, Arrays.copyOf(checkpoints, count));
+        }
+
+        private static byte lastByte(Path file, long size) throws IOException {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                return readAt(ch, size - 1, 1)[0];
+            }
+        }
+
+        /** Byte offset where 1-based {@code line} starts. */
+        long lineStart(FileChannel ch, long line) throws IOException {
+            int k = (int) Math.min((line - 1) / STRIDE, checkpoints.length - 1);
+            long pos = checkpoints[k];
+            long toSkip = line - 1 - (long) k * STRIDE;
+            byte[] block = new byte[SCAN_BLOCK];
+            while (toSkip > 0 && pos < size) {
+                int n = ch.read(ByteBuffer.wrap(block), pos);
+                if (n <= 0) break;
+                for (int i = 0; i < n; i++) {
+                    if (block[i] == '\n' && --toSkip == 0) {
+                        return pos + i + 1;
+                    }
+                }
+                pos += n;
+            }
+            return Math.min(pos, size);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static byte[] readAt(FileChannel ch, long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int r = ch.read(buf, pos);
+            if (r < 0) break;
+            pos += r;
+        }
+        return buf.array();
+    }
+
+    /** Shortens {@code len} so it doesn't end in the middle of a UTF-8 sequence. */
+    static int utf8Boundary(byte[] bytes, int len) {
+        int i = len - 1;
+        int back = 0;
+        while (i >= 0 && back < 3 && (bytes[i] & 0xC0) == 0x80) { i--; back++; }
+        if (i < 0) return len;
+        int lead = bytes[i] & 0xFF;
+        int seqLen = lead < 0x80 ? 1 : lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        return i + seqLen <= len ? len : i;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.devmcp.files;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * .gitignore matching for a project tree.
+ *
+ * Supports what real projects use: globs (*, ?, [abc], **), patterns anchored
+ * with a leading or inner "/", directory-only patterns ending in "/", and
+ * "!" negation — the last matching rule wins. Each directory's .gitignore
+ * applies to paths below it; the root also reads .git/info/exclude. The
+ * folders ProjectFileWatcher never watches are always ignored: .git, .idea,
+ * node_modules, ... at any depth, target/ and build/ only as build output (at
+ * the root or next to a pom.xml / build.gradle), never as source packages.
+ *
+ * Rules are read lazily per directory and cached; call {@link #invalidate()}
+ * when a .gitignore changes.
+ */
+public final class GitIgnore {
+
+    private record Rule(Pattern pattern, boolean negate, boolean dirOnly) {
+
+        boolean matches(String relative, boolean directory) {
+            return (!dirOnly || directory) && pattern.matcher(relative).matches();
+        }
+    }
+
+    private final Path root;
+    private final Map<Path, List<Rule>> rulesByDir = new ConcurrentHashMap<>();
+
+    public GitIgnore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public void invalidate() {
+        rulesByDir.clear();
+    }
+
+    /** Full check: {@code path} is ignored if it, or any directory above it, is. */
+    public boolean isIgnored(Path path, boolean directory) {
+        Path abs = path.toAbsolutePath().normalize();
+        if (!abs.startsWith(root) || abs.equals(root)) return false;
+        Path rel = root.relativize(abs);
+        Path current = root;
+        for (int i = 0; i < rel.getNameCount(); i++) {
+            current = current.resolve(rel.getName(i));
+            boolean last = i == rel.getNameCount() - 1;
+            if (isIgnoredEntry(current, !last || directory)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks {@code path} alone, assuming its parent directories are not
+     * ignored — what a tree walker needs, since it prunes ignored directories.
+     */
+    public boolean isIgnoredEntry(Path path, boolean directory) {
+        Path abs = path.toAbsolutePath().normalize();
+        if (directory && ProjectFileWatcher.isSkippedDir(abs, root)) return true;
+
+        // Deeper .gitignore files override shallower ones, so walk from the root down
+        boolean ignored = false;
+        for (Path dir : ancestors(abs)) {
+            String relative = dir.relativize(abs).toString().replace('\\', '/');
+            for (Rule rule : rules(dir)) {
+                if (rule.matches(relative, directory)) ignored = !rule.negate();
+            }
+        }
+        return ignored;
+    }
+
+    private List<Path> ancestors(Path abs) {
+        List<Path> dirs = new ArrayList<>();
+        for (Path dir = abs.getParent(); dir != null && dir.startsWith(root); dir = dir.getParent()) {
+            dirs.addFirst(dir);
+        }
+        return dirs;
+    }
+
+    private List<Rule> rules(Path dir) {
+        return rulesByDir.computeIfAbsent(dir, d -> {
+            List<Rule> rules = new ArrayList<>();
+            if (d.equals(root)) read(d.resolve(".git/info/exclude"), rules);
+            read(d.resolve(".gitignore"), rules);
+            return rules.isEmpty() ? List.of() : List.copyOf(rules);
+        });
+    }
+
+    private static void read(Path file, List<Rule> into) {
+        if (!Files.isRegularFile(file)) return;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                Rule rule = parse(line);
+                if (rule != null) into.add(rule);
+            }
+        } catch (IOException e) {
+            // unreadable ignore file — treat as empty
+        }
+    }
+
+    // ── Pattern translation ───────────────────────────────────────────────────
+
+    static Rule parse(String line) {
+        String p = line.stripTrailing();
+        if (p.isEmpty() || p.startsWith("#")) return null;
+        boolean negate = p.startsWith("!");
+        if (negate) p = p.substring(1);
+        if (p.startsWith("\\")) p = p.substring(1);          // "\#file", "\!file"
+        boolean dirOnly = p.endsWith("/");
+        if (dirOnly) p = p.substring(0, p.length() - 1);
+        if (p.isEmpty()) return null;
+
+        // No slash (other than a trailing one) → matches at any depth
+        boolean anchored = p.contains("/");
+        if (p.startsWith("/")) p = p.substring(1);
+        String regex = (anchored ? "" : "(?:.*/)?") + globToRegex(p);
+        return new Rule(Pattern.compile(regex), negate, dirOnly);
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder sb = new StringBuilder(glob.length() + 16);
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*' && glob.startsWith("**/", i)) {
+                sb.append("(?:.*/)?");
+                i += 3;
+            } else if (c == '*' && glob.startsWith("**", i)) {
+                sb.append(".*");
+                i += 2;
+            } else if (c == '*') {
+                sb.append("[^/]*");
+                i++;
+            } else if (c == '?') {
+                sb.append("[^/]");
+                i++;
+            } else if (c == '[') {
+                int close = glob.indexOf(']', i + 1);
+                if (close < 0) {
+                    sb.append("\\[");
+                    i++;
+                } else {
+                    String cls = glob.substring(i + 1, close);
+                    if (cls.startsWith("!")) cls = "^" + cls.substring(1);
+                    sb.append('[').append(cls.replace("\\", "\\\\")).append(']');
+                    i = close + 1;
+                }
+            } else {
+                if ("\\.^$|+(){}]".indexOf(c) >= 0) sb.append('\\');
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.devmcp.files;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Watches the working directory tree and tells listeners which paths changed.
+ *
+ * java.nio WatchService is per-directory, so every directory is registered on
+ * startup and new directories are registered as they appear. Build output and
+ * VCS folders (target/, build/, .git/, ...) are skipped — they churn on every
+ * build and nothing cached should live there. See {@link #isSkippedDir(Path, Path)}
+ * for where a target/ or build/ counts as build output.
+ *
+ * Listeners receive absolute paths. On an OVERFLOW event (the OS dropped
+ * events) they receive the root itself, meaning "anything may have changed".
+ *
+ * Events arrive asynchronously and watching can fail (network filesystems,
+ * inotify limits), so they are a hint for eager eviction: callers still
+ * validate what they serve, e.g. by file stat.
+ */
+@Component
+public class ProjectFileWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectFileWatcher.class);
+
+    /** VCS, IDE and dependency folders — never sources, skipped at any depth. */
+    static final Set<String> SKIPPED_DIRS = Set.of(".git", "node_modules", ".gradle", ".idea", ".mvn");
+
+    /** Build output folders — skipped only where a build writes them. */
+    static final Set<String> OUTPUT_DIRS = Set.of("target", "build");
+
+    private static final List<String> BUILD_FILES =
+        List.of("pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "settings.gradle.kts");
+
+    private final Path root;
+    private final boolean enabled;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private final List<Consumer<Path>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile WatchService watchService;
+    private volatile boolean active;
+
+    public ProjectFileWatcher(@Value("${devmcp.watch.enabled:true}") boolean enabled) {
+        this.root = Path.of("").toAbsolutePath().normalize();
+        this.enabled = enabled;
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public void addListener(Consumer<Path> listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("File watching disabled — caches validate by file stat");
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerTree(root);
+            active = true;
+            Thread.ofVirtual().name("devmcp-file-watcher").start(this::pollLoop);
+            log.info("Watching {} directories under {}", watchedDirs.size(), root);
+        } catch (IOException | RuntimeException e) {
+            log.warn("File watching unavailable ({}) — caches validate by file stat", e.getMessage());
+            active = false;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        active = false;
+        WatchService ws = watchService;
+        if (ws != null) {
+            try {
+                ws.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+    }
+
+    /**
+     * True for a directory no project tree walk should enter: a {@link #SKIPPED_DIRS}
+     * folder anywhere, or a target/ or build/ at {@code root} or next to a
+     * pom.xml / build.gradle (a module's output). A source package named
+     * build, e.g. src/main/java/com/acme/build, is not skipped.
+     */
+    public static boolean isSkippedDir(Path dir, Path root) {
+        Path name = dir.getFileName();
+        if (name == null || dir.equals(root)) return false;
+        if (SKIPPED_DIRS.contains(name.toString())) return true;
+        if (!OUTPUT_DIRS.contains(name.toString())) return false;
+        Path parent = dir.getParent();
+        if (parent == null || parent.equals(root)) return true;
+        for (String buildFile : BUILD_FILES) {
+            if (Files.isRegularFile(parent.resolve(buildFile))) return true;
+        }
+        return false;
+    }
+
+    private void registerTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (isSkippedDir(dir, root)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+                watchedDirs.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void pollLoop() {
+        try {
+            while (active) {
+                WatchKey key = watchService.take();
+                Path dir = watchedDirs.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                        notifyListeners(root);
+                        continue;
+                    }
+                    Path changed = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                            && Files.isDirectory(changed)
+                            && !isSkippedDir(changed, root)) {
+                        registerQuietly(changed);
+                    }
+                    notifyListeners(changed);
+                }
+                if (!key.reset()) {
+                    // directory deleted
+                    watchedDirs.remove(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stop() was called
+        }
+        active = false;
+    }
+
+    private void registerQuietly(Path dir) {
+        try {
+            registerTree(dir);
+        } catch (IOException e) {
+            log.debug("Could not watch new directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void notifyListeners(Path changed) {
+        for (Consumer<Path> listener : listeners) {
+            try {
+                listener.accept(changed);
+            } catch (RuntimeException e) {
+                log.warn("File change listener failed for {}: {}", changed, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.devmcp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import io.modelcontextprotocol.spec.McpSchema.PromptMessage;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for every MCP primitive and the build pipeline.
+ *
+ * Meters (all tagged, all under {@code devmcp.}):
+ *   devmcp.mcp.requests        Timer    kind=tool|resource|prompt|completion, name, outcome=success|error
+ *   devmcp.mcp.response.size   Summary  kind, name — characters returned to the client
+ *   devmcp.build.phase         Timer    phase=queue|spawn|run|sampling
+ *   devmcp.io.bytes            Summary  source=file-read|build-output
+ *   devmcp.notifications       Counter  type=progress|logging|output, outcome=sent|failed
+ *                                       (output: streamed build output, ASYNC mode)
+ *
+ * They land in the application's MeterRegistry (actuator: /actuator/metrics)
+ * and are rendered by the project://metrics resource.
+ *
+ * Handlers wrap their body in {@link #record}; a handler that reports an error
+ * as a message instead of throwing calls {@link #failed()} so the call counts
+ * as an error. With {@code devmcp.metrics.enabled=false} every method returns
+ * after one field check — no clock reads, no meter lookups.
+ */
+@Component
+public class McpMetrics {
+
+    public enum Kind { TOOL, RESOURCE, PROMPT, COMPLETION }
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;                           // null = disabled
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // Set by failed() inside a record() body; read and cleared when the body returns
+    private final ThreadLocal<boolean[]> callFailed = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    @Autowired
+    public McpMetrics(ObjectProvider<MeterRegistry> registry,
+                      @Value("${devmcp.metrics.enabled:true}") boolean enabled) {
+        this(enabled ? registry.getIfAvailable() : null);
+    }
+
+    /** For tests and benchmarks; a null registry disables recording. */
+    public McpMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public boolean enabled() {
+        return registry != null;
+    }
+
+    // ── MCP calls ─────────────────────────────────────────────────────────────
+
+    /** Runs one tool/resource/prompt/completion handler and records its latency, outcome and result size. */
+    public <T> T record(Kind kind, String name, Supplier<T> handler) {
+        if (registry == null) return handler.get();
+
+        boolean[] failed = callFailed.get();
+        boolean enclosing = failed[0];              // rerunFailedTests → build: each call has its own flag
+        failed[0] = false;
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = handler.get();
+            if (!failed[0]) outcome = "success";
+            summary("devmcp.mcp.response.size", "chars", "kind", tag(kind), "name", name).record(size(result));
+            return result;
+        } finally {
+            timer("devmcp.mcp.requests", "kind", tag(kind), "name", name, "outcome", outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failed[0] = enclosing;
+        }
+    }
+
+    /** Marks the current {@link #record} call as failed — for handlers that return an error message. */
+    public void failed() {
+        if (registry != null) callFailed.get()[0] = true;
+    }
+
+    private static String tag(Kind kind) {
+        return kind.name().toLowerCase();
+    }
+
+    private static long size(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case CharSequence text -> text.length();
+            case GetPromptResult prompt -> prompt.messages().stream()
+                .map(PromptMessage::content)
+                .mapToLong(c -> c instanceof TextContent t ? t.text().length() : 0)
+                .sum();
+            case List<?> values -> values.stream().mapToLong(v -> String.valueOf(v).length()).sum();
+            default -> 0;
+        };
+    }
+
+    // ── Build pipeline ────────────────────────────────────────────────────────
+
+    /** Clock for {@link #phase}; 0 when disabled so callers don't pay for nanoTime. */
+    public long start() {
+        return registry == null ? 0 : System.nanoTime();
+    }
+
+    public void phase(String phase, long startNanos) {
+        if (registry == null) return;
+        timer("devmcp.build.phase", "phase", phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void phase(String phase, Duration duration) {
+        if (registry == null) return;
+        timer("devmcp.build.phase", "phase", phase).record(duration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void bytes(String source, long bytes) {
+        if (registry == null) return;
+        summary("devmcp.io.bytes", "bytes", "source", source).record(bytes);
+    }
+
+    public void notification(String type, boolean sent) {
+        if (registry == null) return;
+        counter("devmcp.notifications", "type", type, "outcome", sent ? "sent" : "failed").increment();
+    }
+
+    // ── Meter cache ───────────────────────────────────────────────────────────
+
+    // Builders allocate and the registry lookup hashes all tags — keep the meters
+
+    private Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(key(name, tags), k -> Timer.builder(name).tags(tags)
+            .publishPercentiles(PERCENTILES).register(registry));
+    }
+
+    private DistributionSummary summary(String name, String unit, String... tags) {
+        return summaries.computeIfAbsent(key(name, tags), k -> DistributionSummary.builder(name).baseUnit(unit)
+            .tags(tags).register(registry));
+    }
+
+    private Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(key(name, tags), k -> Counter.builder(name).tags(tags).register(registry));
+    }
+
+    private static String key(String name, String... tags) {
+        return name + '|' + String.join("|", tags);
+    }
+
+    // ── project://metrics ─────────────────────────────────────────────────────
+
+    /** Text view of all devmcp meters, slowest first within each group. */
+    public String describe() {
+        if (registry == null) return "Metrics are disabled (devmcp.metrics.enabled=false).";
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("MCP calls (count, errors, mean / p50 / p95 / p99 / max ms, mean size), slowest first:\n");
+        Map<String, Timer[]> calls = new TreeMap<>();          // call → {success, error}
+        for (Timer t : meters(Timer.class, "devmcp.mcp.requests")) {
+            calls.computeIfAbsent(call(t), k -> new Timer[2])["success".equals(t.getId().getTag("outcome")) ? 0 : 1] = t;
+        }
+        Map<String, DistributionSummary> sizes = new HashMap<>();
+        for (DistributionSummary s : meters(DistributionSummary.class, "devmcp.mcp.response.size")) {
+            sizes.put(call(s), s);
+        }
+        calls.entrySet().stream()
+            .sorted(Comparator.comparingDouble((Map.Entry<String, Timer[]> e) -> primary(e.getValue())
+                .mean(TimeUnit.MILLISECONDS)).reversed())
+            .forEach(e -> {
+                Timer[] t = e.getValue();
+                long errors = t[1] != null ? t[1].count() : 0;
+                long count = (t[0] != null ? t[0].count() : 0) + errors;
+                DistributionSummary size = sizes.get(e.getKey());
+                sb.append(String.format("  %-40s %6d %5d  %s  %8.0f chars%n", e.getKey(), count, errors,
+                    latency(primary(t)), size != null ? size.mean() : 0));
+            });
+
+        sb.append("\nBuild phases (count, mean / p50 / p95 / p99 / max ms):\n");
+        for (Timer t : meters(Timer.class, "devmcp.build.phase")) {
+            sb.append(String.format("  %-40s %6d  %s%n", t.getId().getTag("phase"), t.count(), latency(t)));
+        }
+
+        sb.append("\nBytes (count, total, mean):\n");
+        for (DistributionSummary s : meters(DistributionSummary.class, "devmcp.io.bytes")) {
+            sb.append(String.format("  %-40s %6d %14.0f %12.0f%n", s.getId().getTag("source"), s.count(),
+                s.totalAmount(), s.mean()));
+        }
+
+        sb.append("\nNotifications:\n");
+        for (Counter c : meters(Counter.class, "devmcp.notifications")) {
+            sb.append(String.format("  %-40s %6.0f%n",
+                c.getId().getTag("type") + " " + c.getId().getTag("outcome"), c.count()));
+        }
+        return sb.toString();
+    }
+
+    private static String call(Meter m) {
+        return m.getId().getTag("kind") + " " + m.getId().getTag("name");
+    }
+
+    /** Latency shown for a call: its successful invocations, or its failures if it never succeeded. */
+    private static Timer primary(Timer[] outcomes) {
+        return outcomes[0] != null ? outcomes[0] : outcomes[1];
+    }
+
+    private static String latency(Timer t) {
+        StringBuilder sb = new StringBuilder(String.format("%8.1f", t.mean(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : t.takeSnapshot().percentileValues()) {
+            sb.append(String.format(" %8.1f", p.value(TimeUnit.MILLISECONDS)));
+        }
+        return sb.append(String.format(" %8.1f", t.max(TimeUnit.MILLISECONDS))).toString();
+    }
+
+    private <M extends Meter> List<M> meters(Class<M> type, String name) {
+        return registry.getMeters().stream()
+            .filter(m -> m.getId().getName().equals(name) && type.isInstance(m))
+            .map(type::cast)
+            .toList();
+    }
+}
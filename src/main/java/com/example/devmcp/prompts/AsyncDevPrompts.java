@@ -0,0 +1,66 @@
+package com.example.devmcp.prompts;
+
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import org.springaicommunity.mcp.annotation.McpArg;
+import org.springaicommunity.mcp.annotation.McpComplete;
+import org.springaicommunity.mcp.annotation.McpPrompt;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * MCP Prompts — ASYNC variants of DevPrompts (spring.ai.mcp.server.type=ASYNC).
+ *
+ * Prompt construction and completion lookups are pure CPU work on in-memory
+ * data, so they complete on the calling thread — no scheduler hop.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class AsyncDevPrompts {
+
+    private final DevPrompts prompts;
+
+    public AsyncDevPrompts(DevPrompts prompts) {
+        this.prompts = prompts;
+    }
+
+    @McpPrompt(
+        name = "explain-build-error",
+        description = "Generates a prompt asking the LLM to explain a Maven/Gradle build error " +
+                      "and suggest a concrete fix. Pass the full error text as the 'error' argument."
+    )
+    public Mono<GetPromptResult> explainBuildError(
+            @McpArg(name = "error", description = "Full build error text (stdout/stderr)", required = true)
+            String error) {
+        return Mono.fromSupplier(() -> prompts.explainBuildError(error));
+    }
+
+    @McpPrompt(
+        name = "code-review",
+        description = "Generates a code review prompt for Java source code. " +
+                      "Checks for correctness, Spring best practices, readability, and thread safety."
+    )
+    public Mono<GetPromptResult> codeReview(
+            @McpArg(name = "code", description = "Java source code to review", required = true)
+            String code) {
+        return Mono.fromSupplier(() -> prompts.codeReview(code));
+    }
+
+    @McpPrompt(
+        name = "commit-message",
+        description = "Generates a conventional commit message from a git diff. " +
+                      "Uses feat/fix/refactor/test/docs/chore types with optional scope."
+    )
+    public Mono<GetPromptResult> commitMessage(
+            @McpArg(name = "diff", description = "Output of `git diff` or `git diff --staged`", required = true)
+            String diff) {
+        return Mono.fromSupplier(() -> prompts.commitMessage(diff));
+    }
+
+    @McpComplete(prompt = "explain-build-error")
+    public Mono<List<String>> completeErrorExamples(String prefix) {
+        return Mono.fromSupplier(() -> prompts.completeErrorExamples(prefix));
+    }
+}
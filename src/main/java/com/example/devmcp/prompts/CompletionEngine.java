@@ -0,0 +1,144 @@
+package com.example.devmcp.prompts;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Argument completions for every prompt, backed by one Vocabulary per
+ * prompt argument.
+ *
+ * Vocabularies start from seed terms and grow from what builds actually
+ * print: runBuildTool feeds each failure's condensed log through
+ * {@link #learnFromBuildOutput}, which extracts error signatures (exception
+ * class names, javac messages, failed Maven goals). Frequently and recently
+ * seen signatures then rank first.
+ *
+ * A lookup allocates nothing: the query is folded into, and the matches
+ * ranked into, a caller-owned {@link Buffer}. Only the MCP-facing
+ * {@link #complete(String, String, String, int)} copies the result into a list.
+ */
+@Component
+public class CompletionEngine {
+
+    /** MCP caps completion results at 100 values. */
+    public static final int MAX_VALUES = 100;
+
+    static final String BUILD_ERROR_PROMPT = "explain-build-error";
+    static final String BUILD_ERROR_ARG = "error";
+
+    private static final List<String> SEED_ERRORS = List.of(
+        "ClassNotFoundException",
+        "NoSuchBeanDefinitionException",
+        "BeanCreationException",
+        "UnsatisfiedDependencyException",
+        "NullPointerException",
+        "COMPILATION ERROR",
+        "BUILD FAILURE",
+        "package does not exist",
+        "cannot find symbol",
+        "Failed to execute goal"
+    );
+
+    private static final Pattern EXCEPTION =
+        Pattern.compile("\\b(?:[a-z_$][\\w$]*\\.)*([A-Z][\\w$]*(?:Exception|Error))\\b");
+    private static final Pattern JAVAC_ERROR = Pattern.compile("(?:error:|\\[ERROR].*\\.java:\\[[\\d,]+])\\s*(.+)");
+    private static final Pattern FAILED_GOAL = Pattern.compile("Failed to execute goal ([\\w.-]+:[\\w.-]+)(?::[\\w.-]+)?:([\\w-]+)");
+    private static final int MAX_SIGNATURE_LENGTH = 100;
+
+    private final int maxEntries;
+    private final long halfLifeMillis;
+    // prompt → argument → vocabulary; nested so a lookup builds no key
+    private final Map<String, Map<String, Vocabulary>> vocabularies = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    /** Scratch space for one lookup at a time: the folded query, matches and their ranking. */
+    public static final class Buffer {
+        private final StringBuilder query = new StringBuilder();
+        private final String[] matches = new String[MAX_VALUES];
+        private final int[] ids = new int[MAX_VALUES];
+        private final double[] scores = new double[MAX_VALUES];
+
+        /** The i-th match of the last {@link #complete(String, String, CharSequence, int, Buffer)}. */
+        public String match(int i) {
+            return matches[i];
+        }
+    }
+
+    public CompletionEngine(@Value("${devmcp.completion.max-entries:50000}") int maxEntries,
+                            @Value("${devmcp.completion.half-life:1d}") Duration halfLife) {
+        this.maxEntries = maxEntries;
+        this.halfLifeMillis = Math.max(1, halfLife.toMillis());
+        seed(BUILD_ERROR_PROMPT, BUILD_ERROR_ARG, SEED_ERRORS);
+    }
+
+    private Vocabulary vocabulary(String prompt, String argument) {
+        return vocabularies.computeIfAbsent(prompt, p -> new ConcurrentHashMap<>())
+            .computeIfAbsent(argument, a -> new Vocabulary(maxEntries, halfLifeMillis));
+    }
+
+    public void seed(String prompt, String argument, List<String> terms) {
+        vocabulary(prompt, argument).seed(terms);
+    }
+
+    public void learn(String prompt, String argument, Set<String> terms) {
+        if (!terms.isEmpty()) vocabulary(prompt, argument).learn(terms, System.currentTimeMillis());
+    }
+
+    /** Best matches for what the user has typed so far, at most {@code limit} (≤ 100), as an immutable list. */
+    public List<String> complete(String prompt, String argument, String typed, int limit) {
+        Buffer buffer = buffers.get();
+        int found = complete(prompt, argument, typed, limit, buffer);
+        return found == 0 ? List.of() : List.of(Arrays.copyOf(buffer.matches, found));
+    }
+
+    /**
+     * Writes the best matches, at most {@code limit} (≤ 100), into {@code into}
+     * and returns how many; read them with {@link Buffer#match}. Allocates nothing.
+     */
+    public int complete(String prompt, String argument, CharSequence typed, int limit, Buffer into) {
+        Map<String, Vocabulary> arguments = vocabularies.get(prompt);
+        Vocabulary vocabulary = arguments != null ? arguments.get(argument) : null;
+        if (vocabulary == null) return 0;
+        Vocabulary.fold(typed != null ? typed : "", into.query);
+        return vocabulary.lookup(into.query, Math.clamp(limit, 1, MAX_VALUES),
+            into.matches, into.ids, into.scores, System.currentTimeMillis());
+    }
+
+    // ── Learning from build output ────────────────────────────────────────────
+
+    /** Adds the error signatures in a (condensed) failed build log to the build-error vocabulary. */
+    public void learnFromBuildOutput(String output) {
+        learn(BUILD_ERROR_PROMPT, BUILD_ERROR_ARG, errorSignatures(output));
+    }
+
+    static Set<String> errorSignatures(String output) {
+        Set<String> signatures = new LinkedHashSet<>();
+        for (String line : output.split("\n")) {
+            Matcher m = EXCEPTION.matcher(line);
+            while (m.find()) signatures.add(m.group(1));
+
+            m = FAILED_GOAL.matcher(line);
+            if (m.find()) {
+                signatures.add("Failed to execute goal " + m.group(1) + ":" + m.group(2));
+                continue;
+            }
+            m = JAVAC_ERROR.matcher(line);
+            if (m.find()) {
+                String message = m.group(1).strip();
+                if (!message.isEmpty() && message.length() <= MAX_SIGNATURE_LENGTH) signatures.add(message);
+            }
+        }
+        return signatures;
+    }
+}
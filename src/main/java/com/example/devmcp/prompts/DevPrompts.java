@@ -1,12 +1,12 @@
 package com.example.devmcp.prompts;
 
+import com.example.devmcp.build.BuildLogCondenser;
+import com.example.devmcp.metrics.McpMetrics;
 import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
-import io.modelcontextprotocol.spec.McpSchema.PromptMessage;
-import io.modelcontextprotocol.spec.McpSchema.Role;
-import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import org.springaicommunity.mcp.annotation.McpArg;
 import org.springaicommunity.mcp.annotation.McpComplete;
 import org.springaicommunity.mcp.annotation.McpPrompt;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -23,10 +23,30 @@ import java.util.List;
  *
  * Also includes @McpComplete for the "completions" capability — auto-suggests
  * argument values when the client user starts typing into a prompt argument field.
+ *
+ * Arguments can be huge (a 50k-line diff, a whole build log). PromptAssembler
+ * keeps each prompt within devmcp.prompts.max-chars and splits long content
+ * into several messages of at most devmcp.prompts.message-chars; diffs go
+ * through DiffCondenser, oversized build output through BuildLogCondenser.
  */
 @Component
 public class DevPrompts {
 
+    private final CompletionEngine completionEngine;
+    private final McpMetrics metrics;
+    private final int maxChars;
+    private final int messageChars;
+
+    public DevPrompts(CompletionEngine completionEngine,
+                      McpMetrics metrics,
+                      @Value("${devmcp.prompts.max-chars:100000}") int maxChars,
+                      @Value("${devmcp.prompts.message-chars:16000}") int messageChars) {
+        this.completionEngine = completionEngine;
+        this.metrics = metrics;
+        this.maxChars = maxChars;
+        this.messageChars = messageChars;
+    }
+
     // ── Prompt 1: Explain Build Error ─────────────────────────────────────────
 
     @McpPrompt(
@@ -38,13 +58,31 @@ public class DevPrompts {
             @McpArg(name = "error", description = "Full build error text (stdout/stderr)", required = true)
             String error) {
 
-        return promptResult("Explain build error",
-            "You are a Java and Maven/Gradle build expert. " +
-            "A build just failed with the following output. " +
-            "Explain the root cause clearly and provide a concrete fix " +
-            "(code change or config update).\n\n" +
-            "Build error:\n" + error
-        );
+        return metrics.record(McpMetrics.Kind.PROMPT, "explain-build-error", () -> {
+            PromptAssembler prompt = assembler(
+                "You are a Java and Maven/Gradle build expert. " +
+                "A build just failed with the following output. " +
+                "Explain the root cause clearly and provide a concrete fix " +
+                "(code change or config update).");
+            PromptAssembler.Block block = prompt.block("Build error", null);
+            if (error.length() <= maxChars) {
+                block.text(error, false);
+            } else {
+                // Too long to send whole: the failure-shaped parts, else the tail
+                String condensed = BuildLogCondenser.condense(error, maxChars);
+                if (condensed != null) {
+                    block.text(condensed, false);
+                    block.note("(condensed from " + PromptAssembler.countLines(error, 0) + " lines / "
+                               + error.length() + " chars of build output)");
+                } else {
+                    int from = PromptAssembler.lineEnd(error, error.length() - maxChars) + 1;
+                    if (from >= error.length()) from = error.length() - maxChars + 1;   // one giant line
+                    block.text(error.substring(from), false);
+                    block.note("(last " + (error.length() - from) + " of " + error.length() + " chars)");
+                }
+            }
+            return prompt.build("Explain build error");
+        });
     }
 
     // ── Prompt 2: Code Review ─────────────────────────────────────────────────
@@ -58,15 +96,18 @@ public class DevPrompts {
             @McpArg(name = "code", description = "Java source code to review", required = true)
             String code) {
 
-        return promptResult("Java code review",
-            "Review the following Java code. Check for:\n" +
-            "- Correctness and potential bugs\n" +
-            "- Spring Boot best practices\n" +
-            "- Readability and naming conventions\n" +
-            "- Missing null checks or error handling\n" +
-            "- Thread safety issues\n\n" +
-            "Code:\n```java\n" + code + "\n```"
-        );
+        return metrics.record(McpMetrics.Kind.PROMPT, "code-review", () -> {
+            PromptAssembler prompt = assembler(
+                "Review the following Java code. Check for:\n" +
+                "- Correctness and potential bugs\n" +
+                "- Spring Boot best practices\n" +
+                "- Readability and naming conventions\n" +
+                "- Missing null checks or error handling\n" +
+                "- Thread safety issues");
+            // Over budget, import blocks are the first thing worth trading for code
+            prompt.block("Code", "java").text(code, code.length() > maxChars);
+            return prompt.build("Java code review");
+        });
     }
 
     // ── Prompt 3: Commit Message ──────────────────────────────────────────────
@@ -80,14 +121,16 @@ public class DevPrompts {
             @McpArg(name = "diff", description = "Output of `git diff` or `git diff --staged`", required = true)
             String diff) {
 
-        return promptResult("Generate commit message",
-            "Write a conventional commit message for this git diff.\n\n" +
-            "Format: <type>(<scope>): <short description under 72 chars>\n" +
-            "Types: feat | fix | refactor | test | docs | chore\n" +
-            "Scope: optional, e.g. tools, resources, prompts, config\n\n" +
-            "Add a blank line and a brief body if the change is non-obvious.\n\n" +
-            "Diff:\n```diff\n" + diff + "\n```"
-        );
+        return metrics.record(McpMetrics.Kind.PROMPT, "commit-message", () -> {
+            PromptAssembler prompt = assembler(
+                "Write a conventional commit message for this git diff.\n\n" +
+                "Format: <type>(<scope>): <short description under 72 chars>\n" +
+                "Types: feat | fix | refactor | test | docs | chore\n" +
+                "Scope: optional, e.g. tools, resources, prompts, config\n\n" +
+                "Add a blank line and a brief body if the change is non-obvious.");
+            DiffCondenser.condense(diff, prompt.block("Diff", "diff"));
+            return prompt.build("Generate commit message");
+        });
     }
 
     // ── Completions: Auto-suggest error examples ──────────────────────────────
@@ -97,31 +140,18 @@ public class DevPrompts {
      *
      * When a client user types into the "error" argument of the explain-build-error
      * prompt, the client can call completions/complete to get suggestions.
-     * This method filters the known-error list by the typed prefix.
+     * CompletionEngine ranks prefix, word-start, infix and fuzzy matches from a
+     * vocabulary that grows with the error signatures seen in runBuildTool output.
      */
     @McpComplete(prompt = "explain-build-error")
     public List<String> completeErrorExamples(String prefix) {
-        List<String> knownErrors = List.of(
-            "ClassNotFoundException",
-            "NoSuchBeanDefinitionException",
-            "BeanCreationException",
-            "UnsatisfiedDependencyException",
-            "NullPointerException",
-            "COMPILATION ERROR",
-            "BUILD FAILURE",
-            "package does not exist",
-            "cannot find symbol",
-            "Failed to execute goal"
-        );
-        return knownErrors.stream()
-            .filter(e -> e.toLowerCase().startsWith(prefix.toLowerCase()))
-            .toList();
+        return metrics.record(McpMetrics.Kind.COMPLETION, "explain-build-error", () ->
+            completionEngine.complete("explain-build-error", "error", prefix, CompletionEngine.MAX_VALUES));
     }
 
     // ── Helper ────────────────────────────────────────────────────────────────
 
-    private GetPromptResult promptResult(String description, String userMessage) {
-        return new GetPromptResult(description,
-            List.of(new PromptMessage(Role.USER, new TextContent(userMessage))));
+    private PromptAssembler assembler(String instructions) {
+        return new PromptAssembler(instructions, maxChars, messageChars);
     }
 }
@@ -0,0 +1,386 @@
+package com.example.devmcp.prompts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a unified diff into a prompt block, keeping the hunks that matter.
+ *
+ * One pass over the diff, hunk by hunk:
+ *  - generated files and lockfiles (by name, by build-output directory, or by
+ *    an "@generated" / "DO NOT EDIT" marker at the top) are skipped whole
+ *  - whitespace-only hunks are dropped — the removed and added lines are
+ *    compared with whitespace stripped (up to {@value #MAX_STRIPPED_CHARS}
+ *    chars a side; a larger hunk is kept)
+ *  - import-only hunks are reduced to one line when the diff is over budget
+ *  - hunks that no longer fit the budget are counted per file
+ *
+ * Everything left out is listed in notes after the block (file names capped at
+ * {@value #MAX_LISTED_FILES}). At most one hunk is buffered, and never more
+ * than the remaining budget, so memory stays proportional to the budget.
+ *
+ * Accepts `git diff` / `git show` output and plain `diff -u`; hunk ends are
+ * found from the line counts in the "@@" header, so removed lines starting
+ * with "--" are not mistaken for file headers.
+ */
+final class DiffCondenser {
+
+    static final int MAX_LISTED_FILES = 20;
+    private static final int MAX_HEADER_LINES = 8;
+    private static final int GENERATED_MARKER_LINES = 5;
+    static final int MAX_STRIPPED_CHARS = 64 * 1024;
+
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -\\d+(?:,(\\d+))? \\+\\d+(?:,(\\d+))? @@");
+
+    private static final Set<String> LOCKFILES = Set.of(
+        "package-lock.json", "npm-shrinkwrap.json", "yarn.lock", "pnpm-lock.yaml", "bun.lockb",
+        "Cargo.lock", "Gemfile.lock", "composer.lock", "poetry.lock", "Pipfile.lock", "uv.lock",
+        "go.sum", "gradle.lockfile", "flake.lock", "mix.lock", "pubspec.lock", "Podfile.lock");
+
+    /** Never hand-written, wherever they appear. */
+    private static final String[] GENERATED_DIRS = {
+        "node_modules/", ".gradle/", "generated-sources/", "generated-test-sources/"
+    };
+
+    /** Output only at a module root: also common package and resource directory names. */
+    private static final Set<String> OUTPUT_DIRS = Set.of("target", "build", "dist", "out", "generated");
+
+    private static final String[] GENERATED_SUFFIXES = {
+        ".min.js", ".min.css", ".map", ".pb.go", "_pb2.py", ".g.dart", ".designer.cs", ".snap"
+    };
+
+    private static final String[] GENERATED_MARKERS = { "@generated", "DO NOT EDIT", "Code generated by" };
+
+    private final PromptAssembler.Block out;
+    private final boolean overBudget;
+
+    // Current file
+    private final List<String> header = new ArrayList<>();
+    private String path;
+    private String skipReason;
+    private boolean headerWritten;
+    private int fileHunks;
+    private int skippedAdded;
+    private int skippedRemoved;
+    private int omittedHunks;
+    private int omittedAdded;
+    private int omittedRemoved;
+
+    // Current hunk
+    private String hunkHeader;
+    private final StringBuilder hunk = new StringBuilder();
+    private int hunkLimit;
+    private boolean hunkOverflow;
+    private boolean counted;
+    private int oldLeft;
+    private int newLeft;
+    private int hunkLines;
+    private int added;
+    private int removed;
+    private final StringBuilder removedText = new StringBuilder();   // whitespace stripped
+    private final StringBuilder addedText = new StringBuilder();
+    private boolean strippedOverflow;
+    private boolean importsOnly;
+
+    // Whole diff
+    private final List<String> skippedFiles = new ArrayList<>();
+    private int skippedFileCount;
+    private final List<String> trimmedFiles = new ArrayList<>();
+    private int trimmedFileCount;
+    private int trimmedHunks;
+    private int whitespaceHunks;
+
+    private DiffCondenser(PromptAssembler.Block out, boolean overBudget) {
+        this.out = out;
+        this.overBudget = overBudget;
+    }
+
+    /** Appends the condensed {@code diff} to {@code out}, with notes on what was left out. */
+    static void condense(String diff, PromptAssembler.Block out) {
+        DiffCondenser pass = new DiffCondenser(out, diff.length() > out.remaining());
+        for (int start = 0; start < diff.length(); ) {
+            int end = PromptAssembler.lineEnd(diff, start);
+            int stop = end > start && diff.charAt(end - 1) == '\r' ? end - 1 : end;
+            pass.accept(diff.substring(start, stop));
+            start = end + 1;
+        }
+        pass.finish();
+    }
+
+    // ── Line dispatch ─────────────────────────────────────────────────────────
+
+    private void accept(String line) {
+        if (inHunk(line)) {
+            hunkLine(line);
+            return;
+        }
+        if (hunkHeader != null) endHunk();
+
+        if (line.startsWith("diff ")) {
+            startFile();
+            header(line);
+            int b = line.lastIndexOf(" b/");
+            if (b >= 0) classify(line.substring(b + 3));
+        } else if (line.startsWith("--- ")) {
+            if (header.isEmpty() || fileHunks > 0 || !lastHeaderIsPreamble()) startFile();
+            header(line);
+            if (path == null) classify(pathOf(line));
+        } else if (line.startsWith("+++ ")) {
+            header(line);
+            classify(pathOf(line));
+        } else if (line.startsWith("@@")) {
+            startHunk(line);
+        } else if (!header.isEmpty() && fileHunks == 0) {
+            header(line);                               // index, mode, rename, "Binary files … differ"
+        } else {
+            out.line(line);                             // commit message from `git show`, etc.
+        }
+    }
+
+    private boolean lastHeaderIsPreamble() {
+        String last = header.get(header.size() - 1);
+        return last.startsWith("diff ") || last.startsWith("index ") || last.contains(" mode ")
+            || last.startsWith("similarity ") || last.startsWith("rename ") || last.startsWith("copy ");
+    }
+
+    private boolean inHunk(String line) {
+        if (hunkHeader == null) return false;
+        if (counted) return oldLeft > 0 || newLeft > 0 || line.startsWith("\\");
+        return !line.isEmpty() && " +-\\".indexOf(line.charAt(0)) >= 0
+            && !line.startsWith("--- ") && !line.startsWith("+++ ");
+    }
+
+    // ── Files ─────────────────────────────────────────────────────────────────
+
+    private void startFile() {
+        endFile();
+        header.clear();
+        path = null;
+        skipReason = null;
+        headerWritten = false;
+        fileHunks = 0;
+        skippedAdded = skippedRemoved = 0;
+        omittedHunks = omittedAdded = omittedRemoved = 0;
+    }
+
+    private void header(String line) {
+        if (header.size() < MAX_HEADER_LINES) header.add(line);
+    }
+
+    private void classify(String file) {
+        if (file.equals("/dev/null")) return;
+        path = file;
+        if (skipReason == null) skipReason = generatedReason(file);
+    }
+
+    private void endFile() {
+        if (path == null && header.isEmpty()) return;
+        String name = path != null ? path : header.get(0);
+        if (skipReason != null) {
+            if (skippedFiles.size() < MAX_LISTED_FILES) {
+                skippedFiles.add(name + " (" + skipReason + ", +" + skippedAdded + "/-" + skippedRemoved + ")");
+            }
+            skippedFileCount++;
+        } else if (omittedHunks > 0) {
+            String summary = (headerWritten ? "… " + PromptAssembler.plural(omittedHunks, "more hunk")
+                                            : name + ": " + PromptAssembler.plural(omittedHunks, "hunk"))
+                + " omitted (+" + omittedAdded + "/-" + omittedRemoved + ")";
+            if (!out.line(summary)) {
+                if (trimmedFiles.size() < MAX_LISTED_FILES) trimmedFiles.add(name);
+                trimmedFileCount++;
+            }
+            trimmedHunks += omittedHunks;
+        } else if (!headerWritten && fileHunks == 0) {
+            writeHeader();                              // binary, rename or mode-only change
+        }
+        path = null;
+        header.clear();
+    }
+
+    private boolean writeHeader() {
+        if (headerWritten) return true;
+        if (!out.fits(headerChars())) return false;
+        for (String line : header) out.line(line);
+        headerWritten = true;
+        return true;
+    }
+
+    private int headerChars() {
+        if (headerWritten) return 0;
+        int chars = 0;
+        for (String line : header) chars += line.length() + 1;
+        return chars;
+    }
+
+    // ── Hunks ─────────────────────────────────────────────────────────────────
+
+    private void startHunk(String line) {
+        hunkHeader = line;
+        Matcher m = HUNK_HEADER.matcher(line);
+        counted = m.find();
+        if (counted) {
+            oldLeft = m.group(1) == null ? 1 : Integer.parseInt(m.group(1));
+            newLeft = m.group(2) == null ? 1 : Integer.parseInt(m.group(2));
+        }
+        hunk.setLength(0);
+        hunkLimit = out.remaining();
+        hunkOverflow = skipReason != null;
+        hunkLines = added = removed = 0;
+        removedText.setLength(0);
+        addedText.setLength(0);
+        strippedOverflow = false;
+        importsOnly = true;
+    }
+
+    private void hunkLine(String line) {
+        char kind = line.isEmpty() ? ' ' : line.charAt(0);
+        switch (kind) {
+            case '-' -> {
+                oldLeft--;
+                removed++;
+                appendStripped(removedText, line);
+                if (importsOnly) importsOnly = isImportOrBlank(line);
+            }
+            case '+' -> {
+                newLeft--;
+                added++;
+                appendStripped(addedText, line);
+                if (importsOnly) importsOnly = isImportOrBlank(line);
+            }
+            case '\\' -> { }                            // "\ No newline at end of file"
+            default -> {
+                oldLeft--;
+                newLeft--;
+            }
+        }
+        if (fileHunks == 0 && hunkLines++ < GENERATED_MARKER_LINES && skipReason == null && isGeneratedMarker(line)) {
+            skipReason = "generated";
+            hunkOverflow = true;
+            hunk.setLength(0);
+        }
+        if (hunkOverflow) return;
+        if (hunk.length() + line.length() + 1 > hunkLimit) {
+            hunkOverflow = true;
+            hunk.setLength(0);
+        } else {
+            hunk.append(line).append('\n');
+        }
+    }
+
+    private void endHunk() {
+        String headerLine = hunkHeader;
+        hunkHeader = null;
+        if (skipReason != null) {
+            skippedAdded += added;
+            skippedRemoved += removed;
+            return;
+        }
+        fileHunks++;
+        boolean changed = added + removed > 0;
+        if (changed && !strippedOverflow && removedText.compareTo(addedText) == 0) {
+            whitespaceHunks++;
+            return;
+        }
+        if (changed && importsOnly && overBudget) {
+            String summary = headerLine + " imports only (+" + added + "/-" + removed + ")";
+            if (out.fits(headerChars() + summary.length() + 1) && writeHeader() && out.line(summary)) {
+                hunk.setLength(0);
+                return;
+            }
+        } else if (!hunkOverflow && out.fits(headerChars() + headerLine.length() + 1 + hunk.length())) {
+            writeHeader();
+            out.line(headerLine);
+            out.lines(hunk.toString());
+            hunk.setLength(0);
+            return;
+        }
+        omittedHunks++;
+        omittedAdded += added;
+        omittedRemoved += removed;
+        hunk.setLength(0);
+    }
+
+    private void finish() {
+        if (hunkHeader != null) endHunk();
+        endFile();
+        if (skippedFileCount > 0) {
+            out.note("Skipped " + PromptAssembler.plural(skippedFileCount, "generated or lock file")
+                     + ": " + String.join(", ", skippedFiles) + more(skippedFileCount, skippedFiles.size()) + ".");
+        }
+        if (whitespaceHunks > 0) {
+            out.note("Dropped " + PromptAssembler.plural(whitespaceHunks, "whitespace-only hunk") + ".");
+        }
+        if (trimmedHunks > 0) {
+            out.note("Omitted " + PromptAssembler.plural(trimmedHunks, "hunk") + " over the prompt budget"
+                     + (trimmedFileCount == 0 ? "" : ", in " + String.join(", ", trimmedFiles)
+                        + more(trimmedFileCount, trimmedFiles.size())) + ".");
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /**
+     * Why {@code path} is not worth reviewing, or null. Output directories count
+     * only at a module root — the top of the path or any directory outside a
+     * src/ tree — so a package or resource folder named build or generated is
+     * reviewed; a generated file in there is caught by its marker instead.
+     */
+    static String generatedReason(String path) {
+        String file = path.substring(path.lastIndexOf('/') + 1);
+        if (LOCKFILES.contains(file)) return "lockfile";
+        String lower = path.toLowerCase(Locale.ROOT);
+        for (String dir : GENERATED_DIRS) {
+            if (lower.startsWith(dir) || lower.contains("/" + dir)) return "generated";
+        }
+        String[] dirs = lower.split("/");
+        for (int i = 0; i < dirs.length - 1 && !dirs[i].equals("src"); i++) {
+            if (OUTPUT_DIRS.contains(dirs[i])) return "generated";
+        }
+        for (String suffix : GENERATED_SUFFIXES) {
+            if (lower.endsWith(suffix)) return "generated";
+        }
+        return null;
+    }
+
+    private static String pathOf(String fileHeader) {
+        String path = fileHeader.substring(4);
+        int tab = path.indexOf('\t');
+        if (tab >= 0) path = path.substring(0, tab);
+        if (path.startsWith("a/") || path.startsWith("b/")) path = path.substring(2);
+        return path.strip();
+    }
+
+    private static boolean isGeneratedMarker(String line) {
+        for (String marker : GENERATED_MARKERS) {
+            if (line.contains(marker)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isImportOrBlank(String line) {
+        String body = line.substring(1);
+        return body.isBlank() || PromptAssembler.isImport(body);
+    }
+
+    /** Appends the line's non-whitespace chars, or gives up on the comparison once a side is too large. */
+    private void appendStripped(StringBuilder side, String line) {
+        if (strippedOverflow) return;
+        for (int i = 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) side.append(c);
+        }
+        if (side.length() > MAX_STRIPPED_CHARS) {
+            strippedOverflow = true;
+            removedText.setLength(0);
+            addedText.setLength(0);
+        }
+    }
+
+    private static String more(int total, int listed) {
+        return total > listed ? " and " + (total - listed) + " more" : "";
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.devmcp.prompts;
+
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import io.modelcontextprotocol.spec.McpSchema.PromptMessage;
+import io.modelcontextprotocol.spec.McpSchema.Role;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Assembles a prompt from arguments of any size within a character budget.
+ *
+ * The instructions always come first. Each content block (a diff, source code,
+ * a build log) is appended line by line and stops growing at the budget; what
+ * did not fit is summarized in a note after the block, so the model knows what
+ * it is not seeing instead of the client cutting the text off mid-line.
+ *
+ * A prompt that fits in one message keeps the familiar single-message layout.
+ * Longer content is split at line boundaries into several USER messages —
+ * "Diff (part 2 of 5)" — each in its own code fence: smaller messages
+ * serialize faster and survive clients that cap a single content block.
+ *
+ * Memory is proportional to the budget, not to the input: arguments are
+ * scanned line by line and only the kept lines are copied.
+ */
+final class PromptAssembler {
+
+    private final String instructions;
+    private final int budget;
+    private final int messageChars;
+    private final List<Block> blocks = new ArrayList<>();
+    private int used;
+
+    PromptAssembler(String instructions, int budget, int messageChars) {
+        this.instructions = instructions;
+        this.budget = budget;
+        this.messageChars = Math.max(1, messageChars);
+    }
+
+    /** Starts a content block rendered as "{label}:" and, with a {@code fence}, a code fence. */
+    Block block(String label, String fence) {
+        Block block = new Block(label, fence);
+        blocks.add(block);
+        return block;
+    }
+
+    /** Characters of content that can still be added. */
+    int remaining() {
+        return Math.max(0, budget - used);
+    }
+
+    GetPromptResult build(String description) {
+        int total = instructions.length();
+        int parts = 0;
+        for (Block block : blocks) {
+            total += block.length();
+            parts += Math.max(1, block.parts.size());
+        }
+        if (total <= messageChars || parts == blocks.size()) {
+            StringBuilder message = new StringBuilder(total + 64).append(instructions);
+            for (Block block : blocks) {
+                message.append("\n\n");
+                block.render(message, block.label, block.parts.isEmpty() ? "" : block.parts.get(0));
+                block.renderNotes(message);
+            }
+            return new GetPromptResult(description, List.of(userMessage(message.toString())));
+        }
+
+        List<PromptMessage> messages = new ArrayList<>(parts + 1);
+        StringBuilder first = new StringBuilder(instructions);
+        for (Block block : blocks) {
+            first.append("\n\n").append(block.label).append(" follows in ")
+                 .append(Math.max(1, block.parts.size())).append(" messages.");
+        }
+        messages.add(userMessage(first.toString()));
+        for (Block block : blocks) {
+            int count = Math.max(1, block.parts.size());
+            for (int i = 0; i < count; i++) {
+                StringBuilder message = new StringBuilder(messageChars + 64);
+                block.render(message, block.label + " (part " + (i + 1) + " of " + count + ")",
+                    block.parts.isEmpty() ? "" : block.parts.get(i));
+                if (i == count - 1) block.renderNotes(message);
+                messages.add(userMessage(message.toString()));
+            }
+        }
+        return new GetPromptResult(description, messages);
+    }
+
+    private static PromptMessage userMessage(String text) {
+        return new PromptMessage(Role.USER, new TextContent(text));
+    }
+
+    // ── Content block ─────────────────────────────────────────────────────────
+
+    final class Block {
+
+        private final String label;
+        private final String fence;
+        private final List<StringBuilder> parts = new ArrayList<>();
+        private final List<String> notes = new ArrayList<>();
+        private StringBuilder current;
+
+        private Block(String label, String fence) {
+            this.label = label;
+            this.fence = fence;
+        }
+
+        int remaining() {
+            return PromptAssembler.this.remaining();
+        }
+
+        boolean fits(int chars) {
+            return chars <= remaining();
+        }
+
+        /** Appends one line if it fits in the budget; returns false (and appends nothing) otherwise. */
+        boolean line(CharSequence line) {
+            int cost = line.length() + 1;
+            if (cost > remaining()) return false;
+            if (current == null || (!current.isEmpty() && current.length() + cost > messageChars)) {
+                current = new StringBuilder(Math.min(messageChars, remaining()) + 1);
+                parts.add(current);
+            }
+            current.append(line).append('\n');
+            used += cost;
+            return true;
+        }
+
+        /** Appends newline-separated lines, all or none. */
+        boolean lines(String text) {
+            if (text.length() > remaining()) return false;
+            for (int start = 0; start < text.length(); ) {
+                int end = lineEnd(text, start);
+                line(text.substring(start, end));
+                start = end + 1;
+            }
+            return true;
+        }
+
+        /**
+         * Appends {@code text} line by line up to the budget and notes how much
+         * was left out. With {@code collapseImports}, each run of import lines is
+         * replaced by a one-line count — they cost budget and rarely matter.
+         */
+        void text(String text, boolean collapseImports) {
+            int start = 0;
+            int imports = 0;
+            int importsStart = 0;
+            while (start < text.length()) {
+                int end = lineEnd(text, start);
+                String line = text.substring(start, end);
+                if (collapseImports && isImport(line)) {
+                    if (imports++ == 0) importsStart = start;
+                } else {
+                    if (imports > 0 && !line(importsOmitted(imports))) {
+                        start = importsStart;
+                        break;
+                    }
+                    imports = 0;
+                    if (!line(line)) break;
+                }
+                start = end + 1;
+            }
+            if (imports > 0 && start >= text.length() && !line(importsOmitted(imports))) start = importsStart;
+            if (start < text.length()) {
+                note("… " + countLines(text, start) + " more lines (" + (text.length() - start)
+                     + " chars) not included: over the prompt budget of " + budget + " chars.");
+            }
+        }
+
+        /** Adds a short note rendered after the block; notes always fit. */
+        void note(String note) {
+            notes.add(note);
+            used += note.length() + 1;
+        }
+
+        private int length() {
+            int length = label.length() + 16;
+            for (StringBuilder part : parts) length += part.length();
+            for (String note : notes) length += note.length() + 1;
+            return length;
+        }
+
+        private void render(StringBuilder out, String title, CharSequence content) {
+            out.append(title).append(":\n");
+            int end = content.length();
+            if (end > 0 && content.charAt(end - 1) == '\n') end--;
+            if (fence != null) out.append("```").append(fence).append('\n');
+            out.append(content, 0, end);
+            if (fence != null) out.append("\n```");
+        }
+
+        private void renderNotes(StringBuilder out) {
+            if (notes.isEmpty()) return;
+            out.append('\n');
+            for (String note : notes) out.append('\n').append(note);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Index of the '\n' ending the line that starts at {@code start}, or the text length. */
+    static int lineEnd(String text, int start) {
+        int end = text.indexOf('\n', start);
+        return end < 0 ? text.length() : end;
+    }
+
+    static int countLines(String text, int start) {
+        int lines = 0;
+        for (int i = start; i < text.length(); i = lineEnd(text, i) + 1) lines++;
+        return lines;
+    }
+
+    static boolean isImport(String line) {
+        String body = line.strip();
+        return body.startsWith("import ")
+            || body.startsWith("from ") && body.contains(" import ")
+            || body.startsWith("#include ") || body.startsWith("using ") && body.endsWith(";");
+    }
+
+    static String plural(int count, String noun) {
+        return count + " " + noun + (count == 1 ? "" : "s");
+    }
+
+    private static String importsOmitted(int imports) {
+        return "// " + plural(imports, "import line") + " omitted";
+    }
+}
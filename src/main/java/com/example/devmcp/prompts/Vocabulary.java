@@ -0,0 +1,349 @@
+package com.example.devmcp.prompts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The completion terms of one prompt argument, as a sorted-array index.
+ *
+ * Terms live in a snapshot of parallel arrays sorted by their folded
+ * (lower-cased) form, with the folded keys packed into one String. Infix
+ * matches come from a trigram index over those keys, stored as flat sorted
+ * arrays: the query's rarest trigram names the only terms worth checking.
+ * Lookups read the current snapshot without locking and allocate nothing:
+ * matches are ranked straight into caller-provided buffers and resolved to
+ * terms against that same snapshot. {@link #learn}
+ * builds and publishes a new snapshot only when unseen terms arrive; repeat
+ * sightings just bump counters in place.
+ *
+ * Match tiers, best first:
+ *   prefix       "NoSuch"  → NoSuchBeanDefinitionException (binary-searched range)
+ *   word start   "Bean"    → NoSuchBeanDefinitionException (camel hump / after a separator)
+ *   infix        "uchBe"   → NoSuchBeanDefinitionException
+ *   fuzzy        "nsbde"   → NoSuchBeanDefinitionException (in-order subsequence; only
+ *                             terms sharing the first letter are scanned)
+ * Within a tier, terms seen more often and more recently rank first.
+ * Queries under three characters get prefix matches only.
+ */
+final class Vocabulary {
+
+    private static final double TIER = 1000;
+    private static final double RECENCY = 20;
+    private static final char SEPARATOR = '\0';
+
+    private static final class Snapshot {
+        final String[] terms;
+        final String keys;          // folded terms, each followed by SEPARATOR
+        final int[] starts;         // key i spans starts[i] .. starts[i + 1] - 1
+        final int[] counts;         // sightings in build output (0 for seed terms)
+        final long[] lastSeen;      // epoch millis of the latest sighting
+        final double[] weights;     // frequency part of the score, kept in step with counts
+
+        // Trigram → term ids: gramIds[gramStarts[g] .. gramStarts[g + 1]) hold the
+        // ids of terms containing trigram gramKeys[g]. Keys are hashed, so a
+        // posting list may hold a few extra terms; candidates are verified anyway.
+        final int[] gramKeys;
+        final int[] gramStarts;
+        final int[] gramIds;
+
+        Snapshot(String[] terms, int[] counts, long[] lastSeen) {
+            this.terms = terms;
+            this.counts = counts;
+            this.lastSeen = lastSeen;
+            this.weights = new double[terms.length];
+            this.starts = new int[terms.length + 1];
+            StringBuilder packed = new StringBuilder();
+            for (int i = 0; i < terms.length; i++) {
+                starts[i] = packed.length();
+                packed.append(fold(terms[i])).append(SEPARATOR);
+                weights[i] = weight(counts[i]);
+            }
+            starts[terms.length] = packed.length();
+            this.keys = packed.toString();
+
+            // (trigram << 32 | id) pairs, sorted and de-duplicated, then split into flat arrays;
+            // a term of length L has L - 2 trigrams, terms under 3 chars none
+            int trigrams = 0;
+            for (String term : terms) trigrams += Math.max(0, term.length() - 2);
+            long[] pairs = new long[trigrams];
+            int n = 0;
+            for (int id = 0; id < terms.length; id++) {
+                for (int at = starts[id], last = starts[id + 1] - 4; at <= last; at++) {
+                    pairs[n++] = ((long) gram(keys, at) << 32) | id;
+                }
+            }
+            Arrays.sort(pairs, 0, n);
+            int unique = 0;
+            int grams = 0;
+            for (int i = 0; i < n; i++) {
+                if (unique > 0 && pairs[i] == pairs[unique - 1]) continue;
+                if (unique == 0 || (int) (pairs[i] >>> 32) != (int) (pairs[unique - 1] >>> 32)) grams++;
+                pairs[unique++] = pairs[i];
+            }
+            gramKeys = new int[grams];
+            gramStarts = new int[grams + 1];
+            gramIds = new int[unique];
+            int g = -1;
+            for (int i = 0; i < unique; i++) {
+                int key = (int) (pairs[i] >>> 32);
+                if (g < 0 || gramKeys[g] != key) {
+                    gramKeys[++g] = key;
+                    gramStarts[g] = i;
+                }
+                gramIds[i] = (int) pairs[i];
+            }
+            gramStarts[grams] = unique;
+        }
+
+        int size() {
+            return terms.length;
+        }
+
+        int start(int id) {
+            return starts[id];
+        }
+
+        int end(int id) {
+            return starts[id + 1] - 1;
+        }
+    }
+
+    private static int gram(CharSequence s, int at) {
+        return (s.charAt(at) * 31 + s.charAt(at + 1)) * 31 + s.charAt(at + 2);
+    }
+
+    private static double weight(int count) {
+        return Math.log1p(count) * 10;
+    }
+
+    private final int maxEntries;
+    private final long halfLifeMillis;
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0], new long[0]);
+
+    Vocabulary(int maxEntries, long halfLifeMillis) {
+        this.maxEntries = maxEntries;
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    int size() {
+        return snapshot.size();
+    }
+
+    /** Char-by-char lower case, so a folded key is exactly as long as its term. */
+    static String fold(String term) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i < chars.length; i++) chars[i] = Character.toLowerCase(chars[i]);
+        return new String(chars);
+    }
+
+    /** {@link #fold(String)} into a reused buffer, for queries. */
+    static void fold(CharSequence term, StringBuilder into) {
+        into.setLength(0);
+        for (int i = 0; i < term.length(); i++) into.append(Character.toLowerCase(term.charAt(i)));
+    }
+
+    // ── Lookup ────────────────────────────────────────────────────────────────
+
+    /**
+     * Writes the best {@code limit} matches for {@code folded} (a {@link #fold}ed
+     * query) into {@code matches}, best first, and returns how many were written.
+     * {@code ids} and {@code scores} are scratch space of at least that length.
+     * Ids are resolved against the snapshot they were ranked in, so a
+     * concurrent {@link #learn} cannot mix up terms.
+     */
+    int lookup(CharSequence folded, int limit, String[] matches, int[] ids, double[] scores, long now) {
+        Snapshot s = snapshot;
+        int found = rank(s, folded, limit, ids, scores, now);
+        for (int i = 0; i < found; i++) matches[i] = s.terms[ids[i]];
+        return found;
+    }
+
+    private int rank(Snapshot s, CharSequence folded, int limit, int[] ids, double[] scores, long now) {
+        int n = folded.length();
+        int found = 0;
+
+        // Prefix: one contiguous range of the sorted keys
+        int lo = lowerBound(s, folded, n);
+        int hi = lo;
+        while (hi < s.size() && startsWith(s.keys, s.start(hi), folded)) hi++;
+        for (int id = lo; id < hi; id++) {
+            found = offer(ids, scores, found, limit, id, 3 * TIER + usage(s, id, now));
+        }
+        if (found >= limit || n == 0) return found;
+
+        if (n < 3) return found;
+
+        // Word start / infix: verify the terms holding the query's rarest trigram
+        int rarest = -1;
+        for (int at = 0; at + 3 <= n; at++) {
+            int g = Arrays.binarySearch(s.gramKeys, gram(folded, at));
+            if (g < 0) { rarest = -1; break; }          // some trigram occurs nowhere
+            if (rarest < 0 || postingSize(s, g) < postingSize(s, rarest)) rarest = g;
+        }
+        if (rarest >= 0) {
+            for (int i = s.gramStarts[rarest]; i < s.gramStarts[rarest + 1]; i++) {
+                int id = s.gramIds[i];
+                if (id >= lo && id < hi) continue;
+                int tier = infixTier(s, id, folded);
+                if (tier < 0) continue;
+                double bound = tier * TIER + s.weights[id] + RECENCY;
+                if (found == limit && bound <= scores[limit - 1]) continue;
+                found = offer(ids, scores, found, limit, id, tier * TIER + usage(s, id, now));
+            }
+        }
+        // Fuzzy: only terms sharing the first letter, which are contiguous
+        char first = folded.charAt(0);
+        for (int id = lowerBound(s, folded, 1); id < s.size() && s.keys.charAt(s.start(id)) == first; id++) {
+            if (id >= lo && id < hi) continue;
+            if (isSubsequence(s, id, folded) && infixTier(s, id, folded) < 0) {
+                found = offer(ids, scores, found, limit, id, usage(s, id, now));
+            }
+        }
+        return found;
+    }
+
+    /** Frequency and recency, in [0, TIER). */
+    private double usage(Snapshot s, int id, long now) {
+        long seen = s.lastSeen[id];
+        double recency = seen == 0 ? 0 : Math.pow(0.5, (double) (now - seen) / halfLifeMillis);
+        // shorter terms break ties: a bare exception name before a long message
+        return s.weights[id] + recency * RECENCY - (s.end(id) - s.start(id)) * 0.001;
+    }
+
+    private static int postingSize(Snapshot s, int g) {
+        return s.gramStarts[g + 1] - s.gramStarts[g];
+    }
+
+    /** 2 if the query occurs at a word start in the term, 1 if only mid-word, -1 if not at all. */
+    private static int infixTier(Snapshot s, int id, CharSequence folded) {
+        int tier = -1;
+        for (int at = s.start(id), last = s.end(id) - folded.length(); at <= last; at++) {
+            if (!startsWith(s.keys, at, folded)) continue;
+            if (isWordStart(s.terms[id], at - s.start(id))) return 2;
+            tier = 1;
+        }
+        return tier;
+    }
+
+    /** {@code keys.startsWith(query, at)} for any CharSequence query. */
+    private static boolean startsWith(String keys, int at, CharSequence query) {
+        int n = query.length();
+        if (at + n > keys.length()) return false;
+        for (int j = 0; j < n; j++) {
+            if (keys.charAt(at + j) != query.charAt(j)) return false;
+        }
+        return true;
+    }
+
+    /** Inserts {@code id} into the descending top-k held in {@code ids}/{@code scores}. */
+    private static int offer(int[] ids, double[] scores, int found, int limit, int id, double score) {
+        if (found == limit && score <= scores[found - 1]) return found;
+        int i = found == limit ? found - 1 : found;
+        while (i > 0 && scores[i - 1] < score) {
+            ids[i] = ids[i - 1];
+            scores[i] = scores[i - 1];
+            i--;
+        }
+        ids[i] = id;
+        scores[i] = score;
+        return found == limit ? found : found + 1;
+    }
+
+    private static boolean isWordStart(String term, int i) {
+        if (i == 0) return true;
+        char prev = term.charAt(i - 1);
+        char c = term.charAt(i);
+        return !Character.isLetterOrDigit(prev) || (Character.isUpperCase(c) && Character.isLowerCase(prev));
+    }
+
+    private static boolean isSubsequence(Snapshot s, int id, CharSequence folded) {
+        int q = 0;
+        for (int at = s.start(id), end = s.end(id); at < end && q < folded.length(); at++) {
+            if (s.keys.charAt(at) == folded.charAt(q)) q++;
+        }
+        return q == folded.length();
+    }
+
+    /** First id whose key is >= the first {@code n} chars of {@code folded}. */
+    private static int lowerBound(Snapshot s, CharSequence folded, int n) {
+        int lo = 0, hi = s.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(s, mid, folded, n) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int compareKey(Snapshot s, int id, CharSequence folded, int n) {
+        int from = s.start(id);
+        int len = s.end(id) - from;
+        int common = Math.min(len, n);
+        for (int j = 0; j < common; j++) {
+            int d = s.keys.charAt(from + j) - folded.charAt(j);
+            if (d != 0) return d;
+        }
+        return len - n;
+    }
+
+    // ── Learning ──────────────────────────────────────────────────────────────
+
+    /** Adds seed terms without counting them as sightings. */
+    synchronized void seed(Collection<String> terms) {
+        merge(terms, false, 0);
+    }
+
+    /** Records a sighting of each term, adding the ones not seen before. */
+    synchronized void learn(Collection<String> terms, long now) {
+        merge(terms, true, now);
+    }
+
+    private void merge(Collection<String> terms, boolean sighting, long now) {
+        Snapshot s = snapshot;
+        // Distinct casings of one key ("build failure" / "BUILD FAILURE") keep the first seen
+        Map<String, String> fresh = new LinkedHashMap<>();
+        for (String term : terms) {
+            if (term.isBlank() || term.indexOf(SEPARATOR) >= 0) continue;
+            String key = fold(term);
+            int id = lowerBound(s, key, key.length());
+            if (id < s.size() && compareKey(s, id, key, key.length()) == 0) {
+                if (sighting) {
+                    s.counts[id]++;
+                    s.weights[id] = weight(s.counts[id]);
+                    s.lastSeen[id] = now;
+                }
+            } else {
+                fresh.putIfAbsent(key, term);
+            }
+        }
+        if (fresh.isEmpty()) return;
+
+        record Row(String term, String key, int count, long lastSeen) {}
+        List<Row> rows = new ArrayList<>(s.size() + fresh.size());
+        for (int i = 0; i < s.size(); i++) {
+            rows.add(new Row(s.terms[i], s.keys.substring(s.start(i), s.end(i)), s.counts[i], s.lastSeen[i]));
+        }
+        fresh.forEach((key, term) -> rows.add(new Row(term, key, sighting ? 1 : 0, sighting ? now : 0)));
+        List<Row> kept = rows;
+        if (rows.size() > maxEntries) {
+            // Evict the least used — rarely seen and long ago — down to the cap
+            rows.sort(Comparator.comparingInt(Row::count).thenComparingLong(Row::lastSeen).reversed());
+            kept = new ArrayList<>(rows.subList(0, maxEntries));
+        }
+        kept.sort(Comparator.comparing(Row::key));
+
+        String[] newTerms = new String[kept.size()];
+        int[] counts = new int[kept.size()];
+        long[] lastSeen = new long[kept.size()];
+        for (int i = 0; i < kept.size(); i++) {
+            newTerms[i] = kept.get(i).term();
+            counts[i] = kept.get(i).count();
+            lastSeen[i] = kept.get(i).lastSeen();
+        }
+        snapshot = new Snapshot(newTerms, counts, lastSeen);
+    }
+}
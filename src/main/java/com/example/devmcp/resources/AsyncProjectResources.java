@@ -0,0 +1,217 @@
+package com.example.devmcp.resources;
+
+import com.example.devmcp.async.VirtualThreadScheduler;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.springaicommunity.mcp.annotation.McpResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * MCP Resources — ASYNC variants of ProjectResources (spring.ai.mcp.server.type=ASYNC).
+ *
+ * Same URIs, names and descriptions, returning Mono<String>. Reads that touch
+ * the disk — project files, build logs (which spill to disk), the build
+ * history — run on a virtual thread; the statistics resources are computed
+ * from in-memory counters and complete on the calling thread.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class AsyncProjectResources {
+
+    private final ProjectResources resources;
+    private final VirtualThreadScheduler threads;
+
+    public AsyncProjectResources(ProjectResources resources, VirtualThreadScheduler threads) {
+        this.resources = resources;
+        this.threads = threads;
+    }
+
+    @McpResource(
+        uri = "project://pom.xml",
+        name = "Maven POM",
+        description = "The project's pom.xml — shows dependencies, plugins, Spring AI version, and build config. " +
+                      "Useful for understanding the project's tech stack."
+    )
+    public Mono<String> getPomXml() {
+        return threads.call(() -> resources.getPomXml());
+    }
+
+    @McpResource(
+        uri = "project://readme",
+        name = "README",
+        description = "The project README.md — explains what this MCP server does, " +
+                      "which MCP primitives it implements, and how to connect clients."
+    )
+    public Mono<String> getReadme() {
+        return threads.call(() -> resources.getReadme());
+    }
+
+    @McpResource(
+        uri = "project://build-log",
+        name = "Build Log",
+        description = "Output of the most recent runBuildTool invocation in this session. " +
+                      "Includes stdout/stderr and, on failure, an AI-generated error analysis " +
+                      "from MCP sampling. Large logs show only the tail — use the page/tail " +
+                      "templates for the rest. Run runBuildTool first to populate this resource."
+    )
+    public Mono<String> getBuildLog(McpAsyncServerExchange exchange) {
+        return threads.call(() -> resources.getBuildLog(new McpSyncServerExchange(exchange)));
+    }
+
+    @McpResource(
+        uri = "project://build-log/errors",
+        name = "Build Errors",
+        description = "Condensed view of this session's most recent build: [ERROR] blocks, compiler " +
+                      "diagnostics with context, failing test stack traces (framework frames collapsed) and " +
+                      "the reactor summary, within a fixed character budget. Read this before the full log."
+    )
+    public Mono<String> getBuildErrors(McpAsyncServerExchange exchange) {
+        return threads.call(() -> resources.getBuildErrors(new McpSyncServerExchange(exchange)));
+    }
+
+    @McpResource(
+        uri = "project://build-log/page/{offset}/{limit}",
+        name = "Build Log Page",
+        description = "A byte range of this session's most recent build output. " +
+                      "Example: project://build-log/page/0/65536 for the first 64 KB. " +
+                      "Limit is capped at the configured page size."
+    )
+    public Mono<String> getBuildLogPage(McpAsyncServerExchange exchange, String offset, String limit) {
+        return threads.call(() -> resources.getBuildLogPage(new McpSyncServerExchange(exchange), offset, limit));
+    }
+
+    @McpResource(
+        uri = "project://build-log/tail/{lines}",
+        name = "Build Log Tail",
+        description = "The last N lines of this session's most recent build output, " +
+                      "e.g. project://build-log/tail/200. Cheap to read while a build is still running."
+    )
+    public Mono<String> getBuildLogTail(McpAsyncServerExchange exchange, String lines) {
+        return threads.call(() -> resources.getBuildLogTail(new McpSyncServerExchange(exchange), lines));
+    }
+
+    @McpResource(
+        uri = "project://file/{name}",
+        name = "Project File",
+        description = "Reads any file from the current working directory by relative name. " +
+                      "Example: 'src/main/resources/application.properties' or 'README.md'. " +
+                      "Large files are truncated; use readFileTool with offset or startLine for the rest."
+    )
+    public Mono<String> getProjectFile(String name) {
+        return threads.call(() -> resources.getProjectFile(name));
+    }
+
+    @McpResource(
+        uri = "project://builds",
+        name = "Build History",
+        description = "The 50 most recent builds from the persistent history: id, start time, state, " +
+                      "exit code, duration, log size, goals and project. " +
+                      "Use searchBuildHistory to filter, project://builds/{id} to read one."
+    )
+    public Mono<String> getBuilds() {
+        return threads.call(() -> resources.getBuilds());
+    }
+
+    @McpResource(
+        uri = "project://builds/{id}",
+        name = "Historical Build Log",
+        description = "The log of one recorded build by id (see project://builds). " +
+                      "Shows the last page; earlier output via project://builds/{id}/page/{offset}/{limit}."
+    )
+    public Mono<String> getHistoricalBuildLog(String id) {
+        return threads.call(() -> resources.getHistoricalBuildLog(id));
+    }
+
+    @McpResource(
+        uri = "project://builds/{id}/page/{offset}/{limit}",
+        name = "Historical Build Log Page",
+        description = "A byte range of one recorded build's log, e.g. project://builds/12/page/0/65536."
+    )
+    public Mono<String> getHistoricalBuildLogPage(String id, String offset, String limit) {
+        return threads.call(() -> resources.getHistoricalBuildLogPage(id, offset, limit));
+    }
+
+    @McpResource(
+        uri = "project://build-sessions",
+        name = "Build Sessions",
+        description = "Per-client build state: connected sessions with their idle time, retained build " +
+                      "logs and heap use, the per-session memory quota, and eviction counts."
+    )
+    public Mono<String> getBuildSessions() {
+        return Mono.fromSupplier(() -> resources.getBuildSessions());
+    }
+
+    @McpResource(
+        uri = "project://build-cache",
+        name = "Build Cache Statistics",
+        description = "Build avoidance counters: builds skipped because their inputs matched an " +
+                      "earlier successful build, misses, forced runs and total build time saved."
+    )
+    public Mono<String> getBuildCacheStats() {
+        return Mono.fromSupplier(() -> resources.getBuildCacheStats());
+    }
+
+    @McpResource(
+        uri = "project://test-results",
+        name = "Test Results",
+        description = "Structured results of the last test runs, parsed from Surefire/Failsafe/Gradle XML " +
+                      "reports: pass/fail/skip counts, each failure with its message and top stack frames, " +
+                      "and the slowest tests. Much smaller than the raw build output."
+    )
+    public Mono<String> getTestResults() {
+        return Mono.fromSupplier(() -> resources.getTestResults());
+    }
+
+    @McpResource(
+        uri = "project://build-workers",
+        name = "Warm Build Workers",
+        description = "Warm execution mode: which projects build on a long-lived Gradle/Maven daemon, " +
+                      "builds since each daemon started, recycle counts, and mean warm vs cold build time."
+    )
+    public Mono<String> getBuildWorkers() {
+        return Mono.fromSupplier(() -> resources.getBuildWorkers());
+    }
+
+    @McpResource(
+        uri = "project://search-index",
+        name = "Code Search Index",
+        description = "Size of the code search index behind searchCodeTool: indexed files, " +
+                      "distinct trigrams, posting entries and estimated heap footprint."
+    )
+    public Mono<String> getSearchIndexStats() {
+        return Mono.fromSupplier(() -> resources.getSearchIndexStats());
+    }
+
+    @McpResource(
+        uri = "project://cache-stats",
+        name = "Resource Cache Stats",
+        description = "Hit/miss/eviction/invalidation counters of the file content cache " +
+                      "behind project://pom.xml, project://readme and project://file/{name}."
+    )
+    public Mono<String> getCacheStats() {
+        return Mono.fromSupplier(() -> resources.getCacheStats());
+    }
+
+    @McpResource(
+        uri = "project://analysis-cache",
+        name = "Failure Analysis Cache Stats",
+        description = "Size, hit/miss counts and TTL of the cache that reuses AI analyses " +
+                      "for repeated build failures (keyed by normalized error fingerprint)."
+    )
+    public Mono<String> getAnalysisCacheStats() {
+        return Mono.fromSupplier(() -> resources.getAnalysisCacheStats());
+    }
+
+    @McpResource(
+        uri = "project://metrics",
+        name = "Server Metrics",
+        description = "Call counts, error counts, latency percentiles and response sizes for every MCP " +
+                      "tool, resource, prompt and completion, plus build phase timings, bytes read and " +
+                      "notifications sent. The same meters are exposed at /actuator/metrics."
+    )
+    public Mono<String> getMetrics() {
+        return Mono.fromSupplier(() -> resources.getMetrics());
+    }
+}
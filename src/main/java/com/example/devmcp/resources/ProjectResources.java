@@ -1,13 +1,27 @@
 package com.example.devmcp.resources;
 
+import com.example.devmcp.BuildLog;
 import com.example.devmcp.BuildLogHolder;
+import com.example.devmcp.build.BuildHistory;
+import com.example.devmcp.build.BuildInputHasher;
+import com.example.devmcp.build.BuildLogCondenser;
+import com.example.devmcp.build.FailureAnalysisCache;
+import com.example.devmcp.build.TestResults;
+import com.example.devmcp.build.WarmBuildPool;
+import com.example.devmcp.files.FileRangeReader;
+import com.example.devmcp.metrics.McpMetrics;
+import com.example.devmcp.search.CodeIndex;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.mcp.annotation.McpResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * MCP Resources — Primitive 2.
@@ -16,10 +30,16 @@ import java.nio.file.Path;
  * The client sees a URI — the server resolves it to content.
  *
  * Two URI patterns demonstrated:
- *   Static  — project://pom.xml, project://readme, project://build-log
+ *   Static  — project://pom.xml, project://readme, project://build-log,
+ *              project://build-log/errors, project://cache-stats,
+ *              project://analysis-cache
  *              No path variables; method takes no URI-mapped params
- *   Template — project://file/{name}
- *              {name} maps to the String parameter automatically
+ *   Template — project://file/{name}, project://build-log/tail/{lines},
+ *              project://build-log/page/{offset}/{limit}
+ *              Each {var} maps to a String parameter automatically
+ *
+ * The build-log resources also take the McpSyncServerExchange (auto-injected,
+ * not part of the URI) to serve the calling session's own latest build.
  *
  * Return type can be plain String (auto-wrapped) or ReadResourceResult for
  * full control over MIME type and multiple content chunks.
@@ -30,9 +50,42 @@ public class ProjectResources {
     private static final Logger log = LoggerFactory.getLogger(ProjectResources.class);
 
     private final BuildLogHolder buildLogHolder;
+    private final FileRangeReader fileRangeReader;
+    private final ResourceContentCache contentCache;
+    private final BuildLogCondenser buildLogCondenser;
+    private final FailureAnalysisCache failureAnalysisCache;
+    private final BuildHistory buildHistory;
+    private final BuildInputHasher buildInputHasher;
+    private final WarmBuildPool warmBuildPool;
+    private final TestResults testResults;
+    private final CodeIndex codeIndex;
+    private final McpMetrics metrics;
+    private final int pageSize;
 
-    public ProjectResources(BuildLogHolder buildLogHolder) {
+    public ProjectResources(BuildLogHolder buildLogHolder,
+                            FileRangeReader fileRangeReader,
+                            ResourceContentCache contentCache,
+                            BuildLogCondenser buildLogCondenser,
+                            FailureAnalysisCache failureAnalysisCache,
+                            BuildHistory buildHistory,
+                            BuildInputHasher buildInputHasher,
+                            WarmBuildPool warmBuildPool,
+                            TestResults testResults,
+                            CodeIndex codeIndex,
+                            McpMetrics metrics,
+                            @Value("${devmcp.build-log.page-size:64KB}") DataSize pageSize) {
         this.buildLogHolder = buildLogHolder;
+        this.fileRangeReader = fileRangeReader;
+        this.contentCache = contentCache;
+        this.buildLogCondenser = buildLogCondenser;
+        this.failureAnalysisCache = failureAnalysisCache;
+        this.buildHistory = buildHistory;
+        this.buildInputHasher = buildInputHasher;
+        this.warmBuildPool = warmBuildPool;
+        this.testResults = testResults;
+        this.codeIndex = codeIndex;
+        this.metrics = metrics;
+        this.pageSize = (int) pageSize.toBytes();
     }
 
     @McpResource(
@@ -42,7 +95,8 @@ public class ProjectResources {
                       "Useful for understanding the project's tech stack."
     )
     public String getPomXml() {
-        return readFileOrPlaceholder("pom.xml", "<!-- pom.xml not found in working directory -->");
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://pom.xml", () ->
+            readFileOrPlaceholder("pom.xml", "<!-- pom.xml not found in working directory -->"));
     }
 
     @McpResource(
@@ -52,35 +106,250 @@ public class ProjectResources {
                       "which MCP primitives it implements, and how to connect clients."
     )
     public String getReadme() {
-        return readFileOrPlaceholder("README.md",
-            "# Dev MCP Server\n\nREADME.md not found in working directory.");
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://readme", () ->
+            readFileOrPlaceholder("README.md",
+                "# Dev MCP Server\n\nREADME.md not found in working directory."));
     }
 
     @McpResource(
         uri = "project://build-log",
         name = "Build Log",
-        description = "Output of the most recent runBuildTool invocation. " +
+        description = "Output of the most recent runBuildTool invocation in this session. " +
                       "Includes stdout/stderr and, on failure, an AI-generated error analysis " +
-                      "from MCP sampling. Run runBuildTool first to populate this resource."
+                      "from MCP sampling. Large logs show only the tail — use the page/tail " +
+                      "templates for the rest. Run runBuildTool first to populate this resource."
+    )
+    public String getBuildLog(McpSyncServerExchange exchange) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-log", () ->
+            buildLog(exchange).view(pageSize));
+    }
+
+    @McpResource(
+        uri = "project://build-log/errors",
+        name = "Build Errors",
+        description = "Condensed view of this session's most recent build: [ERROR] blocks, compiler " +
+                      "diagnostics with context, failing test stack traces (framework frames collapsed) and " +
+                      "the reactor summary, within a fixed character budget. Read this before the full log."
+    )
+    public String getBuildErrors(McpSyncServerExchange exchange) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-log/errors", () ->
+            buildLogCondenser.condense(buildLog(exchange)));
+    }
+
+    @McpResource(
+        uri = "project://build-log/page/{offset}/{limit}",
+        name = "Build Log Page",
+        description = "A byte range of this session's most recent build output. " +
+                      "Example: project://build-log/page/0/65536 for the first 64 KB. " +
+                      "Limit is capped at the configured page size."
     )
-    public String getBuildLog() {
-        return buildLogHolder.getLastBuildLog();
+    public String getBuildLogPage(McpSyncServerExchange exchange, String offset, String limit) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-log/page/{offset}/{limit}", () -> {
+            BuildLog buildLog = buildLog(exchange);
+            long from = Math.max(0, parseOrDefault(offset, 0));
+            int size = pageLimit(limit);
+            String page = buildLog.read(from, size);
+            long next = from + size;
+            return next < buildLog.length()
+                ? page + "\n... (next page: project://build-log/page/" + next + "/" + size + ")"
+                : page;
+        });
+    }
+
+    @McpResource(
+        uri = "project://build-log/tail/{lines}",
+        name = "Build Log Tail",
+        description = "The last N lines of this session's most recent build output, " +
+                      "e.g. project://build-log/tail/200. Cheap to read while a build is still running."
+    )
+    public String getBuildLogTail(McpSyncServerExchange exchange, String lines) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-log/tail/{lines}", () ->
+            buildLog(exchange).tail((int) parseOrDefault(lines, 100), pageSize));
     }
 
     @McpResource(
         uri = "project://file/{name}",
         name = "Project File",
         description = "Reads any file from the current working directory by relative name. " +
-                      "Example: 'src/main/resources/application.properties' or 'README.md'."
+                      "Example: 'src/main/resources/application.properties' or 'README.md'. " +
+                      "Large files are truncated; use readFileTool with offset or startLine for the rest."
     )
     public String getProjectFile(String name) {
-        return readFileOrPlaceholder(name, "File not found: " + name);
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://file/{name}", () ->
+            readFileOrPlaceholder(name, "File not found: " + name));
+    }
+
+    @McpResource(
+        uri = "project://builds",
+        name = "Build History",
+        description = "The 50 most recent builds from the persistent history: id, start time, state, " +
+                      "exit code, duration, log size, goals and project. " +
+                      "Use searchBuildHistory to filter, project://builds/{id} to read one."
+    )
+    public String getBuilds() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://builds", () -> {
+            List<BuildHistory.Entry> recent = buildHistory.search(e -> true, 50);
+            if (recent.isEmpty()) return "No builds recorded yet.";
+            StringBuilder sb = new StringBuilder();
+            for (BuildHistory.Entry e : recent) {
+                sb.append(e.describe()).append("\n");
+            }
+            return sb.toString();
+        });
+    }
+
+    @McpResource(
+        uri = "project://builds/{id}",
+        name = "Historical Build Log",
+        description = "The log of one recorded build by id (see project://builds). " +
+                      "Shows the last page; earlier output via project://builds/{id}/page/{offset}/{limit}."
+    )
+    public String getHistoricalBuildLog(String id) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://builds/{id}", () -> {
+            Optional<BuildHistory.Entry> entry = buildHistory.find(parseOrDefault(id, -1));
+            if (entry.isEmpty()) return "Unknown build id: " + id;
+            BuildHistory.Entry e = entry.get();
+            long from = Math.max(0, e.length() - pageSize);
+            String header = e.describe() + "\n"
+                + (from > 0 ? "... (" + from + " earlier bytes — project://builds/" + e.id()
+                              + "/page/{offset}/{limit})\n" : "");
+            return header + buildHistory.read(e, from, pageSize);
+        });
+    }
+
+    @McpResource(
+        uri = "project://builds/{id}/page/{offset}/{limit}",
+        name = "Historical Build Log Page",
+        description = "A byte range of one recorded build's log, e.g. project://builds/12/page/0/65536."
+    )
+    public String getHistoricalBuildLogPage(String id, String offset, String limit) {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://builds/{id}/page/{offset}/{limit}", () -> {
+            Optional<BuildHistory.Entry> entry = buildHistory.find(parseOrDefault(id, -1));
+            if (entry.isEmpty()) return "Unknown build id: " + id;
+            long from = Math.max(0, parseOrDefault(offset, 0));
+            int size = pageLimit(limit);
+            return buildHistory.read(entry.get(), from, size);
+        });
+    }
+
+    @McpResource(
+        uri = "project://build-sessions",
+        name = "Build Sessions",
+        description = "Per-client build state: connected sessions with their idle time, retained build " +
+                      "logs and heap use, the per-session memory quota, and eviction counts."
+    )
+    public String getBuildSessions() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-sessions", () ->
+            buildLogHolder.stats());
+    }
+
+    @McpResource(
+        uri = "project://build-cache",
+        name = "Build Cache Statistics",
+        description = "Build avoidance counters: builds skipped because their inputs matched an " +
+                      "earlier successful build, misses, forced runs and total build time saved."
+    )
+    public String getBuildCacheStats() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-cache", () ->
+            buildInputHasher.stats());
+    }
+
+    @McpResource(
+        uri = "project://test-results",
+        name = "Test Results",
+        description = "Structured results of the last test runs, parsed from Surefire/Failsafe/Gradle XML " +
+                      "reports: pass/fail/skip counts, each failure with its message and top stack frames, " +
+                      "and the slowest tests. Much smaller than the raw build output."
+    )
+    public String getTestResults() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://test-results", () ->
+            testResults.describe());
+    }
+
+    @McpResource(
+        uri = "project://build-workers",
+        name = "Warm Build Workers",
+        description = "Warm execution mode: which projects build on a long-lived Gradle/Maven daemon, " +
+                      "builds since each daemon started, recycle counts, and mean warm vs cold build time."
+    )
+    public String getBuildWorkers() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://build-workers", () ->
+            warmBuildPool.stats());
+    }
+
+    @McpResource(
+        uri = "project://search-index",
+        name = "Code Search Index",
+        description = "Size of the code search index behind searchCodeTool: indexed files, " +
+                      "distinct trigrams, posting entries and estimated heap footprint."
+    )
+    public String getSearchIndexStats() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://search-index", () ->
+            codeIndex.stats());
+    }
+
+    @McpResource(
+        uri = "project://cache-stats",
+        name = "Resource Cache Stats",
+        description = "Hit/miss/eviction/invalidation counters of the file content cache " +
+                      "behind project://pom.xml, project://readme and project://file/{name}."
+    )
+    public String getCacheStats() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://cache-stats", () ->
+            contentCache.stats());
+    }
+
+    @McpResource(
+        uri = "project://analysis-cache",
+        name = "Failure Analysis Cache Stats",
+        description = "Size, hit/miss counts and TTL of the cache that reuses AI analyses " +
+                      "for repeated build failures (keyed by normalized error fingerprint)."
+    )
+    public String getAnalysisCacheStats() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://analysis-cache", () ->
+            failureAnalysisCache.stats());
+    }
+
+    @McpResource(
+        uri = "project://metrics",
+        name = "Server Metrics",
+        description = "Call counts, error counts, latency percentiles and response sizes for every MCP " +
+                      "tool, resource, prompt and completion, plus build phase timings, bytes read and " +
+                      "notifications sent. The same meters are exposed at /actuator/metrics."
+    )
+    public String getMetrics() {
+        return metrics.record(McpMetrics.Kind.RESOURCE, "project://metrics", () ->
+            metrics.describe());
+    }
+
+    /** The calling session's latest build log — each client sees its own builds. */
+    private BuildLog buildLog(McpSyncServerExchange exchange) {
+        return buildLogHolder.current(BuildLogHolder.sessionOf(exchange));
+    }
+
+    /** A requested page size in [1, page size], so a cursor always moves forward. */
+    private int pageLimit(String limit) {
+        return Math.clamp(parseOrDefault(limit, pageSize), 1, pageSize);
+    }
+
+    private static long parseOrDefault(String value, long fallback) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (Exception e) {
+            return fallback;
+        }
     }
 
+    /**
+     * Bounded read — files over devmcp.files.max-bytes end with a readFileTool continuation hint.
+     * Served from the content cache when the file hasn't changed since the last read.
+     */
     private String readFileOrPlaceholder(String filename, String placeholder) {
         try {
-            return Files.readString(Path.of(filename));
+            return contentCache.get(Path.of(filename),
+                file -> fileRangeReader.readBytes(file, null, null, null));
         } catch (Exception e) {
+            metrics.failed();
             log.debug("Resource read failed for '{}': {}", filename, e.getMessage());
             return placeholder;
         }
@@ -0,0 +1,137 @@
+package com.example.devmcp.resources;
+
+import com.example.devmcp.files.ProjectFileWatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-weighted LRU of decoded file contents served by ProjectResources.
+ *
+ * Freshness: every hit is re-validated by comparing size + mtime (one stat).
+ * ProjectFileWatcher events only evict eagerly — they arrive asynchronously
+ * (macOS polls every few seconds), so a read right after an edit can come
+ * before its event.
+ *
+ * Weight is the decoded String's approximate heap size (2 bytes per char);
+ * the least recently used entries are evicted once the total exceeds
+ * devmcp.resources.cache-size.
+ */
+@Component
+public class ResourceContentCache {
+
+    /** Produces the content for a cache miss. */
+    @FunctionalInterface
+    public interface Loader {
+        String load(Path file) throws IOException;
+    }
+
+    private record Entry(String content, long weight, long size, long modified) {}
+
+    private final ProjectFileWatcher watcher;
+    private final long maxWeight;
+
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalWeight;
+
+    /** Bumped on every invalidation — a load that raced with one is not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ResourceContentCache(ProjectFileWatcher watcher,
+                                @Value("${devmcp.resources.cache-size:16MB}") DataSize maxSize) {
+        this.watcher = watcher;
+        this.maxWeight = maxSize.toBytes();
+        watcher.addListener(this::invalidate);
+    }
+
+    public String get(Path file, Loader loader) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null && unchanged(key, cached)) {
+            hits.increment();
+            return cached.content();
+        }
+
+        misses.increment();
+        long gen = generation.get();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        String content = loader.load(key);
+        long weight = 2L * content.length();
+        if (weight > maxWeight) return content;
+
+        synchronized (this) {
+            if (generation.get() != gen) return content;   // changed while loading
+            Entry previous = entries.put(key, new Entry(content, weight,
+                attrs.size(), attrs.lastModifiedTime().toMillis()));
+            if (previous != null) totalWeight -= previous.weight();
+            totalWeight += weight;
+            evictOverflow();
+        }
+        return content;
+    }
+
+    private static boolean unchanged(Path key, Entry entry) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+            return attrs.size() == entry.size() && attrs.lastModifiedTime().toMillis() == entry.modified();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (totalWeight > maxWeight && it.hasNext()) {
+            totalWeight -= it.next().weight();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /** Drops {@code changed} — or everything under it, if it's a directory or the watch root. */
+    synchronized void invalidate(Path changed) {
+        generation.incrementAndGet();
+        Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Entry> e = it.next();
+            if (e.getKey().startsWith(changed)) {
+                totalWeight -= e.getValue().weight();
+                it.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    /** One-line-per-counter summary for the project://cache-stats resource. */
+    public synchronized String stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return "entries:       " + entries.size() + "\n"
+             + "weight:        " + totalWeight + " / " + maxWeight + " bytes\n"
+             + "hits:          " + h + "\n"
+             + "misses:        " + m + "\n"
+             + "hit ratio:     " + (h + m == 0 ? "n/a" : String.format("%.1f%%", 100.0 * h / (h + m))) + "\n"
+             + "evictions:     " + evictions.sum() + "\n"
+             + "invalidations: " + invalidations.sum() + "\n"
+             + "watching:      " + watcher.isActive() + "\n";
+    }
+}
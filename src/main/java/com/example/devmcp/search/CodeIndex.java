@@ -0,0 +1,568 @@
+package com.example.devmcp.search;
+
+import com.example.devmcp.files.GitIgnore;
+import com.example.devmcp.files.ProjectFileWatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the project's text files, behind searchCodeTool.
+ *
+ * Every run of three bytes of a file's lower-cased UTF-8 content (within a
+ * line) is a trigram; the index maps each trigram to the sorted ids of files
+ * containing it. A query's trigrams are intersected, smallest posting list
+ * first, and only the surviving candidates are scanned for real matches —
+ * usually a handful of files instead of the whole tree. Queries shorter than
+ * three characters scan every file.
+ *
+ * Building: files are listed (respecting .gitignore, skipping binaries and
+ * files over devmcp.search.max-file-size), then read and tokenised in
+ * parallel by fork-join tasks; posting lists are merged on one thread.
+ * Startup isn't blocked — the first build runs in the background.
+ *
+ * Updates: ProjectFileWatcher events are queued and applied on one virtual
+ * thread. A changed file gets a new id and its old id becomes a tombstone
+ * (skipped by queries); once tombstones outnumber live files the posting
+ * lists are rebuilt from the retained contents. A .gitignore change, a new
+ * directory or a watcher overflow rescans the affected subtree.
+ *
+ * Searches take a read lock; only applying an update takes the write lock.
+ */
+@Component
+public class CodeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CodeIndex.class);
+
+    private static final int SNIFF_BYTES = 8 * 1024;
+    private static final int LEAF_FILES = 32;
+    private static final int SNIPPET_CHARS = 160;
+    private static final int LINES_PER_FILE = 3;
+
+    /** One ranked result line. */
+    public record Hit(String path, int line, String snippet, double score) {}
+
+    /** Ranked results plus what the query cost. */
+    public record Result(List<Hit> hits, int totalMatches, int matchedFiles, int candidates, boolean complete) {}
+
+    private record Doc(Path path, String relative, byte[] content) {}
+
+    private record FileMatch(Doc doc, List<Hit> lines, int matches, double score) {}
+
+    /** File read and tokenised off-lock; {@code trigrams} is sorted and unique. */
+    private record Parsed(Path path, byte[] content, int[] trigrams) {}
+
+    /** Growable sorted int list — ids are appended in increasing order. */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+
+    private final Path root;
+    private final ProjectFileWatcher watcher;
+    private final GitIgnore gitIgnore;
+    private final boolean enabled;
+    private final long maxFileSize;
+    private final ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock
+    private Doc[] docs = new Doc[256];
+    private int docCount;
+    private int deadCount;
+    private final Map<Path, Integer> idByPath = new HashMap<>();
+    private Map<Integer, Postings> postings = new HashMap<>();
+    private long contentBytes;
+
+    private volatile boolean ready;
+    private volatile long lastBuildMillis;
+
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(
+        Thread.ofVirtual().name("devmcp-code-index").factory());
+
+    @Autowired
+    public CodeIndex(ProjectFileWatcher watcher,
+                     @Value("${devmcp.search.enabled:true}") boolean enabled,
+                     @Value("${devmcp.search.max-file-size:1MB}") DataSize maxFileSize,
+                     @Value("${devmcp.search.parallelism:0}") int parallelism) {
+        this(watcher.root(), watcher, enabled, maxFileSize.toBytes(), parallelism);
+    }
+
+    CodeIndex(Path root, ProjectFileWatcher watcher, boolean enabled, long maxFileSize, int parallelism) {
+        this.root = root.toAbsolutePath().normalize();
+        this.watcher = watcher;
+        this.gitIgnore = new GitIgnore(this.root);
+        this.enabled = enabled;
+        this.maxFileSize = maxFileSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Code search index disabled");
+            return;
+        }
+        watcher.addListener(this::onChange);
+        updater.execute(() -> rescan(root));
+    }
+
+    @PreDestroy
+    void stop() {
+        updater.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ── Building ──────────────────────────────────────────────────────────────
+
+    /** Re-indexes everything under {@code dir} (the root → full rebuild). */
+    void rescan(Path dir) {
+        long start = System.nanoTime();
+        List<Path> files = listFiles(dir);
+        List<Parsed> parsed = pool.invoke(new ParseTask(files, 0, files.size()));
+
+        lock.writeLock().lock();
+        try {
+            if (dir.equals(root)) {
+                clear();
+            } else {
+                for (Path p : List.copyOf(idByPath.keySet())) {
+                    if (p.startsWith(dir)) remove(p);
+                }
+            }
+            for (Parsed p : parsed) add(p);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Indexed {} files under {} in {} ms", parsed.size(), dir, lastBuildMillis);
+    }
+
+    private List<Path> listFiles(Path dir) {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir) || gitIgnore.isIgnored(dir, true)) return files;
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+                    return !d.equals(dir) && gitIgnore.isIgnoredEntry(d, true)
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path f, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && attrs.size() <= maxFileSize
+                            && !gitIgnore.isIgnoredEntry(f, false)) {
+                        files.add(f.toAbsolutePath().normalize());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path f, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not list {} for indexing: {}", dir, e.getMessage());
+        }
+        return files;
+    }
+
+    /** Splits the file list until leaves are small, then reads and tokenises each leaf. */
+    private final class ParseTask extends RecursiveTask<List<Parsed>> {
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+
+        ParseTask(List<Path> files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Parsed> compute() {
+            if (to - from <= LEAF_FILES) {
+                List<Parsed> out = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    Parsed p = parse(files.get(i));
+                    if (p != null) out.add(p);
+                }
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            ParseTask left = new ParseTask(files, from, mid);
+            left.fork();
+            List<Parsed> right = new ParseTask(files, mid, to).compute();
+            List<Parsed> out = left.join();
+            out.addAll(right);
+            return out;
+        }
+    }
+
+    private Parsed parse(Path file) {
+        try {
+            if (Files.size(file) > maxFileSize) return null;
+            byte[] content = Files.readAllBytes(file);
+            return isBinary(content) ? null : new Parsed(file, content, trigrams(content));
+        } catch (IOException e) {
+            return null;            // deleted or unreadable since listing
+        }
+    }
+
+    private static boolean isBinary(byte[] content) {
+        int n = Math.min(content.length, SNIFF_BYTES);
+        for (int i = 0; i < n; i++) {
+            if (content[i] == 0) return true;
+        }
+        return false;
+    }
+
+    static int[] trigrams(byte[] content) {
+        if (content.length < 3) return new int[0];
+        int[] keys = new int[content.length - 2];
+        int n = 0;
+        int a = lower(content[0]);
+        int b = lower(content[1]);
+        for (int i = 2; i < content.length; i++) {
+            int c = lower(content[i]);
+            if (a != '\n' && b != '\n' && c != '\n') keys[n++] = (a << 16) | (b << 8) | c;
+            a = b;
+            b = c;
+        }
+        Arrays.sort(keys, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || keys[i] != keys[unique - 1]) keys[unique++] = keys[i];
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+
+    private static int lower(byte b) {
+        int c = b & 0xff;
+        return c >= 'A' && c <= 'Z' ? c + 32 : c;
+    }
+
+    // ── Mutation (write lock held) ────────────────────────────────────────────
+
+    private void add(Parsed p) {
+        remove(p.path());
+        int id = docCount;
+        if (id == docs.length) docs = Arrays.copyOf(docs, id * 2);
+        docs[id] = new Doc(p.path(), root.relativize(p.path()).toString().replace('\\', '/'), p.content());
+        docCount++;
+        idByPath.put(p.path(), id);
+        contentBytes += p.content().length;
+        for (int key : p.trigrams()) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(id);
+        }
+    }
+
+    private void remove(Path path) {
+        Integer id = idByPath.remove(path);
+        if (id == null) return;
+        contentBytes -= docs[id].content().length;
+        docs[id] = null;            // tombstone; posting entries are skipped until compaction
+        deadCount++;
+    }
+
+    private void clear() {
+        docs = new Doc[256];
+        docCount = 0;
+        deadCount = 0;
+        idByPath.clear();
+        postings = new HashMap<>();
+        contentBytes = 0;
+    }
+
+    private void compactIfNeeded() {
+        if (deadCount < 1024 || deadCount < docCount - deadCount) return;
+        List<Doc> live = new ArrayList<>(docCount - deadCount);
+        for (int i = 0; i < docCount; i++) {
+            if (docs[i] != null) live.add(docs[i]);
+        }
+        clear();
+        for (Doc d : live) add(new Parsed(d.path(), d.content(), trigrams(d.content())));
+    }
+
+    // ── Incremental updates ───────────────────────────────────────────────────
+
+    private void onChange(Path changed) {
+        pending.add(changed);
+        if (draining.compareAndSet(false, true)) {
+            updater.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!pending.isEmpty()) {
+                List<Path> batch = List.copyOf(pending);
+                pending.removeAll(batch);
+                if (batch.contains(root)) {
+                    rescan(root);            // overflow — anything may have changed
+                    continue;
+                }
+                for (Path p : batch) update(p);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Code index update failed: {}", e.getMessage());
+        } finally {
+            draining.set(false);
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) updater.execute(this::drain);
+        }
+    }
+
+    /** Applies one change event: re-reads a file, drops a deleted path, or rescans a directory. */
+    void update(Path changed) {
+        if (changed.getFileName().toString().equals(".gitignore")) {
+            gitIgnore.invalidate();
+            rescan(changed.getParent());
+        } else if (Files.isDirectory(changed)) {
+            rescan(changed);
+        } else if (Files.isRegularFile(changed) && !gitIgnore.isIgnored(changed, false)) {
+            Parsed p = parse(changed);
+            lock.writeLock().lock();
+            try {
+                if (p != null) add(p); else remove(changed);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            // deleted — a file, or a whole directory
+            lock.writeLock().lock();
+            try {
+                for (Path p : List.copyOf(idByPath.keySet())) {
+                    if (p.startsWith(changed)) remove(p);
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────────────
+
+    /**
+     * Finds literal occurrences of {@code query}.
+     *
+     * @param pathGlob optional glob over the project-relative path, e.g. "**&#47;*.java"
+     */
+    public Result search(String query, boolean caseSensitive, String pathGlob, int maxHits) {
+        byte[] needle = query.getBytes(StandardCharsets.UTF_8);
+        byte[] lowerNeedle = needle.clone();
+        for (int i = 0; i < lowerNeedle.length; i++) lowerNeedle[i] = (byte) lower(lowerNeedle[i]);
+        PathMatcher matcher = pathGlob == null || pathGlob.isBlank()
+            ? null : FileSystems.getDefault().getPathMatcher("glob:" + pathGlob);
+
+        List<FileMatch> files = new ArrayList<>();
+        int candidates;
+
+        lock.readLock().lock();
+        try {
+            int[] ids = candidates(lowerNeedle);
+            candidates = ids.length;
+            for (int id : ids) {
+                Doc doc = docs[id];
+                if (doc == null || (matcher != null && !matcher.matches(Path.of(doc.relative())))) continue;
+                FileMatch m = scan(doc, needle, lowerNeedle, caseSensitive, query);
+                if (m != null) files.add(m);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        files.sort(Comparator.comparingDouble(FileMatch::score).reversed()
+            .thenComparing(m -> m.doc().relative()));
+        List<Hit> hits = new ArrayList<>();
+        int total = 0;
+        for (FileMatch f : files) {
+            total += f.matches();
+            for (Hit h : f.lines()) {
+                if (hits.size() < maxHits) hits.add(h);
+            }
+        }
+        return new Result(hits, total, files.size(), candidates, ready);
+    }
+
+    /** Ids of files containing every trigram of the needle (all files if it's too short). */
+    private int[] candidates(byte[] lowerNeedle) {
+        if (lowerNeedle.length < 3) {
+            int[] all = new int[docCount];
+            for (int i = 0; i < docCount; i++) all[i] = i;
+            return all;
+        }
+        int[] keys = trigrams(lowerNeedle);
+        Postings[] lists = new Postings[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]);
+            if (lists[i] == null) return new int[0];
+        }
+        Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int n = result.length;
+        for (int l = 1; l < lists.length && n > 0; l++) {
+            n = intersect(result, n, lists[l]);
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /** In-place sorted intersection of {@code a[0..n)} with {@code b}; returns the new length. */
+    private static int intersect(int[] a, int n, Postings b) {
+        int i = 0, j = 0, out = 0;
+        while (i < n && j < b.size) {
+            if (a[i] < b.ids[j]) i++;
+            else if (a[i] > b.ids[j]) j++;
+            else { a[out++] = a[i]; i++; j++; }
+        }
+        return out;
+    }
+
+    /** Finds match lines in one file and scores it; null if the trigram candidate had no real match. */
+    private static FileMatch scan(Doc doc, byte[] needle, byte[] lowerNeedle, boolean caseSensitive, String query) {
+        byte[] c = doc.content();
+        List<Hit> lines = new ArrayList<>(LINES_PER_FILE);
+        int matches = 0;
+        boolean wholeWord = false;
+        boolean declaration = false;
+        int line = 1;
+        int lineStart = 0;
+        int lastLine = -1;
+        int counted = 0;            // newlines counted up to here
+
+        for (int at = 0; at + needle.length <= c.length; at++) {
+            if (!regionMatches(c, at, caseSensitive ? needle : lowerNeedle, caseSensitive)) continue;
+            for (; counted < at; counted++) {
+                if (c[counted] == '\n') { line++; lineStart = counted + 1; }
+            }
+            int end = at + needle.length;
+            matches++;
+            boolean word = !isWordByte(at > 0 ? c[at - 1] : (byte) ' ') && !isWordByte(end < c.length ? c[end] : (byte) ' ');
+            wholeWord |= word;
+            if (line != lastLine) {
+                int lineEnd = lineStart;
+                while (lineEnd < c.length && c[lineEnd] != '\n') lineEnd++;
+                String text = new String(c, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+                declaration |= word && isDeclaration(text);
+                if (lines.size() < LINES_PER_FILE) lines.add(new Hit(doc.relative(), line, snippet(text, query), 0));
+                lastLine = line;
+            }
+            at = end - 1;
+        }
+        if (matches == 0) return null;
+
+        // Ranking: more matches help with diminishing returns; a match in the
+        // file name, a whole-word match and a declaration site help more.
+        double score = 1 + Math.log1p(matches);
+        String name = doc.path().getFileName().toString();
+        if (caseSensitive ? name.contains(query) : name.toLowerCase().contains(query.toLowerCase())) score += 3;
+        if (wholeWord) score += 1;
+        if (declaration) score += 2;
+        List<Hit> scored = new ArrayList<>(lines.size());
+        for (Hit h : lines) scored.add(new Hit(h.path(), h.line(), h.snippet(), score));
+        return new FileMatch(doc, scored, matches, score);
+    }
+
+    private static boolean regionMatches(byte[] c, int at, byte[] needle, boolean caseSensitive) {
+        for (int i = 0; i < needle.length; i++) {
+            int b = caseSensitive ? c[at + i] : lower(c[at + i]);
+            if ((byte) b != needle[i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isWordByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b < 0;
+    }
+
+    private static boolean isDeclaration(String line) {
+        String s = line.stripLeading();
+        for (String kw : new String[] {"class ", "interface ", "record ", "enum ", "def ", "fun ", "function "}) {
+            if (s.contains(kw)) return true;
+        }
+        return false;
+    }
+
+    private static String snippet(String line, String query) {
+        String s = line.strip();
+        if (s.length() <= SNIPPET_CHARS) return s;
+        int at = Math.max(0, s.toLowerCase().indexOf(query.toLowerCase()));
+        int from = Math.max(0, Math.min(at - SNIPPET_CHARS / 3, s.length() - SNIPPET_CHARS));
+        return (from > 0 ? "…" : "") + s.substring(from, from + SNIPPET_CHARS) + "…";
+    }
+
+    // ── Footprint ─────────────────────────────────────────────────────────────
+
+    /** Size and estimated heap footprint, for project://search-index. */
+    public String stats() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            long postingEntries = 0;
+            for (Postings p : postings.values()) {
+                postingBytes += 16 + 4L * p.ids.length;     // array header + capacity
+                postingEntries += p.size;
+            }
+            // HashMap node + boxed key + Postings object, roughly
+            long mapBytes = postings.size() * (32L + 16 + 24);
+            long docBytes = (long) docs.length * 4 + (long) (docCount - deadCount) * (48 + 64);
+            long total = contentBytes + postingBytes + mapBytes + docBytes;
+            return "files:          " + (docCount - deadCount) + (ready ? "" : " (initial build running)") + "\n"
+                 + "tombstones:     " + deadCount + "\n"
+                 + "trigrams:       " + postings.size() + "\n"
+                 + "postings:       " + postingEntries + "\n"
+                 + "content:        " + contentBytes + " bytes\n"
+                 + "posting lists:  " + postingBytes + " bytes\n"
+                 + "est. footprint: " + total + " bytes (~" + (total >> 20) + " MB)\n"
+                 + "last build:     " + lastBuildMillis + " ms\n"
+                 + "watching:       " + watcher.isActive() + "\n";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
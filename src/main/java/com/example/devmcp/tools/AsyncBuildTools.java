@@ -0,0 +1,325 @@
+package com.example.devmcp.tools;
+
+import com.example.devmcp.BuildLog;
+import com.example.devmcp.async.VirtualThreadScheduler;
+import com.example.devmcp.build.BuildJob;
+import com.example.devmcp.metrics.McpMetrics;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
+import org.springaicommunity.mcp.annotation.McpProgressToken;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * MCP Tools — ASYNC variants of BuildTools (spring.ai.mcp.server.type=ASYNC).
+ *
+ * In ASYNC mode the annotation scanner registers only methods returning
+ * Mono/Flux, so every tool has a reactive twin here with the same name,
+ * description and parameters (AsyncPrimitivesTest keeps them in step). The
+ * work is delegated to BuildTools on a virtual thread — see
+ * VirtualThreadScheduler — so a multi-minute build holds no request thread.
+ *
+ * runBuildTool additionally streams the build output to the client as
+ * logging notifications (logger "build-output") while the build runs:
+ *
+ *   every output-interval ──► read what is new in the build log (≤ output-chunk,
+ *                             cut at a line end) ──► loggingNotification
+ *
+ * The next read starts only when the previous notification has been sent, and
+ * ticks that arrive meanwhile are dropped — a slow client gets fewer, fuller
+ * chunks and the server never queues output for it. The log on disk is the
+ * buffer, so nothing is skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class AsyncBuildTools {
+
+    static final String OUTPUT_LOGGER = "build-output";
+
+    private final BuildTools tools;
+    private final VirtualThreadScheduler threads;
+    private final McpMetrics metrics;
+    private final int chunkBytes;
+    private final Duration interval;
+
+    public AsyncBuildTools(BuildTools tools,
+                           VirtualThreadScheduler threads,
+                           McpMetrics metrics,
+                           @Value("${devmcp.async.output-chunk:16KB}") DataSize chunk,
+                           @Value("${devmcp.async.output-interval:250ms}") Duration interval) {
+        this.tools = tools;
+        this.threads = threads;
+        this.metrics = metrics;
+        this.chunkBytes = (int) chunk.toBytes();
+        this.interval = interval;
+    }
+
+    @McpTool(
+        name = "readFileTool",
+        description = "Reads any text file from the filesystem and returns its content. " +
+                      "Provide the absolute file path. Useful for inspecting source files, " +
+                      "config files, build scripts, or logs. Large files are returned in slices: " +
+                      "pass offset/length (bytes) or startLine/endLine, and follow the " +
+                      "continuation hint at the end of a truncated result."
+    )
+    public Mono<String> readFileTool(
+            @McpToolParam(description = "Absolute path to the file to read", required = true)
+            String filePath,
+
+            @McpToolParam(description = "Byte offset to start reading at (default 0)", required = false)
+            Long offset,
+
+            @McpToolParam(description = "Number of bytes to read from offset (default: to end of file)",
+                          required = false)
+            Integer length,
+
+            @McpToolParam(description = "First line to read, 1-based. Takes precedence over offset.",
+                          required = false)
+            Long startLine,
+
+            @McpToolParam(description = "Last line to read, inclusive (default: to end of file)",
+                          required = false)
+            Long endLine,
+
+            @McpToolParam(description = "Upper bound on returned bytes; longer results are truncated " +
+                                        "with a continuation cursor", required = false)
+            Integer maxBytes) {
+        return threads.call(() -> tools.readFileTool(filePath, offset, length, startLine, endLine, maxBytes));
+    }
+
+    @McpTool(
+        name = "readFilesTool",
+        description = "Reads several text files in one call. Pass absolute paths and/or glob patterns, " +
+                      "e.g. /work/app/pom.xml or src/main/java/**/*.java with baseDir. Globs honour .gitignore. " +
+                      "Files are read concurrently; binary files are skipped, and each file and the whole " +
+                      "result are capped in bytes (truncated files end with a continuation hint for " +
+                      "readFileTool). Each file starts with a '==> path <==' line; errors are reported per file."
+    )
+    public Mono<String> readFilesTool(
+            @McpToolParam(description = "Absolute paths or glob patterns; relative ones resolve against baseDir",
+                          required = true)
+            List<String> paths,
+
+            @McpToolParam(description = "Absolute directory that relative paths and globs resolve against",
+                          required = false)
+            String baseDir,
+
+            @McpToolParam(description = "Upper bound on bytes returned per file (default devmcp.files.max-bytes)",
+                          required = false)
+            Integer maxBytesPerFile,
+
+            @McpToolParam(description = "Upper bound on bytes returned in total (default 1 MB); files past it " +
+                                        "are listed but not read", required = false)
+            Integer maxTotalBytes) {
+        return threads.call(() -> tools.readFilesTool(paths, baseDir, maxBytesPerFile, maxTotalBytes));
+    }
+
+    @McpTool(
+        name = "runBuildTool",
+        description = "Runs a Maven or Gradle build in the specified project directory. " +
+                      "Emits progress notifications derived from the build output " +
+                      "(Maven reactor modules, Gradle tasks). " +
+                      "On build failure, requests an AI explanation via MCP sampling " +
+                      "(reused from cache when the same failure was analysed before). " +
+                      "If the project files and goals are unchanged since an earlier successful build, " +
+                      "returns that build's output without running it (force=true to run anyway). " +
+                      "affectedOnly=true builds only the modules touched by uncommitted changes (or changes " +
+                      "since changedSince) and their dependents, in parallel. " +
+                      "Returns the tail of the output; the full output is paged through " +
+                      "the project://build-log resources."
+    )
+    public Mono<String> runBuildTool(
+            // Auto-injected by Spring AI — NOT part of the tool's JSON schema
+            McpAsyncServerExchange exchange,
+
+            // Extracts progressToken from the MCP request — null if client didn't send one
+            @McpProgressToken String progressToken,
+
+            @McpToolParam(description = "Maven goals or Gradle tasks, e.g. 'clean test' or 'build'",
+                          required = true)
+            String goals,
+
+            @McpToolParam(description = "Absolute path to the project directory to run the build in",
+                          required = true)
+            String projectPath,
+
+            @McpToolParam(description = "Run even if the inputs match an earlier successful build " +
+                                        "(default false)", required = false)
+            Boolean force,
+
+            @McpToolParam(description = "Multi-module projects: build only modules affected by changed files " +
+                                        "and their dependents (default false)", required = false)
+            Boolean affectedOnly,
+
+            @McpToolParam(description = "With affectedOnly: git ref to diff against, e.g. main or HEAD~3 " +
+                                        "(default HEAD — uncommitted changes)", required = false)
+            String changedSince) {
+        // The build itself runs the SYNC pipeline on a virtual thread (scheduler, cache, history,
+        // sampling); its output is streamed alongside it, and the result waits for the stream
+        Sinks.One<BuildJob> started = Sinks.one();
+        Mono<String> build = threads.call(() -> {
+            try {
+                return tools.runBuildTool(new McpSyncServerExchange(exchange), progressToken, goals, projectPath,
+                    force, affectedOnly, changedSince, started::tryEmitValue);
+            } finally {
+                started.tryEmitEmpty();         // reused or rejected builds never start a job
+            }
+        });
+        Mono<Boolean> streamed = started.asMono()
+            .flatMapMany(job -> output(job, exchange))
+            .then(Mono.just(true));
+        return build.zipWith(streamed, (result, done) -> result);
+    }
+
+    @McpTool(
+        name = "listBuilds",
+        description = "Lists queued, running and recently finished builds with their id, state, " +
+                      "exit code, goals, project and elapsed time. Newest first."
+    )
+    public Mono<String> listBuilds() {
+        return Mono.fromSupplier(tools::listBuilds);          // in-memory, nothing to wait for
+    }
+
+    @McpTool(
+        name = "cancelBuild",
+        description = "Cancels a queued or running build by id (see listBuilds). " +
+                      "A running build has its whole process tree killed."
+    )
+    public Mono<String> cancelBuild(
+            @McpToolParam(description = "Build id as shown by listBuilds, e.g. 3", required = true)
+            long buildId) {
+        return threads.call(() -> tools.cancelBuild(buildId));
+    }
+
+    @McpTool(
+        name = "rerunFailedTests",
+        description = "Re-runs only the tests that failed in the project's last test run (see " +
+                      "project://test-results), e.g. after a fix — instead of the whole suite. " +
+                      "Reports which of them pass now and which still fail."
+    )
+    public Mono<String> rerunFailedTests(
+            McpAsyncServerExchange exchange,
+
+            @McpProgressToken String progressToken,
+
+            @McpToolParam(description = "Absolute path to the project directory", required = true)
+            String projectPath) {
+        return threads.call(() -> tools.rerunFailedTests(new McpSyncServerExchange(exchange), progressToken, projectPath));
+    }
+
+    @McpTool(
+        name = "searchBuildHistory",
+        description = "Searches the persistent build history by project, outcome and time range. " +
+                      "Returns build ids with start time, state, exit code, duration and goals, newest first. " +
+                      "Read a build's log via project://builds/{id}."
+    )
+    public Mono<String> searchBuildHistory(
+            @McpToolParam(description = "Only builds whose project path contains this text", required = false)
+            String project,
+
+            @McpToolParam(description = "Only builds with this outcome: SUCCEEDED, FAILED, CANCELLED or TIMED_OUT",
+                          required = false)
+            String status,
+
+            @McpToolParam(description = "Only builds started at or after this ISO-8601 time or date, " +
+                                        "e.g. 2026-10-01 or 2026-10-01T12:00:00Z", required = false)
+            String since,
+
+            @McpToolParam(description = "Only builds started before this ISO-8601 time or date", required = false)
+            String until,
+
+            @McpToolParam(description = "Maximum number of results (default 20)", required = false)
+            Integer limit) {
+        return threads.call(() -> tools.searchBuildHistory(project, status, since, until, limit));
+    }
+
+    // ── Output streaming ──────────────────────────────────────────────────────
+
+    /** The job's output as logging notifications, until the build has finished and all of it was sent. */
+    private Flux<Void> output(BuildJob job, McpAsyncServerExchange exchange) {
+        OutputCursor cursor = new OutputCursor(job, chunkBytes);
+        return Flux.interval(Duration.ZERO, interval)
+            .onBackpressureDrop()
+            .takeWhile(tick -> !cursor.done())
+            .concatMap(tick -> Mono.justOrEmpty(cursor.next()).flatMap(chunk -> send(exchange, chunk)), 1);
+    }
+
+    private Mono<Void> send(McpAsyncServerExchange exchange, String chunk) {
+        return exchange.loggingNotification(LoggingMessageNotification.builder()
+                .level(LoggingLevel.INFO)
+                .logger(OUTPUT_LOGGER)
+                .data(chunk)
+                .build())
+            .doOnSuccess(v -> metrics.notification("output", true))
+            .onErrorResume(e -> {
+                metrics.notification("output", false);
+                return Mono.empty();
+            });
+    }
+
+    /** Read position in one build's log. Used by one subscriber, one read at a time. */
+    static final class OutputCursor {
+
+        private final BuildJob job;
+        private final int chunkBytes;
+        private long offset;
+
+        OutputCursor(BuildJob job, int chunkBytes) {
+            this.job = job;
+            this.chunkBytes = chunkBytes;
+        }
+
+        /** True once the build has finished and its whole log was returned by {@link #next()}. */
+        boolean done() {
+            if (!job.isFinished()) return false;
+            BuildLog log = job.log();
+            return log == null || offset >= log.length();
+        }
+
+        /** Output since the last call, ending at a line end, at most chunkBytes; null if there is none yet. */
+        String next() {
+            BuildLog log = job.log();
+            if (log == null) return null;
+            byte[] bytes = log.readBytes(offset, chunkBytes);
+            int end = bytes.length;
+            if (end == chunkBytes || !job.isFinished()) {
+                // Keep a partial last line for the next chunk — unless one line fills the whole chunk
+                int newline = lastNewline(bytes);
+                if (newline >= 0) end = newline + 1;
+                else if (end < chunkBytes) return null;
+                else end = codePointBoundary(bytes, end);
+            }
+            if (end == 0) return null;
+            offset += end;
+            return new String(bytes, 0, end, StandardCharsets.UTF_8);
+        }
+
+        /** end, or the start of the UTF-8 character that end would cut in two. */
+        static int codePointBoundary(byte[] bytes, int end) {
+            int start = end - 1;
+            while (start > 0 && (bytes[start] & 0xC0) == 0x80) start--;
+            if (start < 0) return end;
+            int lead = bytes[start] & 0xFF;
+            int length = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+            return start + length > end && start > 0 ? start : end;
+        }
+
+        private static int lastNewline(byte[] bytes) {
+            for (int i = bytes.length - 1; i >= 0; i--) if (bytes[i] == '\n') return i;
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.devmcp.tools;
+
+import com.example.devmcp.async.VirtualThreadScheduler;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * MCP Tools — ASYNC variant of SearchTools. CodeIndex searches its in-memory
+ * contents, but a search waits on the index lock while an update is applied
+ * and then scans and ranks the candidates CPU-bound, so it runs on a virtual
+ * thread rather than the event loop.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class AsyncSearchTools {
+
+    private final SearchTools tools;
+    private final VirtualThreadScheduler threads;
+
+    public AsyncSearchTools(SearchTools tools, VirtualThreadScheduler threads) {
+        this.tools = tools;
+        this.threads = threads;
+    }
+
+    @McpTool(
+        name = "searchCodeTool",
+        description = "Searches the project's text files for a literal string (case-insensitive by default). " +
+                      "Honours .gitignore. Returns ranked matches as path:line: snippet, best files first " +
+                      "(file-name matches, whole-word matches and declarations rank higher). " +
+                      "Use readFileTool with startLine to see more context."
+    )
+    public Mono<String> searchCodeTool(
+            @McpToolParam(description = "Text to find, e.g. a class, method or config key", required = true)
+            String query,
+
+            @McpToolParam(description = "Match case exactly (default false)", required = false)
+            Boolean caseSensitive,
+
+            @McpToolParam(description = "Glob over the project-relative path, e.g. **/*.java or src/main/**",
+                          required = false)
+            String pathGlob,
+
+            @McpToolParam(description = "Maximum result lines (default 50)", required = false)
+            Integer maxResults) {
+        return threads.call(() -> tools.searchCodeTool(query, caseSensitive, pathGlob, maxResults));
+    }
+}
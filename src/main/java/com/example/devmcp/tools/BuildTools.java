@@ -1,6 +1,21 @@
 package com.example.devmcp.tools;
 
+import com.example.devmcp.BuildLog;
 import com.example.devmcp.BuildLogHolder;
+import com.example.devmcp.build.AffectedModules;
+import com.example.devmcp.build.BuildHistory;
+import com.example.devmcp.build.BuildInputHasher;
+import com.example.devmcp.build.BuildJob;
+import com.example.devmcp.build.BuildLogCondenser;
+import com.example.devmcp.build.BuildProgressTracker;
+import com.example.devmcp.build.BuildScheduler;
+import com.example.devmcp.build.FailureAnalysisCache;
+import com.example.devmcp.build.TestResults;
+import com.example.devmcp.build.WarmBuildPool;
+import com.example.devmcp.files.BatchFileReader;
+import com.example.devmcp.files.FileRangeReader;
+import com.example.devmcp.metrics.McpMetrics;
+import com.example.devmcp.prompts.CompletionEngine;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
@@ -11,22 +26,35 @@ import org.springaicommunity.mcp.annotation.McpProgressToken;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * MCP Tools — Primitive 1.
  *
  * Demonstrates two tool registration patterns:
- *  - readFileTool: simple @McpTool, no special params
+ *  - readFileTool / readFilesTool: simple @McpTool, no special params
  *  - runBuildTool: @McpTool with McpSyncServerExchange (progress + sampling)
  *
+ * Builds run through the BuildScheduler (virtual threads, one build per project
+ * at a time); listBuilds / cancelBuild expose its queue. runBuildTool blocks
+ * its request thread until the build ends — it reports progress and asks for
+ * sampling on that request. The ASYNC twin does not hold a request thread.
+ *
  * McpSyncServerExchange and @McpProgressToken are auto-injected by the
  * annotation processor and excluded from the JSON schema shown to clients.
  */
@@ -36,9 +64,51 @@ public class BuildTools {
     private static final Logger log = LoggerFactory.getLogger(BuildTools.class);
 
     private final BuildLogHolder buildLogHolder;
-
-    public BuildTools(BuildLogHolder buildLogHolder) {
+    private final BuildScheduler buildScheduler;
+    private final FileRangeReader fileRangeReader;
+    private final BatchFileReader batchFileReader;
+    private final BuildLogCondenser buildLogCondenser;
+    private final FailureAnalysisCache failureAnalysisCache;
+    private final BuildHistory buildHistory;
+    private final BuildInputHasher buildInputHasher;
+    private final CompletionEngine completionEngine;
+    private final WarmBuildPool warmBuildPool;
+    private final AffectedModules affectedModules;
+    private final TestResults testResults;
+    private final McpMetrics metrics;
+    private final int maxResultBytes;
+    private final long progressIntervalNanos;
+
+    public BuildTools(BuildLogHolder buildLogHolder,
+                      BuildScheduler buildScheduler,
+                      FileRangeReader fileRangeReader,
+                      BatchFileReader batchFileReader,
+                      BuildLogCondenser buildLogCondenser,
+                      FailureAnalysisCache failureAnalysisCache,
+                      BuildHistory buildHistory,
+                      BuildInputHasher buildInputHasher,
+                      CompletionEngine completionEngine,
+                      WarmBuildPool warmBuildPool,
+                      AffectedModules affectedModules,
+                      TestResults testResults,
+                      McpMetrics metrics,
+                      @Value("${devmcp.build-log.page-size:64KB}") DataSize pageSize,
+                      @Value("${devmcp.build.progress.max-rate:4}") double maxProgressPerSecond) {
         this.buildLogHolder = buildLogHolder;
+        this.buildScheduler = buildScheduler;
+        this.fileRangeReader = fileRangeReader;
+        this.batchFileReader = batchFileReader;
+        this.buildLogCondenser = buildLogCondenser;
+        this.failureAnalysisCache = failureAnalysisCache;
+        this.buildHistory = buildHistory;
+        this.buildInputHasher = buildInputHasher;
+        this.completionEngine = completionEngine;
+        this.warmBuildPool = warmBuildPool;
+        this.affectedModules = affectedModules;
+        this.testResults = testResults;
+        this.metrics = metrics;
+        this.maxResultBytes = (int) pageSize.toBytes();
+        this.progressIntervalNanos = (long) (1_000_000_000L / Math.max(maxProgressPerSecond, 0.001));
     }
 
     // ── Primitive 1: Tool (simple) ────────────────────────────────────────────
@@ -47,16 +117,104 @@ public class BuildTools {
         name = "readFileTool",
         description = "Reads any text file from the filesystem and returns its content. " +
                       "Provide the absolute file path. Useful for inspecting source files, " +
-                      "config files, build scripts, or logs."
+                      "config files, build scripts, or logs. Large files are returned in slices: " +
+                      "pass offset/length (bytes) or startLine/endLine, and follow the " +
+                      "continuation hint at the end of a truncated result."
     )
     public String readFileTool(
             @McpToolParam(description = "Absolute path to the file to read", required = true)
-            String filePath) {
-        try {
-            return Files.readString(Path.of(filePath));
-        } catch (Exception e) {
-            return "Error reading file: " + e.getMessage();
-        }
+            String filePath,
+
+            @McpToolParam(description = "Byte offset to start reading at (default 0)", required = false)
+            Long offset,
+
+            @McpToolParam(description = "Number of bytes to read from offset (default: to end of file)",
+                          required = false)
+            Integer length,
+
+            @McpToolParam(description = "First line to read, 1-based. Takes precedence over offset.",
+                          required = false)
+            Long startLine,
+
+            @McpToolParam(description = "Last line to read, inclusive (default: to end of file)",
+                          required = false)
+            Long endLine,
+
+            @McpToolParam(description = "Upper bound on returned bytes; longer results are truncated " +
+                                        "with a continuation cursor", required = false)
+            Integer maxBytes) {
+        return metrics.record(McpMetrics.Kind.TOOL, "readFileTool", () -> {
+            try {
+                Path file = Path.of(filePath);
+                String content = startLine != null || endLine != null
+                    ? fileRangeReader.readLines(file, startLine != null ? startLine : 1, endLine, maxBytes)
+                    : fileRangeReader.readBytes(file, offset, length, maxBytes);
+                metrics.bytes("file-read", content.length());
+                return content;
+            } catch (Exception e) {
+                metrics.failed();
+                return "Error reading file: " + e.getMessage();
+            }
+        });
+    }
+
+    @McpTool(
+        name = "readFilesTool",
+        description = "Reads several text files in one call. Pass absolute paths and/or glob patterns, " +
+                      "e.g. /work/app/pom.xml or src/main/java/**/*.java with baseDir. Globs honour .gitignore. " +
+                      "Files are read concurrently; binary files are skipped, and each file and the whole " +
+                      "result are capped in bytes (truncated files end with a continuation hint for " +
+                      "readFileTool). Each file starts with a '==> path <==' line; errors are reported per file."
+    )
+    public String readFilesTool(
+            @McpToolParam(description = "Absolute paths or glob patterns; relative ones resolve against baseDir",
+                          required = true)
+            List<String> paths,
+
+            @McpToolParam(description = "Absolute directory that relative paths and globs resolve against",
+                          required = false)
+            String baseDir,
+
+            @McpToolParam(description = "Upper bound on bytes returned per file (default devmcp.files.max-bytes)",
+                          required = false)
+            Integer maxBytesPerFile,
+
+            @McpToolParam(description = "Upper bound on bytes returned in total (default 1 MB); files past it " +
+                                        "are listed but not read", required = false)
+            Integer maxTotalBytes) {
+        return metrics.record(McpMetrics.Kind.TOOL, "readFilesTool", () -> {
+            if (paths == null || paths.isEmpty()) return "No paths given.";
+            try {
+                long start = System.nanoTime();
+                BatchFileReader.Result result = batchFileReader.read(paths, baseDir, maxBytesPerFile, maxTotalBytes);
+                double millis = (System.nanoTime() - start) / 1e6;
+
+                int read = 0;
+                for (BatchFileReader.FileResult file : result.files()) {
+                    if (file.read()) read++;
+                }
+                StringBuilder sb = new StringBuilder();
+                sb.append("Read ").append(read).append(" of ").append(result.files().size()).append(" files (")
+                  .append(result.bytes()).append(" bytes, ").append(String.format("%.1f", millis)).append(" ms)");
+                if (result.moreFiles()) sb.append(" — more files matched; narrow the globs");
+                sb.append("\n");
+                for (String glob : result.unmatched()) sb.append("No files match ").append(glob).append("\n");
+                for (BatchFileReader.FileResult file : result.files()) {
+                    sb.append("\n==> ").append(file.path());
+                    if (!file.read()) {
+                        sb.append(" <== skipped: ").append(file.skipped()).append("\n");
+                        continue;
+                    }
+                    sb.append(" <== (").append(file.size()).append(" bytes)\n").append(file.content());
+                    if (!file.content().isEmpty() && !file.content().endsWith("\n")) sb.append("\n");
+                }
+                metrics.bytes("file-read", result.bytes());
+                return sb.toString();
+            } catch (Exception e) {
+                metrics.failed();
+                return "Error reading files: " + e.getMessage();
+            }
+        });
     }
 
     // ── Primitive 1 + 5 + 4: Tool with Progress Notifications and Sampling ───
@@ -64,9 +222,16 @@ public class BuildTools {
     @McpTool(
         name = "runBuildTool",
         description = "Runs a Maven or Gradle build in the specified project directory. " +
-                      "Emits progress notifications at each build phase. " +
-                      "On build failure, requests an AI explanation via MCP sampling. " +
-                      "Stores the full output in the project://build-log resource."
+                      "Emits progress notifications derived from the build output " +
+                      "(Maven reactor modules, Gradle tasks). " +
+                      "On build failure, requests an AI explanation via MCP sampling " +
+                      "(reused from cache when the same failure was analysed before). " +
+                      "If the project files and goals are unchanged since an earlier successful build, " +
+                      "returns that build's output without running it (force=true to run anyway). " +
+                      "affectedOnly=true builds only the modules touched by uncommitted changes (or changes " +
+                      "since changedSince) and their dependents, in parallel. " +
+                      "Returns the tail of the output; the full output is paged through " +
+                      "the project://build-log resources."
     )
     public String runBuildTool(
             // Auto-injected by Spring AI — NOT part of the tool's JSON schema
@@ -81,74 +246,408 @@ public class BuildTools {
 
             @McpToolParam(description = "Absolute path to the project directory to run the build in",
                           required = true)
-            String projectPath) {
+            String projectPath,
 
-        // ── Phase 1 ──
-        sendLog(exchange, "[1/4] Resolving project: " + projectPath);
-        sendProgress(exchange, progressToken, 0.0, 1.0, "[1/4] Resolving project...");
+            @McpToolParam(description = "Run even if the inputs match an earlier successful build " +
+                                        "(default false)", required = false)
+            Boolean force,
 
-        try {
-            List<String> command = buildCommand(goals, projectPath);
+            @McpToolParam(description = "Multi-module projects: build only modules affected by changed files " +
+                                        "and their dependents (default false)", required = false)
+            Boolean affectedOnly,
 
-            // ── Phase 2 ──
-            sendLog(exchange, "[2/4] Starting: " + String.join(" ", command));
-            sendProgress(exchange, progressToken, 0.25, 1.0, "[2/4] Build starting...");
+            @McpToolParam(description = "With affectedOnly: git ref to diff against, e.g. main or HEAD~3 " +
+                                        "(default HEAD — uncommitted changes)", required = false)
+            String changedSince) {
+        return runBuildTool(exchange, progressToken, goals, projectPath, force, affectedOnly, changedSince, job -> {});
+    }
 
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.directory(Path.of(projectPath).toFile());
-            pb.redirectErrorStream(true);   // merge stderr into stdout
+    /** runBuildTool that also reports the build it starts — AsyncBuildTools streams its output. */
+    String runBuildTool(McpSyncServerExchange exchange, String progressToken, String goals, String projectPath,
+                        Boolean force, Boolean affectedOnly, String changedSince, Consumer<BuildJob> onStart) {
+        return metrics.record(McpMetrics.Kind.TOOL, "runBuildTool", () ->
+            runBuild(exchange, progressToken, goals, projectPath, force, affectedOnly, changedSince, onStart));
+    }
 
-            Process process = pb.start();
+    /** Body of runBuildTool; rerunFailedTests calls it directly. */
+    private String runBuild(McpSyncServerExchange exchange, String progressToken, String goals, String projectPath,
+                            Boolean force, Boolean affectedOnly, String changedSince, Consumer<BuildJob> onStart) {
 
-            // ── Phase 3 ──
-            sendProgress(exchange, progressToken, 0.5, 1.0, "[3/4] Build running...");
+        // ── Phase 1 ──
+        sendLog(exchange, "[1/4] Resolving project: " + projectPath);
+        sendProgress(exchange, progressToken, 0.0, null, "[1/4] Resolving project...");
 
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                    log.debug("[build] {}", line);
+        try {
+            // Affected-module mode: narrow the goals to changed modules and their dependents
+            AffectedModules.Plan plan = Boolean.TRUE.equals(affectedOnly)
+                ? planAffected(projectPath, goals, changedSince) : null;
+            if (plan != null) {
+                sendLog(exchange, plan.describe());
+                if (plan.isNothing()) return plan.describe();
+            }
+            String buildGoals = plan != null ? plan.goals() : goals;
+            List<String> command = buildCommand(buildGoals, projectPath);
+
+            // Build avoidance: same inputs as an earlier successful build of this project,
+            // whose output is still there → reuse it. Wrapper launches only, never shell commands
+            BuildInputHasher.Result inputs = BuildInputHasher.isCacheable(command)
+                ? hashInputs(projectPath, command) : null;
+            boolean forced = Boolean.TRUE.equals(force);
+            if (inputs != null && !forced) {
+                Optional<BuildHistory.Entry> previous = buildHistory.findSuccessful(Path.of(projectPath), inputs.hash());
+                if (previous.isPresent() && outputsPresent(projectPath, command)) {
+                    return reuse(exchange, progressToken, projectPath, previous.get(), inputs);
                 }
             }
+            if (inputs != null) buildInputHasher.recordMiss(forced);
+            String cacheNote = inputs == null ? ""
+                : "\n(build cache " + (forced ? "bypassed (force)" : "miss") + " — " + describe(inputs) + ")";
+
+            // Runs on a virtual thread; queued behind other builds of the same project
+            BuildJob job = buildScheduler.submit(Path.of(projectPath), buildGoals,
+                j -> executeBuild(j, exchange, progressToken, command, projectPath));
+            onStart.accept(job);
+            if (job.state() == BuildJob.State.QUEUED) {
+                sendLog(exchange, "Build #" + job.id() + " queued — cancel with cancelBuild");
+            }
 
-            int exitCode = process.waitFor();
-            String buildOutput = output.toString();
-            buildLogHolder.setLastBuildLog(buildOutput);
+            Integer exitCode = buildScheduler.await(job);
+            BuildLog buildLog = job.log();
 
-            // ── Phase 4 ──
-            sendProgress(exchange, progressToken, 1.0, 1.0,
-                "[4/4] Build complete — exit code: " + exitCode);
-            sendLog(exchange, "[4/4] Build finished with exit code " + exitCode);
+            if (exitCode == null) {
+                String reason = "Build #" + job.id() + " " + job.state().name().toLowerCase()
+                    + " after " + job.elapsed().toSeconds() + "s";
+                sendLog(exchange, reason);
+                return buildLog != null
+                    ? buildLog.view(maxResultBytes) + "\n" + reason + recordHistory(job, buildLog, null)
+                    : reason;
+            }
 
             // ── Primitive 4: Sampling on failure ─────────────────────────────
             if (exitCode != 0) {
-                String aiAnalysis = attemptSampling(exchange, buildOutput);
-                String fullResult = buildOutput
-                    + "\n\n--- AI Analysis (MCP Sampling) ---\n"
-                    + aiAnalysis;
-                buildLogHolder.setLastBuildLog(fullResult);
-                return fullResult;
+                String condensed = buildLogCondenser.condense(buildLog);
+                completionEngine.learnFromBuildOutput(condensed);
+                String fingerprint = FailureAnalysisCache.fingerprint(condensed);
+                String aiAnalysis = failureAnalysisCache.lookup(fingerprint)
+                    .map(cached -> cached + "\n(cached analysis of an identical earlier failure — "
+                                          + "fingerprint " + fingerprint.substring(0, 12) + ")")
+                    .orElseGet(() -> {
+                        long samplingStart = metrics.start();
+                        String analysis = attemptSampling(exchange, condensed, fingerprint);
+                        metrics.phase("sampling", samplingStart);
+                        return analysis;
+                    });
+                buildLog.append("\n\n--- AI Analysis (MCP Sampling) ---\n" + aiAnalysis);
             }
 
-            return buildOutput;
+            String affectedNote = plan == null ? ""
+                : "\n" + plan.describe() + (plan.isFull() || exitCode != 0 ? "" : "\n" + speedup(projectPath, goals, job));
+            String testNote = job.testReports() == 0 ? ""
+                : testResults.summaryLine(Path.of(projectPath), job.id())
+                    .map(line -> "\n" + line + " — failures and slowest tests in project://test-results"
+                        + (exitCode != 0 ? "; rerunFailedTests runs just the failed ones" : ""))
+                    .orElse("");
+            return buildLog.view(maxResultBytes) + testNote + affectedNote + cacheNote
+                + recordHistory(job, buildLog, inputs != null ? inputs.hash() : null);
 
         } catch (Exception e) {
+            metrics.failed();
             String errorMsg = "Build execution error: " + e.getMessage();
-            buildLogHolder.setLastBuildLog(errorMsg);
+            buildLogHolder.setLastBuildLog(BuildLogHolder.sessionOf(exchange), null, errorMsg);
             log.error("Build failed", e);
             return errorMsg;
         }
     }
 
+    @McpTool(
+        name = "listBuilds",
+        description = "Lists queued, running and recently finished builds with their id, state, " +
+                      "exit code, goals, project and elapsed time. Newest first."
+    )
+    public String listBuilds() {
+        return metrics.record(McpMetrics.Kind.TOOL, "listBuilds", () -> {
+            List<BuildJob> jobs = buildScheduler.list();
+            if (jobs.isEmpty()) return "No builds have been submitted yet.";
+            StringBuilder sb = new StringBuilder();
+            for (BuildJob job : jobs) {
+                sb.append(job.describe()).append("\n");
+            }
+            return sb.toString();
+        });
+    }
+
+    @McpTool(
+        name = "cancelBuild",
+        description = "Cancels a queued or running build by id (see listBuilds). " +
+                      "A running build has its whole process tree killed."
+    )
+    public String cancelBuild(
+            @McpToolParam(description = "Build id as shown by listBuilds, e.g. 3", required = true)
+            long buildId) {
+        return metrics.record(McpMetrics.Kind.TOOL, "cancelBuild", () -> buildScheduler.cancel(buildId)
+            ? "Build #" + buildId + " cancelled."
+            : "Build #" + buildId + " is unknown or already finished.");
+    }
+
+    @McpTool(
+        name = "rerunFailedTests",
+        description = "Re-runs only the tests that failed in the project's last test run (see " +
+                      "project://test-results), e.g. after a fix — instead of the whole suite. " +
+                      "Reports which of them pass now and which still fail."
+    )
+    public String rerunFailedTests(
+            McpSyncServerExchange exchange,
+
+            @McpProgressToken String progressToken,
+
+            @McpToolParam(description = "Absolute path to the project directory", required = true)
+            String projectPath) {
+        return metrics.record(McpMetrics.Kind.TOOL, "rerunFailedTests", () -> {
+            Path project = Path.of(projectPath);
+            Optional<TestResults.Rerun> rerun = testResults.rerun(project);
+            if (rerun.isEmpty()) {
+                return "No failed tests recorded for " + projectPath
+                    + " — run the tests with runBuildTool first (results: project://test-results).";
+            }
+            List<TestResults.TestCase> before = rerun.get().tests();
+            sendLog(exchange, "Re-running " + before.size() + " failed tests: " + rerun.get().goals());
+
+            // force: a failed run is never in the build cache, but the rerun goals might match a passing one
+            String output = runBuild(exchange, progressToken, rerun.get().goals(), projectPath, true, null, null,
+                job -> {});
+
+            List<String> stillFailing = testResults.failed(project).stream()
+                .filter(t -> before.stream().anyMatch(b -> b.key().equals(t.key())))
+                .map(TestResults.TestCase::label)
+                .toList();
+            return output + "\n\nRerun of " + before.size() + " failed tests: "
+                + (before.size() - stillFailing.size()) + " pass now"
+                + (stillFailing.isEmpty() ? "" : ", still failing: " + String.join(", ", stillFailing));
+        });
+    }
+
+    @McpTool(
+        name = "searchBuildHistory",
+        description = "Searches the persistent build history by project, outcome and time range. " +
+                      "Returns build ids with start time, state, exit code, duration and goals, newest first. " +
+                      "Read a build's log via project://builds/{id}."
+    )
+    public String searchBuildHistory(
+            @McpToolParam(description = "Only builds whose project path contains this text", required = false)
+            String project,
+
+            @McpToolParam(description = "Only builds with this outcome: SUCCEEDED, FAILED, CANCELLED or TIMED_OUT",
+                          required = false)
+            String status,
+
+            @McpToolParam(description = "Only builds started at or after this ISO-8601 time or date, " +
+                                        "e.g. 2026-10-01 or 2026-10-01T12:00:00Z", required = false)
+            String since,
+
+            @McpToolParam(description = "Only builds started before this ISO-8601 time or date", required = false)
+            String until,
+
+            @McpToolParam(description = "Maximum number of results (default 20)", required = false)
+            Integer limit) {
+        return metrics.record(McpMetrics.Kind.TOOL, "searchBuildHistory", () -> {
+            try {
+                BuildJob.State state = status == null || status.isBlank()
+                    ? null : BuildJob.State.valueOf(status.trim().toUpperCase());
+                Instant from = since == null || since.isBlank() ? null : parseInstant(since);
+                Instant to = until == null || until.isBlank() ? null : parseInstant(until);
+
+                List<BuildHistory.Entry> found = buildHistory.search(e ->
+                        (project == null || e.project().contains(project))
+                        && (state == null || e.state() == state)
+                        && (from == null || !e.startedAt().isBefore(from))
+                        && (to == null || e.startedAt().isBefore(to)),
+                    limit != null && limit > 0 ? limit : 20);
+
+                if (found.isEmpty()) return "No builds match.";
+                StringBuilder sb = new StringBuilder();
+                for (BuildHistory.Entry e : found) {
+                    sb.append(e.describe()).append("\n");
+                }
+                return sb.toString();
+            } catch (Exception e) {
+                metrics.failed();
+                return "Invalid search: " + e.getMessage();
+            }
+        });
+    }
+
+    private static Instant parseInstant(String text) {
+        String t = text.trim();
+        return t.length() == 10
+            ? LocalDate.parse(t).atStartOfDay(ZoneOffset.UTC).toInstant()
+            : Instant.parse(t);
+    }
+
+    /** Stores the build in the persistent history; returns a footer naming its log resource. */
+    private String recordHistory(BuildJob job, BuildLog buildLog, String inputHash) {
+        try {
+            long id = buildHistory.record(job, buildLog, inputHash).id();
+            return "\n(stored as build " + id + " — project://builds/" + id + ")";
+        } catch (Exception e) {
+            log.warn("Could not record build #{} in history: {}", job.id(), e.getMessage());
+            return "";
+        }
+    }
+
+    // ── Affected-module builds ─────────────────────────────────────────────────
+
+    private AffectedModules.Plan planAffected(String projectPath, String goals, String changedSince) {
+        try {
+            return affectedModules.plan(Path.of(projectPath), goals, changedSince);
+        } catch (Exception e) {
+            log.warn("Affected-module analysis of {} failed: {}", projectPath, e.getMessage());
+            return AffectedModules.Plan.full(goals, "could not determine changed modules (" + e.getMessage() + ")");
+        }
+    }
+
+    /** Compares an affected-module build with the last successful full build of the same goals. */
+    private String speedup(String projectPath, String goals, BuildJob job) {
+        String project = Path.of(projectPath).toAbsolutePath().normalize().toString();
+        List<BuildHistory.Entry> full = buildHistory.search(e -> e.project().equals(project)
+            && e.goals().equals(goals) && e.state() == BuildJob.State.SUCCEEDED, 1);
+        double took = job.elapsed().toMillis() / 1000.0;
+        if (full.isEmpty()) {
+            return String.format("Took %.1fs (no earlier full '%s' build to compare with)", took, goals);
+        }
+        double before = full.getFirst().duration().toMillis() / 1000.0;
+        return String.format("Took %.1fs vs %.1fs for the last full build (build %d) — %.1fx faster",
+            took, before, full.getFirst().id(), before / Math.max(took, 0.001));
+    }
+
+    // ── Build avoidance ───────────────────────────────────────────────────────
+
+    private BuildInputHasher.Result hashInputs(String projectPath, List<String> command) {
+        try {
+            return buildInputHasher.hash(Path.of(projectPath), command);
+        } catch (Exception e) {
+            log.warn("Could not hash build inputs of {} — building without cache: {}", projectPath, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean outputsPresent(String projectPath, List<String> command) {
+        try {
+            return BuildInputHasher.outputsPresent(Path.of(projectPath), command);
+        } catch (Exception e) {
+            log.warn("Could not check build outputs of {} — building: {}", projectPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns a stored successful build's output instead of running the build
+     * again, and publishes it as the session's latest log so project://build-log
+     * shows the same build.
+     */
+    private String reuse(McpSyncServerExchange exchange, String progressToken, String projectPath,
+                         BuildHistory.Entry previous, BuildInputHasher.Result inputs) {
+        Duration saved = previous.duration().minus(inputs.elapsed());
+        buildInputHasher.recordHit(saved);
+        String note = "Build cache hit — inputs unchanged since build " + previous.id()
+            + " (" + describe(inputs) + "); skipped the build, saving ~" + Math.max(0, saved.toSeconds())
+            + "s. Pass force=true to run it anyway.";
+        sendLog(exchange, note);
+        sendProgress(exchange, progressToken, 1.0, 1.0, "Reused build " + previous.id());
+
+        BuildLog reused = buildLogHolder.startNewLog(BuildLogHolder.sessionOf(exchange), Path.of(projectPath));
+        buildHistory.copy(previous, reused);
+        reused.append("\n" + note + "\n");
+        reused.finish();
+
+        long from = Math.max(0, previous.length() - maxResultBytes);
+        return (from > 0 ? "... (" + from + " earlier bytes — project://builds/" + previous.id() + ")\n" : "")
+            + buildHistory.read(previous, from, maxResultBytes)
+            + "\nExit code: " + previous.exitCode() + "\n" + note;
+    }
+
+    private static String describe(BuildInputHasher.Result inputs) {
+        return "input hash " + inputs.hash().substring(0, 12) + ", " + inputs.files() + " files, "
+            + inputs.rehashed() + " re-hashed in " + inputs.elapsed().toMillis() + " ms";
+    }
+
+    /** Body of a scheduled build — runs on the build's virtual thread. */
+    private int executeBuild(BuildJob job, McpSyncServerExchange exchange, String progressToken,
+                             List<String> command, String projectPath) throws Exception {
+        // Warm mode swaps the launcher for a long-lived daemon; cold command otherwise
+        Path dir = Path.of(projectPath);
+        Optional<List<String>> warm = warmBuildPool.command(dir, command);
+        List<String> launch = warm.orElse(command);
+
+        // ── Phase 2 ──
+        sendLog(exchange, "[2/4] Starting #" + job.id() + (warm.isPresent() ? " (warm)" : "") + ": "
+            + String.join(" ", launch));
+
+        ProcessBuilder pb = new ProcessBuilder(launch);
+        pb.directory(dir.toFile());
+        pb.redirectErrorStream(true);   // merge stderr into stdout
+
+        BuildLog buildLog = buildLogHolder.startNewLog(BuildLogHolder.sessionOf(exchange), dir);
+        job.attachLog(buildLog);
+        metrics.phase("queue", job.queued());
+        long spawnStart = metrics.start();
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            buildLog.finish();
+            throw e;
+        }
+        metrics.phase("spawn", spawnStart);
+        job.attachProcess(process);
+        long runStart = metrics.start();
+
+        // ── Phase 3 ──
+        sendLog(exchange, "[3/4] Build running...");
+
+        // Progress is derived from the output itself (reactor [n/m], Gradle tasks)
+        BuildProgressTracker progress = progressToken == null ? null : new BuildProgressTracker(
+            (value, total, message) -> sendProgress(exchange, progressToken, value, total, message),
+            progressIntervalNanos);
+
+        // Test reports are ingested as the build writes them (project://test-results)
+        int exitCode;
+        TestResults.Collector tests = testResults.collect(dir, job.id(), job.goals());
+        try {
+            // Stream straight into the segmented log — no full copy of the output on the heap
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    buildLog.appendLine(line);
+                    if (progress != null) progress.onLine(line);
+                    log.debug("[build] {}", line);
+                }
+            }
+            exitCode = process.waitFor();
+            metrics.phase("run", runStart);
+            metrics.bytes("build-output", buildLog.length());
+        } finally {
+            buildLog.finish();
+            tests.close();
+            job.recordTestReports(tests.ingested());
+        }
+        warmBuildPool.afterBuild(dir, warm.isPresent(), job.elapsed());
+
+        // ── Phase 4 ──
+        if (progress != null) progress.finish(exitCode);
+        sendLog(exchange, "[4/4] Build finished with exit code " + exitCode);
+        return exitCode;
+    }
+
     // ── Private helpers ───────────────────────────────────────────────────────
 
     /**
      * Primitive 4: Sampling — ask the connected LLM client to explain the failure.
      * Checks capability first; falls back gracefully if client doesn't support sampling.
+     * Receives the condensed log (errors, failing tests, summary), not the full output.
+     * Successful analyses are cached under the failure's fingerprint.
      */
-    private String attemptSampling(McpSyncServerExchange exchange, String buildOutput) {
+    private String attemptSampling(McpSyncServerExchange exchange, String buildOutput, String fingerprint) {
         if (exchange == null) return "(sampling unavailable — no exchange)";
 
         try {
@@ -165,7 +664,7 @@ public class BuildTools {
                     new McpSchema.TextContent(
                         "A Maven/Gradle build just failed. Explain the root cause " +
                         "and suggest a concrete fix in 3-4 sentences.\n\n" +
-                        "Build output:\n" + buildOutput
+                        "Build output (condensed to errors, failing tests and summary):\n" + buildOutput
                     )
                 )))
                 .maxTokens(500)
@@ -174,6 +673,7 @@ public class BuildTools {
             McpSchema.CreateMessageResult result = exchange.createMessage(request);
 
             if (result.content() instanceof McpSchema.TextContent text) {
+                failureAnalysisCache.store(fingerprint, text.text());
                 return text.text();
             }
             return "(sampling returned non-text content)";
@@ -216,12 +716,14 @@ public class BuildTools {
 
     /** Primitive 5: Progress notification — silently ignored if client doesn't support it */
     private void sendProgress(McpSyncServerExchange exchange, String token,
-                               double progress, double total, String message) {
+                               double progress, Double total, String message) {
         if (exchange == null || token == null) return;
         try {
             exchange.progressNotification(
                 new ProgressNotification(token, progress, total, message));
+            metrics.notification("progress", true);
         } catch (Exception e) {
+            metrics.notification("progress", false);
             log.debug("Progress notification skipped: {}", e.getMessage());
         }
     }
@@ -235,7 +737,9 @@ public class BuildTools {
                     .level(LoggingLevel.INFO)
                     .data(message)
                     .build());
+            metrics.notification("logging", true);
         } catch (Exception e) {
+            metrics.notification("logging", false);
             log.debug("Log notification skipped: {}", e.getMessage());
         }
     }
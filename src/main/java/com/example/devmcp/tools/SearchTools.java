@@ -0,0 +1,79 @@
+package com.example.devmcp.tools;
+
+import com.example.devmcp.metrics.McpMetrics;
+import com.example.devmcp.search.CodeIndex;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * MCP Tools — code search.
+ *
+ * searchCodeTool answers "where is X?" in one call instead of reading files
+ * one by one. It queries the in-memory CodeIndex, so the cost is a trigram
+ * lookup plus a scan of the few candidate files — not a walk of the tree.
+ */
+@Component
+public class SearchTools {
+
+    private final CodeIndex codeIndex;
+    private final McpMetrics metrics;
+    private final int defaultMaxResults;
+
+    public SearchTools(CodeIndex codeIndex,
+                       McpMetrics metrics,
+                       @Value("${devmcp.search.max-results:50}") int defaultMaxResults) {
+        this.codeIndex = codeIndex;
+        this.metrics = metrics;
+        this.defaultMaxResults = defaultMaxResults;
+    }
+
+    @McpTool(
+        name = "searchCodeTool",
+        description = "Searches the project's text files for a literal string (case-insensitive by default). " +
+                      "Honours .gitignore. Returns ranked matches as path:line: snippet, best files first " +
+                      "(file-name matches, whole-word matches and declarations rank higher). " +
+                      "Use readFileTool with startLine to see more context."
+    )
+    public String searchCodeTool(
+            @McpToolParam(description = "Text to find, e.g. a class, method or config key", required = true)
+            String query,
+
+            @McpToolParam(description = "Match case exactly (default false)", required = false)
+            Boolean caseSensitive,
+
+            @McpToolParam(description = "Glob over the project-relative path, e.g. **/*.java or src/main/**",
+                          required = false)
+            String pathGlob,
+
+            @McpToolParam(description = "Maximum result lines (default 50)", required = false)
+            Integer maxResults) {
+        return metrics.record(McpMetrics.Kind.TOOL, "searchCodeTool", () -> {
+            if (query == null || query.isBlank()) return "Query must not be empty.";
+            try {
+                int limit = maxResults != null && maxResults > 0 ? maxResults : defaultMaxResults;
+                long start = System.nanoTime();
+                CodeIndex.Result result = codeIndex.search(query, Boolean.TRUE.equals(caseSensitive), pathGlob, limit);
+                double millis = (System.nanoTime() - start) / 1e6;
+
+                StringBuilder sb = new StringBuilder();
+                sb.append(result.totalMatches()).append(" matches in ").append(result.matchedFiles())
+                  .append(" files (").append(result.candidates()).append(" candidates, ")
+                  .append(String.format("%.1f", millis)).append(" ms)");
+                if (!result.complete()) sb.append(" — index still building, results may be incomplete");
+                sb.append("\n");
+                for (CodeIndex.Hit hit : result.hits()) {
+                    sb.append(hit.path()).append(':').append(hit.line()).append(": ").append(hit.snippet()).append("\n");
+                }
+                if (result.hits().size() == limit) {
+                    sb.append("... narrow with pathGlob or raise maxResults for more\n");
+                }
+                return sb.toString();
+            } catch (Exception e) {
+                metrics.failed();
+                return "Search failed: " + e.getMessage();
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.devmcp;
+
+import com.example.devmcp.prompts.AsyncDevPrompts;
+import com.example.devmcp.prompts.DevPrompts;
+import com.example.devmcp.resources.AsyncProjectResources;
+import com.example.devmcp.resources.ProjectResources;
+import com.example.devmcp.tools.AsyncBuildTools;
+import com.example.devmcp.tools.AsyncSearchTools;
+import com.example.devmcp.tools.BuildTools;
+import com.example.devmcp.tools.SearchTools;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.annotation.McpComplete;
+import org.springaicommunity.mcp.annotation.McpPrompt;
+import org.springaicommunity.mcp.annotation.McpResource;
+import org.springaicommunity.mcp.annotation.McpTool;
+import reactor.core.publisher.Mono;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The ASYNC beans must expose exactly the primitives of the SYNC beans — same
+ * names, URIs, descriptions and parameters — so clients see the same server
+ * whichever mode it is deployed in.
+ */
+class AsyncPrimitivesTest {
+
+    private static final List<Class<? extends Annotation>> PRIMITIVES =
+        List.of(McpTool.class, McpResource.class, McpPrompt.class, McpComplete.class);
+
+    @Test
+    void buildTools() {
+        assertSamePrimitives(BuildTools.class, AsyncBuildTools.class);
+    }
+
+    @Test
+    void searchTools() {
+        assertSamePrimitives(SearchTools.class, AsyncSearchTools.class);
+    }
+
+    @Test
+    void resources() {
+        assertSamePrimitives(ProjectResources.class, AsyncProjectResources.class);
+    }
+
+    @Test
+    void prompts() {
+        assertSamePrimitives(DevPrompts.class, AsyncDevPrompts.class);
+    }
+
+    private static void assertSamePrimitives(Class<?> sync, Class<?> async) {
+        Map<String, Method> syncMethods = primitives(sync);
+        Map<String, Method> asyncMethods = primitives(async);
+        assertThat(asyncMethods.keySet()).isEqualTo(syncMethods.keySet());
+
+        syncMethods.forEach((name, s) -> {
+            Method a = asyncMethods.get(name);
+            assertThat(a.getReturnType()).as(name).isEqualTo(Mono.class);
+            assertThat(primitive(a)).as(name).isEqualTo(primitive(s));
+            assertThat(Arrays.deepEquals(a.getParameterAnnotations(), s.getParameterAnnotations()))
+                .as(name + " parameter annotations").isTrue();
+            assertThat(parameterTypes(a)).as(name + " parameter types").isEqualTo(parameterTypes(s));
+        });
+    }
+
+    private static Map<String, Method> primitives(Class<?> type) {
+        Map<String, Method> found = new TreeMap<>();
+        for (Method m : type.getDeclaredMethods()) {
+            if (primitive(m) != null) found.put(m.getName(), m);
+        }
+        return found;
+    }
+
+    private static Annotation primitive(Method m) {
+        for (Class<? extends Annotation> kind : PRIMITIVES) {
+            Annotation a = m.getAnnotation(kind);
+            if (a != null) return a;
+        }
+        return null;
+    }
+
+    /** Parameter types, with the exchange counted as one type in both modes. */
+    private static List<String> parameterTypes(Method m) {
+        return Arrays.stream(m.getParameterTypes())
+            .map(t -> t == McpSyncServerExchange.class || t == McpAsyncServerExchange.class
+                ? "exchange" : t.getName())
+            .toList();
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.devmcp;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 class BuildLogHolderTest {
 
+    private static String read(BuildLog log) {
+        return log.read(0, (int) log.length());
+    }
+
     @Test
     void defaultMessage_isHelpful() {
         assertThat(new BuildLogHolder().getLastBuildLog())
@@ -18,4 +26,76 @@ class BuildLogHolderTest {
         holder.setLastBuildLog("BUILD SUCCESS");
         assertThat(holder.getLastBuildLog()).isEqualTo("BUILD SUCCESS");
     }
+
+    @Test
+    void eachSessionReadsItsOwnLatestBuild() {
+        BuildLogHolder holder = new BuildLogHolder();
+        holder.startNewLog("s1", Path.of("/work/app")).append("one");
+        holder.startNewLog("s2", Path.of("/work/app")).append("two");
+        holder.startNewLog("s1", Path.of("/work/lib")).append("three");
+
+        assertThat(read(holder.current("s1"))).isEqualTo("three");
+        assertThat(read(holder.current("s2"))).isEqualTo("two");
+        assertThat(read(holder.current("unknown"))).isEqualTo(BuildLogHolder.NO_BUILD_YET);
+        assertThat(holder.getLastBuildLog()).isEqualTo(BuildLogHolder.NO_BUILD_YET);
+    }
+
+    @Test
+    void sessionQuota_dropsOldestProjectLogs() {
+        // 128 KB per log, 256 KB per session: a log starts with one 64 KB chunk on the heap
+        BuildLogHolder holder = new BuildLogHolder(DataSize.ofKilobytes(128), DataSize.ofKilobytes(256),
+            10, Duration.ofMinutes(30));
+        for (String project : new String[] {"a", "b", "c", "d"}) {
+            BuildLog log = holder.startNewLog("s1", Path.of("/work", project));
+            log.append(project);
+            log.finish();
+        }
+
+        assertThat(holder.stats())
+            .contains("1 logs over quota")
+            .contains("3 logs, 192 KB heap");
+        assertThat(read(holder.current("s1"))).isEqualTo("d");
+    }
+
+    @Test
+    void sessionQuota_reservesTheLimitOfLogsStillBeingWritten() {
+        // Running builds may each still grow to 128 KB: only two fit in 256 KB
+        BuildLogHolder holder = new BuildLogHolder(DataSize.ofKilobytes(128), DataSize.ofKilobytes(256),
+            10, Duration.ofMinutes(30));
+        for (String project : new String[] {"a", "b", "c", "d"}) {
+            holder.startNewLog("s1", Path.of("/work", project)).append(project);
+        }
+
+        assertThat(holder.stats())
+            .contains("2 logs over quota")
+            .contains("2 logs, 128 KB heap");
+        assertThat(read(holder.current("s1"))).isEqualTo("d");
+    }
+
+    @Test
+    void sessionsBeyondMax_areEvictedLeastRecentlyUsedFirst() {
+        BuildLogHolder holder = new BuildLogHolder(DataSize.ofMegabytes(1), DataSize.ofMegabytes(4),
+            2, Duration.ofMinutes(30));
+        holder.setLastBuildLog("s1", null, "one");
+        holder.setLastBuildLog("s2", null, "two");
+        holder.setLastBuildLog("s3", null, "three");
+
+        assertThat(read(holder.current("s1"))).isEqualTo(BuildLogHolder.NO_BUILD_YET);
+        assertThat(read(holder.current("s2"))).isEqualTo("two");
+        assertThat(read(holder.current("s3"))).isEqualTo("three");
+        assertThat(holder.stats()).contains("1 over max-sessions");
+    }
+
+    @Test
+    void idleSessions_areEvictedWhenAnotherStartsABuild() throws Exception {
+        BuildLogHolder holder = new BuildLogHolder(DataSize.ofMegabytes(1), DataSize.ofMegabytes(4),
+            10, Duration.ofMillis(1));
+        holder.setLastBuildLog("s1", null, "one");
+        Thread.sleep(10);
+        holder.setLastBuildLog("s2", null, "two");
+
+        assertThat(read(holder.current("s1"))).isEqualTo(BuildLogHolder.NO_BUILD_YET);
+        assertThat(read(holder.current("s2"))).isEqualTo("two");
+        assertThat(holder.stats()).contains("1 idle sessions");
+    }
 }
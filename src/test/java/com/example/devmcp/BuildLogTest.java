@@ -0,0 +1,51 @@
+package com.example.devmcp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildLogTest {
+
+    @Test
+    void read_returnsRequestedRange() {
+        BuildLog log = BuildLog.of("hello build log", 1024);
+        assertThat(log.read(6, 5)).isEqualTo("build");
+        assertThat(log.read(100, 5)).isEmpty();
+    }
+
+    @Test
+    void spillsOldChunks_andStillReadsAcrossBoundaries() {
+        try (BuildLog log = new BuildLog(32, 16)) {
+            for (int i = 0; i < 100; i++) {
+                log.appendLine("line-" + i);
+            }
+            assertThat(log.spilledBytes()).isPositive();
+            assertThat(log.memoryBytes()).isLessThanOrEqualTo(32);
+            assertThat(log.lineCount()).isEqualTo(100);
+            assertThat(log.read(0, 14)).isEqualTo("line-0\nline-1\n");
+            assertThat(log.read(0, (int) log.length())).contains("line-50\nline-51\n");
+        }
+    }
+
+    @Test
+    void tail_returnsLastLines() {
+        try (BuildLog log = new BuildLog(32, 16)) {
+            for (int i = 0; i < 100; i++) {
+                log.appendLine("line-" + i);
+            }
+            assertThat(log.tail(2, 1024)).isEqualTo("line-98\nline-99\n");
+        }
+    }
+
+    @Test
+    void view_truncatesLargeLogsToTail() {
+        BuildLog log = new BuildLog(1024);
+        for (int i = 0; i < 100; i++) {
+            log.appendLine("line-" + i);
+        }
+        assertThat(log.view(20))
+            .startsWith("... (")
+            .endsWith("line-99\n")
+            .doesNotContain("line-1\n");
+    }
+}
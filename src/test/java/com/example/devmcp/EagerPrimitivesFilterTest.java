@@ -0,0 +1,26 @@
+package com.example.devmcp;
+
+import com.example.devmcp.prompts.DevPrompts;
+import com.example.devmcp.resources.ProjectResources;
+import com.example.devmcp.tools.BuildTools;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EagerPrimitivesFilterTest {
+
+    private final EagerPrimitivesFilter filter = new EagerPrimitivesFilter();
+
+    @Test
+    void primitiveBeansStayEager() {
+        assertThat(filter.isExcluded("buildTools", null, BuildTools.class)).isTrue();
+        assertThat(filter.isExcluded("projectResources", null, ProjectResources.class)).isTrue();
+        assertThat(filter.isExcluded("devPrompts", null, DevPrompts.class)).isTrue();
+    }
+
+    @Test
+    void otherBeansMayBeLazy() {
+        assertThat(filter.isExcluded("buildLogHolder", null, BuildLogHolder.class)).isFalse();
+        assertThat(filter.isExcluded("unknown", null, null)).isFalse();
+    }
+}
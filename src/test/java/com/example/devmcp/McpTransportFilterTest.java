@@ -0,0 +1,36 @@
+package com.example.devmcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpTransportFilterTest {
+
+    private static final String[] CLASSES = {
+        "org.springframework.ai.mcp.server.webmvc.autoconfigure.McpServerStreamableHttpWebMvcAutoConfiguration",
+        "org.springframework.ai.mcp.server.webflux.autoconfigure.McpServerStreamableHttpWebFluxAutoConfiguration",
+        "org.springframework.ai.mcp.server.common.autoconfigure.McpServerAutoConfiguration",
+        "org.springframework.boot.webflux.autoconfigure.WebFluxAutoConfiguration",
+        null
+    };
+
+    @Test
+    void servlet_dropsTheWebFluxTransport() {
+        assertThat(filter(new MockEnvironment()).match(CLASSES, null))
+            .containsExactly(true, false, true, true, true);
+    }
+
+    @Test
+    void reactive_dropsTheWebMvcTransport() {
+        MockEnvironment env = new MockEnvironment().withProperty("spring.main.web-application-type", "REACTIVE");
+        assertThat(filter(env).match(CLASSES, null))
+            .containsExactly(false, true, true, true, true);
+    }
+
+    private static McpTransportFilter filter(MockEnvironment env) {
+        McpTransportFilter filter = new McpTransportFilter();
+        filter.setEnvironment(env);
+        return filter;
+    }
+}
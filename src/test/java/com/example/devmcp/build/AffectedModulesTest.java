@@ -0,0 +1,163 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AffectedModulesTest {
+
+    @TempDir
+    Path project;
+
+    private final AffectedModules affectedModules = new AffectedModules("1C");
+
+    private void write(String path, String content) throws IOException {
+        Path file = project.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static String pom(String artifactId, String modules, String... dependencies) {
+        StringBuilder deps = new StringBuilder();
+        for (String d : dependencies) {
+            deps.append("<dependency><groupId>${project.groupId}</groupId><artifactId>").append(d)
+                .append("</artifactId></dependency>");
+        }
+        return "<project><parent><groupId>com.acme</groupId><artifactId>parent</artifactId></parent>"
+            + "<artifactId>" + artifactId + "</artifactId>"
+            + (modules.isEmpty() ? "" : "<modules>" + modules + "</modules>")
+            + "<dependencies>" + deps + "</dependencies></project>";
+    }
+
+    /** parent → core ← api ← web, and an unrelated cli. */
+    private void mavenReactor() throws IOException {
+        write("pom.xml", "<project><groupId>com.acme</groupId><artifactId>parent</artifactId><modules>"
+            + "<module>core</module><module>api</module><module>web</module><module>tools/cli</module>"
+            + "</modules></project>");
+        write("core/pom.xml", pom("core", ""));
+        write("api/pom.xml", pom("api", "", "core"));
+        write("web/pom.xml", pom("web", "", "api"));
+        write("tools/cli/pom.xml", pom("cli", ""));
+    }
+
+    @Test
+    void maven_readsModulesAndEdges() throws IOException {
+        mavenReactor();
+
+        ReactorGraph graph = ReactorGraph.load(project);
+
+        assertThat(graph.tool()).isEqualTo(ReactorGraph.Tool.MAVEN);
+        assertThat(graph.modules().stream().map(ReactorGraph.Module::id).toList())
+            .containsExactly(".", "core", "api", "web", "tools/cli");
+        assertThat(graph.owner("api/src/main/java/Api.java")).isEqualTo("api");
+        assertThat(graph.owner("tools/cli/pom.xml")).isEqualTo("tools/cli");
+        assertThat(graph.withDependents(Set.of("core"))).containsExactly("core", "api", "web");
+    }
+
+    @Test
+    void maven_changeInCore_buildsCoreAndDependentsInParallel() throws IOException {
+        mavenReactor();
+
+        AffectedModules.Plan plan = affectedModules.plan(ReactorGraph.load(project), "test",
+            List.of("core/src/main/java/Core.java", "README.md"));
+
+        assertThat(plan.isFull()).isFalse();
+        assertThat(plan.goals()).isEqualTo("test -pl core -amd -T 1C");
+        assertThat(plan.affected()).containsExactly("core", "api", "web");
+        assertThat(plan.skipped()).containsExactly("tools/cli");
+        assertThat(plan.describe()).contains("3 of 4 modules").contains("Skipped: tools/cli");
+    }
+
+    @Test
+    void maven_leafChange_skipsEverythingElse() throws IOException {
+        mavenReactor();
+
+        AffectedModules.Plan plan = affectedModules.plan(ReactorGraph.load(project), "verify -T 4",
+            List.of("web/src/main/java/Web.java"));
+
+        assertThat(plan.goals()).isEqualTo("verify -T 4 -pl web -amd");
+        assertThat(plan.skipped()).containsExactly("core", "api", "tools/cli");
+    }
+
+    @Test
+    void rootBuildFileChange_fallsBackToFullBuild() throws IOException {
+        mavenReactor();
+
+        AffectedModules.Plan plan = affectedModules.plan(ReactorGraph.load(project), "test",
+            List.of("core/src/main/java/Core.java", ".mvn/maven.config"));
+
+        assertThat(plan.isFull()).isTrue();
+        assertThat(plan.goals()).isEqualTo("test");
+        assertThat(plan.describe()).contains(".mvn/maven.config");
+    }
+
+    @Test
+    void changesOutsideModules_buildNothing() throws IOException {
+        mavenReactor();
+
+        AffectedModules.Plan plan = affectedModules.plan(ReactorGraph.load(project), "test",
+            List.of("docs/notes.md"));
+
+        assertThat(plan.isNothing()).isTrue();
+    }
+
+    @Test
+    void gradle_qualifiesTasksPerAffectedProject() throws IOException {
+        write("settings.gradle", """
+            rootProject.name = 'acme'
+            include ':core', ':api'
+            include 'app'
+            // include ':old'
+            project(':app').projectDir = file('apps/main')
+            """);
+        write("core/build.gradle", "");
+        write("api/build.gradle", "dependencies { implementation project(':core') }");
+        write("apps/main/build.gradle.kts", "dependencies { implementation(project(\":api\")) }");
+
+        ReactorGraph graph = ReactorGraph.load(project);
+        AffectedModules.Plan plan = affectedModules.plan(graph, "test --info",
+            List.of("api/src/main/java/Api.java"));
+
+        assertThat(graph.modules().stream().map(ReactorGraph.Module::id).toList()).containsExactly(":", ":core", ":api", ":app");
+        assertThat(plan.goals()).isEqualTo(":api:test :app:test --info --parallel");
+        assertThat(plan.skipped()).containsExactly(":core");
+    }
+
+    @Test
+    void gradle_keepsOptionValuesTogether() {
+        Set<String> affected = new LinkedHashSet<>(List.of(":core", ":api"));
+
+        assertThat(AffectedModules.gradleGoals("build -x test --parallel", affected))
+            .isEqualTo(":core:build :api:build -x test --parallel");
+        assertThat(AffectedModules.gradleGoals("test --tests com.acme.FooTest -P env=dev --info", affected))
+            .isEqualTo(":core:test --tests com.acme.FooTest :api:test --tests com.acme.FooTest "
+                + "-P env=dev --info --parallel");
+    }
+
+    @Test
+    void gradle_rootProjectTasksAreQualifiedAsColonTask() throws IOException {
+        write("settings.gradle", "include ':core'\n");
+        write("build.gradle", "dependencies { implementation project(':core') }");
+        write("core/build.gradle", "");
+
+        AffectedModules.Plan plan = affectedModules.plan(ReactorGraph.load(project), "test",
+            List.of("core/src/main/java/Core.java"));
+
+        assertThat(plan.goals()).isEqualTo(":test :core:test --parallel");
+    }
+
+    @Test
+    void singleModuleProject_hasNoGraph() throws IOException {
+        write("pom.xml", "<project><artifactId>solo</artifactId></project>");
+
+        assertThat(ReactorGraph.load(project)).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.BuildLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildHistoryTest {
+
+    @TempDir
+    Path dir;
+
+    private BuildHistory history(DataSize segmentSize, DataSize maxSize) {
+        BuildHistory history = new BuildHistory(dir, segmentSize, maxSize, Duration.ofDays(30));
+        history.load();
+        return history;
+    }
+
+    private static BuildJob finished(long id, String project, int exitCode) {
+        BuildJob job = new BuildJob(id, Path.of(project), "clean install");
+        job.markRunning();
+        job.complete(exitCode);
+        return job;
+    }
+
+    @Test
+    void recordedBuilds_areSearchableAndReadableAfterRestart() {
+        BuildHistory history = history(DataSize.ofMegabytes(64), DataSize.ofGigabytes(1));
+        history.record(finished(1, "/work/app", 0), BuildLog.of("[INFO] BUILD SUCCESS\n", 1024), "abc");
+        BuildHistory.Entry failed =
+            history.record(finished(2, "/work/lib", 1), BuildLog.of("[ERROR] cannot find symbol\n", 1024), null);
+
+        BuildHistory reloaded = history(DataSize.ofMegabytes(64), DataSize.ofGigabytes(1));
+
+        List<BuildHistory.Entry> failures =
+            reloaded.search(e -> e.state() == BuildJob.State.FAILED, 10);
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0).project()).contains("lib");
+        assertThat(reloaded.read(reloaded.find(failed.id()).orElseThrow(), 0, 1024))
+            .isEqualTo("[ERROR] cannot find symbol\n");
+        assertThat(reloaded.search(e -> true, 10).get(0).id()).isEqualTo(failed.id());
+        assertThat(reloaded.findSuccessful(Path.of("/work/app"), "abc")).isPresent();
+        assertThat(reloaded.findSuccessful(Path.of("/work/app"), "other")).isEmpty();
+        assertThat(reloaded.findSuccessful(Path.of("/work/app-clone"), "abc")).isEmpty();
+    }
+
+    @Test
+    void retention_dropsOldestSegmentsOnceOverMaxSize() {
+        BuildHistory history = history(DataSize.ofBytes(100), DataSize.ofBytes(250));
+        String output = "x".repeat(99) + "\n";
+        for (int i = 1; i <= 5; i++) {
+            history.record(finished(i, "/work/app", 0), BuildLog.of(output, 1024), null);
+        }
+
+        List<BuildHistory.Entry> kept = history.search(e -> true, 10);
+        assertThat(kept).hasSizeLessThan(5);
+        assertThat(kept.get(0).id()).isEqualTo(5);
+        assertThat(history.find(1)).isEmpty();
+    }
+
+    @Test
+    void copy_appendsTheWholeRecordedLog() {
+        BuildHistory history = history(DataSize.ofMegabytes(64), DataSize.ofGigabytes(1));
+        String output = "[INFO] café\n".repeat(10_000);
+        BuildHistory.Entry entry = history.record(finished(1, "/work/app", 0), BuildLog.of(output, 1024 * 1024), "abc");
+
+        BuildLog copy = new BuildLog(1024 * 1024);
+        history.copy(entry, copy);
+
+        assertThat(copy.read(0, (int) copy.length())).isEqualTo(output);
+        assertThat(copy.lineCount()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildInputHasherTest {
+
+    @TempDir
+    Path project;
+
+    private final BuildInputHasher hasher = new BuildInputHasher(4);
+    private final List<String> test = List.of("./mvnw", "test");
+
+    private void write(String path, String content) throws IOException {
+        Path file = project.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    void unchangedTree_hashesTheSameWithoutRereadingFiles() throws IOException {
+        write("pom.xml", "<project/>");
+        write("src/main/java/App.java", "class App {}");
+
+        BuildInputHasher.Result first = hasher.hash(project, test);
+        BuildInputHasher.Result second = hasher.hash(project, test);
+
+        assertThat(second.hash()).isEqualTo(first.hash());
+        assertThat(first.rehashed()).isEqualTo(2);
+        assertThat(second.rehashed()).isZero();
+        assertThat(hasher.hash(project, List.of("./mvnw", "verify")).hash()).isNotEqualTo(first.hash());
+    }
+
+    @Test
+    void sourceChanges_changeTheHash_butOutputAndIgnoredFilesDoNot() throws IOException {
+        write(".gitignore", "*.log\n");
+        write("pom.xml", "<project/>");
+        write("src/main/java/App.java", "class App {}");
+        String before = hasher.hash(project, test).hash();
+
+        write("target/classes/App.class", "bytes");
+        write("debug.log", "noise");
+        assertThat(hasher.hash(project, test).hash()).isEqualTo(before);
+
+        write("src/main/java/App.java", "class App { int x; }");
+        BuildInputHasher.Result after = hasher.hash(project, test);
+        assertThat(after.hash()).isNotEqualTo(before);
+        assertThat(after.rehashed()).isEqualTo(1);
+    }
+
+    @Test
+    void wrapperConfig_isAnInput() throws IOException {
+        write("pom.xml", "<project/>");
+        write(".mvn/wrapper/maven-wrapper.properties", "distributionUrl=a");
+        String before = hasher.hash(project, test).hash();
+
+        write(".mvn/wrapper/maven-wrapper.properties", "distributionUrl=b");
+
+        assertThat(hasher.hash(project, test).hash()).isNotEqualTo(before);
+    }
+
+    @Test
+    void sourcePackagesNamedLikeOutputDirs_areInputs() throws IOException {
+        write("pom.xml", "<project/>");
+        write("src/main/java/x/build/Foo.java", "class Foo {}");
+        write("core/pom.xml", "<project/>");
+        String before = hasher.hash(project, test).hash();
+
+        write("core/target/classes/Foo.class", "bytes");
+        assertThat(hasher.hash(project, test).hash()).isEqualTo(before);
+
+        write("src/main/java/x/build/Foo.java", "class Foo { int y; }");
+        assertThat(hasher.hash(project, test).hash()).isNotEqualTo(before);
+    }
+
+    @Test
+    void clonesAtTheSameCommit_hashDifferently(@TempDir Path clone) throws IOException {
+        write("pom.xml", "<project/>");
+        Files.writeString(clone.resolve("pom.xml"), "<project/>");
+
+        assertThat(hasher.hash(clone, test).hash()).isNotEqualTo(hasher.hash(project, test).hash());
+    }
+
+    @Test
+    void onlyWrapperLaunchesWithTheirOutputPresent_areReusable() throws IOException {
+        write("pom.xml", "<project/>");
+        write("app/pom.xml", "<project/>");
+
+        assertThat(BuildInputHasher.isCacheable(test)).isTrue();
+        assertThat(BuildInputHasher.isCacheable(List.of("sh", "-c", "git pull"))).isFalse();
+        assertThat(BuildInputHasher.outputsPresent(project, test)).isFalse();
+
+        write("app/target/app.jar", "jar");
+        assertThat(BuildInputHasher.outputsPresent(project, test)).isTrue();
+        assertThat(BuildInputHasher.outputsPresent(project, List.of("./gradlew", "build"))).isFalse();
+    }
+}
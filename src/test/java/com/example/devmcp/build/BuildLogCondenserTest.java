@@ -0,0 +1,75 @@
+package com.example.devmcp.build;
+
+import com.example.devmcp.BuildLog;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildLogCondenserTest {
+
+    private static BuildLog log(String... lines) {
+        BuildLog log = new BuildLog(1024 * 1024);
+        for (String line : lines) log.appendLine(line);
+        return log;
+    }
+
+    @Test
+    void keepsCompileErrors_dropsNoiseAndDuplicates() {
+        String condensed = new BuildLogCondenser(4000).condense(log(
+            "[INFO] Scanning for projects...",
+            "[INFO] --- compiler:3.11.0:compile (default-compile) @ app ---",
+            "[ERROR] /src/App.java:[12,5] cannot find symbol",
+            "  symbol:   class Foo",
+            "[INFO] BUILD FAILURE",
+            "[ERROR] /src/App.java:[12,5] cannot find symbol",
+            "[ERROR] -> [Help 1]"));
+
+        assertThat(condensed)
+            .contains("=== Errors ===\n[ERROR] /src/App.java:[12,5] cannot find symbol\n  symbol:   class Foo\n")
+            .contains("=== Build summary ===\nBUILD FAILURE")
+            .doesNotContain("Scanning", "[Help 1]");
+        assertThat(condensed.indexOf("cannot find symbol"))
+            .isEqualTo(condensed.lastIndexOf("cannot find symbol"));
+    }
+
+    @Test
+    void collapsesFrameworkFramesInFailingTests() {
+        String condensed = new BuildLogCondenser(4000).condense(log(
+            "[ERROR] shouldAdd  Time elapsed: 0.01 s  <<< FAILURE!",
+            "org.opentest4j.AssertionFailedError: expected: <2> but was: <3>",
+            "\tat org.junit.jupiter.api.AssertionUtils.fail(AssertionUtils.java:55)",
+            "\tat org.junit.jupiter.api.AssertEquals.assertEquals(AssertEquals.java:150)",
+            "\tat com.example.CalcTest.shouldAdd(CalcTest.java:12)",
+            "\tat java.base/jdk.internal.reflect.DirectMethodHandleAccessor.invoke(Unknown Source)",
+            "",
+            "[INFO] Reactor Summary for app 1.0:",
+            "[INFO] app ................................. FAILURE [  1.2 s]",
+            "[INFO] Total time:  1.5 s"));
+
+        assertThat(condensed)
+            .contains("=== Test failures ===\n[ERROR] shouldAdd  Time elapsed: 0.01 s  <<< FAILURE!\n"
+                    + "org.opentest4j.AssertionFailedError: expected: <2> but was: <3>\n"
+                    + "\t... 2 frames omitted\n"
+                    + "\tat com.example.CalcTest.shouldAdd(CalcTest.java:12)\n"
+                    + "\t... 1 frames omitted\n")
+            .contains("app ................................. FAILURE [  1.2 s]");
+    }
+
+    @Test
+    void staysWithinBudget() {
+        String[] lines = new String[2000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "[ERROR] /src/File" + i + ".java:[1,1] error number " + i;
+        }
+        String condensed = new BuildLogCondenser(1000).condense(log(lines));
+
+        assertThat(condensed.length()).isLessThan(1300);
+        assertThat(condensed).contains("more lines omitted");
+    }
+
+    @Test
+    void fallsBackToTail_whenNothingRecognised() {
+        String condensed = new BuildLogCondenser(1000).condense(log("sh: mvn: not found"));
+        assertThat(condensed).isEqualTo("sh: mvn: not found\n");
+    }
+}
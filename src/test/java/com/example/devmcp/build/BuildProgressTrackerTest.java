@@ -0,0 +1,62 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildProgressTrackerTest {
+
+    private record Update(double progress, Double total, String message) {}
+
+    private final List<Update> updates = new ArrayList<>();
+    private final BuildProgressTracker unthrottled =
+        new BuildProgressTracker((p, t, m) -> updates.add(new Update(p, t, m)), 0);
+
+    @Test
+    void mavenReactor_reportsModuleFractions() {
+        unthrottled.onLine("[INFO] Building api 1.0-SNAPSHOT                                [1/4]");
+        unthrottled.onLine("[INFO] --- compiler:3.11.0:compile (default-compile) @ api ---");
+        unthrottled.onLine("[INFO] Building core 1.0-SNAPSHOT                               [3/4]");
+        unthrottled.onLine("[INFO] Reactor Summary for parent 1.0-SNAPSHOT:");
+        unthrottled.finish(0);
+
+        assertThat(updates.get(0).progress()).isEqualTo(0.0);
+        assertThat(updates.get(0).message()).isEqualTo("Module 1/4 — api 1.0-SNAPSHOT");
+        assertThat(updates.get(1).progress()).isEqualTo(0.125);
+        assertThat(updates.get(2).progress()).isEqualTo(0.5);
+        assertThat(updates.get(3).progress()).isEqualTo(0.99);
+        assertThat(updates.get(4).progress()).isEqualTo(1.0);
+    }
+
+    @Test
+    void gradleTasks_reportCountWithUnknownTotal() {
+        unthrottled.onLine("> Task :app:compileJava");
+        unthrottled.onLine("> Task :app:test UP-TO-DATE");
+        unthrottled.finish(0);
+
+        assertThat(updates.get(1).progress()).isEqualTo(2.0);
+        assertThat(updates.get(1).total()).isNull();
+        assertThat(updates.get(1).message()).isEqualTo("Task 2: :app:test UP-TO-DATE");
+        assertThat(updates.get(2).total()).isEqualTo(2.0);
+    }
+
+    @Test
+    void updates_areCoalescedToTheConfiguredRate() {
+        BuildProgressTracker throttled =
+            new BuildProgressTracker((p, t, m) -> updates.add(new Update(p, t, m)), 60_000_000_000L);
+        for (int i = 0; i < 400; i++) {
+            throttled.onLine("> Task :m" + i + ":compileJava");
+        }
+        assertThat(updates).hasSize(1);
+    }
+
+    @Test
+    void unrelatedLines_emitNothing() {
+        unthrottled.onLine("[INFO] Scanning for projects...");
+        unthrottled.onLine("[INFO] Building jar: /tmp/app.jar");
+        assertThat(updates).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuildSchedulerTest {
+
+    @Test
+    void sameProject_runsOneBuildAtATime() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(4, Duration.ofSeconds(10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        BuildScheduler.BuildTask task = job -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return 0;
+        };
+
+        BuildJob first = scheduler.submit(Path.of("/tmp/project-a"), "test", task);
+        BuildJob second = scheduler.submit(Path.of("/tmp/project-a"), "test", task);
+
+        assertThat(scheduler.await(first)).isEqualTo(0);
+        assertThat(scheduler.await(second)).isEqualTo(0);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cancel_stopsQueuedBuild() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(1, Duration.ofSeconds(10));
+        CountDownLatch release = new CountDownLatch(1);
+
+        BuildJob blocker = scheduler.submit(Path.of("/tmp/project-a"), "test", job -> {
+            release.await();
+            return 0;
+        });
+        BuildJob queued = scheduler.submit(Path.of("/tmp/project-b"), "test", job -> 0);
+
+        assertThat(scheduler.cancel(queued.id())).isTrue();
+        release.countDown();
+
+        assertThat(scheduler.await(queued)).isNull();
+        assertThat(queued.state()).isEqualTo(BuildJob.State.CANCELLED);
+        assertThat(scheduler.await(blocker)).isEqualTo(0);
+    }
+
+    @Test
+    void await_timesOutAndStopsBuild() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(1, Duration.ofMillis(100));
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-a"), "test", j -> {
+            Thread.sleep(10_000);
+            return 0;
+        });
+
+        assertThat(scheduler.await(job)).isNull();
+        assertThat(job.state()).isEqualTo(BuildJob.State.TIMED_OUT);
+    }
+
+    @Test
+    void cancelledBuild_keepsItsStateWhenTheProcessExits() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch exited = new CountDownLatch(1);
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-a"), "test", j -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                // the killed process exits non-zero
+            }
+            exited.countDown();
+            return 137;
+        });
+
+        started.await();
+        assertThat(scheduler.cancel(job.id())).isTrue();
+        exited.await();
+        Thread.sleep(50);
+
+        assertThat(job.state()).isEqualTo(BuildJob.State.CANCELLED);
+        assertThat(job.exitCode()).isNull();
+    }
+
+    @Test
+    void timeout_countsFromStartNotFromSubmit() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(1, Duration.ofMillis(800));
+        BuildScheduler.BuildTask task = job -> {
+            Thread.sleep(500);
+            return 0;
+        };
+
+        BuildJob first = scheduler.submit(Path.of("/tmp/project-a"), "test", task);
+        BuildJob second = scheduler.submit(Path.of("/tmp/project-a"), "test", task);
+
+        assertThat(scheduler.await(first)).isEqualTo(0);
+        assertThat(scheduler.await(second)).isEqualTo(0);     // ~1 s after submit, 0.5 s running
+        assertThat(second.queued()).isGreaterThan(Duration.ofMillis(400));
+    }
+
+    @Test
+    void projectLocks_areDroppedOnceNoBuildNeedsThem() throws Exception {
+        BuildScheduler scheduler = new BuildScheduler(4, Duration.ofSeconds(10));
+        for (int i = 0; i < 20; i++) {
+            scheduler.await(scheduler.submit(Path.of("/tmp/project-" + i), "test", job -> 0));
+        }
+
+        for (int i = 0; i < 100 && scheduler.lockedProjects() > 0; i++) Thread.sleep(10);
+        assertThat(scheduler.lockedProjects()).isZero();
+    }
+}
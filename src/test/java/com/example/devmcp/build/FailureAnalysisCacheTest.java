@@ -0,0 +1,76 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureAnalysisCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fingerprint_ignoresTimestampsPathsAndLineNumbers() {
+        String first = "[ERROR] /home/ci/build-17/src/App.java:[12,5] cannot find symbol\n"
+                     + "[INFO] Total time:  3.2 s\n[INFO] Finished at: 2026-10-16T10:15:30+02:00";
+        String second = "[ERROR] /Users/dev/app/src/App.java:[40,9] cannot find symbol\n"
+                      + "[INFO] Total time:  7.9 s\n[INFO] Finished at: 2026-10-17T08:01:02+02:00";
+        String different = "[ERROR] /Users/dev/app/src/App.java:[40,9] incompatible types";
+
+        assertThat(FailureAnalysisCache.fingerprint(first))
+            .isEqualTo(FailureAnalysisCache.fingerprint(second))
+            .isNotEqualTo(FailureAnalysisCache.fingerprint(different));
+    }
+
+    @Test
+    void fingerprint_keepsAssertionValues_butMasksVolatileNumbers() {
+        String first = "expected: 1 but was: 2\n\tat com.acme.FooTest.test(FooTest.java:42)\n"
+                     + "Port 8080 was already in use\nProcess 12345 exited";
+        String moved = "expected: 1 but was: 2\n\tat com.acme.FooTest.test(FooTest.java:57)\n"
+                     + "Port 9090 was already in use\nProcess 777 exited";
+        String otherValues = "expected: 400 but was: 200\n\tat com.acme.FooTest.test(FooTest.java:42)\n"
+                           + "Port 8080 was already in use\nProcess 12345 exited";
+
+        assertThat(FailureAnalysisCache.fingerprint(first))
+            .isEqualTo(FailureAnalysisCache.fingerprint(moved))
+            .isNotEqualTo(FailureAnalysisCache.fingerprint(otherValues));
+    }
+
+    @Test
+    void storedAnalyses_surviveRestart() {
+        Path file = dir.resolve("cache.tsv");
+        FailureAnalysisCache cache = new FailureAnalysisCache(10, Duration.ofDays(1), file);
+        cache.store("abc", "Missing import for Foo.\nAdd it.");
+
+        FailureAnalysisCache reloaded = new FailureAnalysisCache(10, Duration.ofDays(1), file);
+        reloaded.load();
+
+        assertThat(reloaded.lookup("abc")).contains("Missing import for Foo.\nAdd it.");
+        assertThat(reloaded.stats()).contains("hits:      1");
+    }
+
+    @Test
+    void expiredEntries_areMisses() {
+        FailureAnalysisCache cache = new FailureAnalysisCache(10, Duration.ZERO.minusSeconds(1),
+            dir.resolve("cache.tsv"));
+        cache.store("abc", "analysis");
+
+        assertThat(cache.lookup("abc")).isEmpty();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        FailureAnalysisCache cache = new FailureAnalysisCache(2, Duration.ofDays(1), dir.resolve("cache.tsv"));
+        cache.store("a", "1");
+        cache.store("b", "2");
+        cache.lookup("a");
+        cache.store("c", "3");
+
+        assertThat(cache.lookup("b")).isEmpty();
+        assertThat(cache.lookup("a")).isPresent();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestResultsTest {
+
+    @TempDir
+    Path project;
+
+    private final TestResults results = new TestResults(Duration.ofSeconds(1), 3);
+
+    private static final String REPORT = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <testsuite name="com.acme.CalcTest" tests="4" failures="1" errors="1" skipped="1">
+          <properties><property name="java.version" value="21"/></properties>
+          <testcase classname="com.acme.CalcTest" name="adds" time="0.012"/>
+          <testcase classname="com.acme.CalcTest" name="divides(int)[2]" time="1,234.5">
+            <failure message="expected: &lt;1&gt; but was: &lt;2&gt;" type="org.opentest4j.AssertionFailedError"><![CDATA[org.opentest4j.AssertionFailedError: expected: <1> but was: <2>
+            at org.junit.jupiter.api.AssertionUtils.fail(AssertionUtils.java:151)
+            at com.acme.CalcTest.divides(CalcTest.java:42)
+        ]]></failure>
+            <system-out><![CDATA[lots of output]]></system-out>
+          </testcase>
+          <testcase classname="com.acme.CalcTest" name="parses" time="0.2">
+            <error type="java.lang.NullPointerException">java.lang.NullPointerException
+            at com.acme.Calc.parse(Calc.java:7)</error>
+          </testcase>
+          <testcase classname="com.acme.CalcTest" name="later" time="0"><skipped message="not yet"/></testcase>
+          <testcase classname="com.acme.CalcTest" name="flaky" time="0.1">
+            <flakyFailure message="first try failed" type="java.lang.AssertionError"/>
+          </testcase>
+          <system-out><![CDATA[suite output]]></system-out>
+        </testsuite>
+        """;
+
+    private List<TestResults.TestCase> parse(String xml) throws IOException {
+        return TestReportParser.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), ".", "test");
+    }
+
+    @Test
+    void parser_keepsOutcomesMessagesAndTopFrames() throws IOException {
+        List<TestResults.TestCase> cases = parse(REPORT);
+
+        assertThat(cases).hasSize(5);
+        assertThat(cases.get(0).status()).isEqualTo(TestResults.Status.PASSED);
+
+        TestResults.TestCase divides = cases.get(1);
+        assertThat(divides.status()).isEqualTo(TestResults.Status.FAILED);
+        assertThat(divides.seconds()).isEqualTo(1234.5);
+        assertThat(divides.message()).startsWith("expected: <1> but was: <2>")
+            .contains("at com.acme.CalcTest.divides(CalcTest.java:42)")
+            .doesNotContain("lots of output");
+        assertThat(divides.type()).isEqualTo("org.opentest4j.AssertionFailedError");
+
+        TestResults.TestCase parses = cases.get(2);
+        assertThat(parses.status()).isEqualTo(TestResults.Status.ERROR);
+        assertThat(parses.message()).startsWith("java.lang.NullPointerException").contains("Calc.java:7");
+
+        assertThat(cases.get(3).status()).isEqualTo(TestResults.Status.SKIPPED);
+        assertThat(cases.get(4).status()).isEqualTo(TestResults.Status.PASSED);     // flaky, passed on rerun
+    }
+
+    @Test
+    void parser_rejectsHalfWrittenReports() {
+        assertThatThrownBy(() -> parse(REPORT.substring(0, REPORT.length() / 2)))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void scan_readsNewAndChangedReportsOnly() throws IOException {
+        Files.writeString(project.resolve("pom.xml"), "<project><artifactId>calc</artifactId></project>");
+        Path reports = Files.createDirectories(project.resolve("target/surefire-reports"));
+        Path report = reports.resolve("TEST-com.acme.CalcTest.xml");
+        Files.writeString(report, REPORT);
+        List<TestResults.ReportDir> dirs = TestResults.reportDirs(project);
+        Instant since = Instant.now().minusSeconds(10);
+
+        assertThat(results.scan(project, 1, false, since, dirs)).isEqualTo(1);
+        assertThat(results.scan(project, 1, false, since, dirs)).isZero();
+        assertThat(results.summaryLine(project, 1)).contains("Tests: 5 run, 2 passed, 2 failed, 1 skipped");
+
+        // A rerun of one test rewrites the report with just that test, now passing
+        Files.writeString(report, """
+            <testsuite name="com.acme.CalcTest">
+              <testcase classname="com.acme.CalcTest" name="divides(int)[2]" time="0.01"/>
+            </testsuite>
+            """);
+        assertThat(results.scan(project, 2, true, since, dirs)).isEqualTo(1);
+        assertThat(results.failed(project)).extracting(TestResults.TestCase::name).containsExactly("parses");
+        assertThat(results.summaryLine(project, 2)).contains("Tests: 1 run, 1 passed, 0 failed, 0 skipped");
+        assertThat(results.summaryLine(project, 1)).isEmpty();
+        assertThat(results.describe()).contains("build #2").contains("Tests: 5 known").contains("Slowest:");
+    }
+
+    @Test
+    void completeRun_replacesTheClassesItReported() throws IOException {
+        Path reports = Files.createDirectories(project.resolve("target/surefire-reports"));
+        Path report = reports.resolve("TEST-com.acme.CalcTest.xml");
+        Files.writeString(report, REPORT);
+        List<TestResults.ReportDir> dirs = TestResults.reportDirs(project);
+        Instant since = Instant.now().minusSeconds(10);
+        results.scan(project, 1, false, since, dirs);
+
+        // parses and later were deleted from the class
+        Files.writeString(report, """
+            <testsuite name="com.acme.CalcTest">
+              <testcase classname="com.acme.CalcTest" name="adds" time="0.01"/>
+              <testcase classname="com.acme.CalcTest" name="divides(int)[2]" time="0.01"/>
+            </testsuite>
+            """);
+        results.scan(project, 2, false, since, dirs);
+
+        assertThat(results.failed(project)).isEmpty();
+        assertThat(results.describe()).contains("Tests: 2 known");
+    }
+
+    @Test
+    void filteredGoals_areRecognised() {
+        assertThat(TestResults.isFiltered("test -Dtest=CalcTest#divides")).isTrue();
+        assertThat(TestResults.isFiltered(":core:test --tests com.acme.CalcTest")).isTrue();
+        assertThat(TestResults.isFiltered("clean verify -DskipITs")).isFalse();
+    }
+
+    @Test
+    void scan_ignoresReportsOlderThanTheBuild() throws IOException {
+        Path reports = Files.createDirectories(project.resolve("build/test-results/test"));
+        Files.writeString(reports.resolve("TEST-com.acme.CalcTest.xml"), REPORT);
+
+        assertThat(results.scan(project, 1, false, Instant.now().plusSeconds(60), TestResults.reportDirs(project)))
+            .isZero();
+        assertThat(results.scan(project, 1, false, Instant.now().minusSeconds(60), TestResults.reportDirs(project)))
+            .isEqualTo(1);
+        assertThat(results.failed(project)).extracting(TestResults.TestCase::task).containsOnly("test");
+    }
+
+    @Test
+    void mavenRerun_selectsFailedMethodsAndModules() throws IOException {
+        List<TestResults.TestCase> failed = new java.util.ArrayList<>(parse(REPORT).stream()
+            .filter(TestResults.TestCase::failed).toList());
+        failed.add(new TestResults.TestCase("api", "com.acme.ApiIT", "serves", TestResults.Status.FAILED,
+            1, "integration-test", null, null));
+
+        assertThat(TestResults.mavenRerun(failed)).isEqualTo(
+            "verify -pl api -Dtest=com.acme.CalcTest#divides+parses -Dit.test=com.acme.ApiIT#serves"
+                + " -Dsurefire.failIfNoSpecifiedTests=false -DfailIfNoTests=false");
+    }
+
+    @Test
+    void gradleRerun_filtersPerTask() {
+        List<TestResults.TestCase> failed = List.of(
+            new TestResults.TestCase(":core", "com.acme.CalcTest", "divides()", TestResults.Status.FAILED,
+                0, "test", null, null),
+            new TestResults.TestCase(":core", "com.acme.CalcTest", "handles empty input", TestResults.Status.ERROR,
+                0, "test", null, null),
+            new TestResults.TestCase(":", "com.acme.AppTest", "starts", TestResults.Status.FAILED,
+                0, "integrationTest", null, null));
+
+        assertThat(TestResults.gradleRerun(failed)).isEqualTo(
+            ":core:test --tests com.acme.CalcTest.divides --tests com.acme.CalcTest"
+                + " :integrationTest --tests com.acme.AppTest.starts");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.devmcp.build;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmBuildPoolTest {
+
+    @TempDir
+    Path project;
+
+    private WarmBuildPool pool(boolean enabled, int maxBuilds, String mvnd) {
+        return new WarmBuildPool(enabled, maxBuilds, DataSize.ofGigabytes(64), Duration.ofMinutes(30), mvnd,
+            project.resolve("workers"));
+    }
+
+    @Test
+    void disabled_keepsTheColdCommand() {
+        WarmBuildPool pool = pool(false, 50, "mvnd");
+
+        assertThat(pool.command(project, List.of("./gradlew", "build"))).isEmpty();
+    }
+
+    @Test
+    void gradleWrapper_runsOnTheDaemon() {
+        WarmBuildPool pool = pool(true, 50, "mvnd");
+
+        Optional<List<String>> warm = pool.command(project, List.of("./gradlew", "test", "--info"));
+
+        assertThat(warm).isPresent();
+        assertThat(warm.get().getFirst()).isEqualTo("./gradlew");
+        assertThat(warm.get()).contains("--daemon", "-Dorg.gradle.daemon.idletimeout=1800000");
+        assertThat(warm.get()).anyMatch(arg -> arg.startsWith(
+            "-Dorg.gradle.daemon.registry.base=" + project.resolve("workers").toAbsolutePath()));
+        assertThat(warm.get().subList(warm.get().size() - 2, warm.get().size())).containsExactly("test", "--info");
+    }
+
+    @Test
+    void mavenWrapper_needsMvnd() throws IOException {
+        assertThat(pool(true, 50, project.resolve("missing-mvnd").toString())
+            .command(project, List.of("./mvnw", "test"))).isEmpty();
+
+        Path mvnd = Files.createFile(project.resolve("mvnd"));
+        assertThat(mvnd.toFile().setExecutable(true)).isTrue();
+        Optional<List<String>> warm = pool(true, 50, mvnd.toString()).command(project, List.of("./mvnw", "test"));
+
+        assertThat(warm).isPresent();
+        assertThat(warm.get().getFirst()).isEqualTo(mvnd.toString());
+        assertThat(warm.get().get(1)).startsWith("-Dmvnd.daemonStorage=" + project.resolve("workers").toAbsolutePath());
+        assertThat(warm.get().getLast()).isEqualTo("test");
+    }
+
+    @Test
+    void shellCommands_stayCold() {
+        assertThat(pool(true, 50, "mvnd").command(project, List.of("sh", "-c", "echo hello"))).isEmpty();
+    }
+
+    @Test
+    void worker_isRecycledAfterMaxBuilds() {
+        WarmBuildPool pool = pool(true, 2, "mvnd");
+        pool.command(project, List.of("./gradlew", "build"));
+
+        pool.afterBuild(project, true, Duration.ofSeconds(2));
+        assertThat(pool.stats()).contains("1 builds since start, recycled 0x");
+
+        // Second build hits the limit; the stop command fails here (no gradlew), the counters still reset
+        pool.afterBuild(project, true, Duration.ofSeconds(2));
+        assertThat(pool.stats())
+            .contains("0 builds since start, recycled 1x")
+            .contains("1 by build count");
+    }
+
+    @Test
+    void stats_compareWarmAndColdBuildTimes() {
+        WarmBuildPool pool = pool(true, 50, "mvnd");
+
+        pool.afterBuild(project, false, Duration.ofSeconds(10));
+        pool.afterBuild(project, true, Duration.ofSeconds(2));
+        pool.afterBuild(project, true, Duration.ofSeconds(4));
+
+        assertThat(pool.stats())
+            .contains("warm builds:   2 (mean 3.0s)")
+            .contains("cold builds:   1 (mean 10.0s)");
+    }
+
+    @Test
+    void workerDaemons_areFoundInTheirOwnRegistryOnly() throws IOException {
+        Path registry = project.resolve("workers/app-1234/8.14");
+        Files.createDirectories(registry);
+        Files.writeString(registry.resolve("daemon-4242.out.log"), "");
+        Files.writeString(registry.resolve("registry.bin"), "");
+
+        assertThat(WarmBuildPool.loggedPids(project.resolve("workers/app-1234"))).containsExactly(4242L);
+        assertThat(WarmBuildPool.loggedPids(project.resolve("workers/none"))).isEmpty();
+        // No daemon of this worker is running, whatever else runs on the host
+        assertThat(WarmBuildPool.residentBytes(WarmBuildPool.Kind.GRADLE_DAEMON, project.resolve("workers/none")))
+            .isZero();
+    }
+
+    @Test
+    void residentBytes_ofThisProcess() {
+        long rss = WarmBuildPool.residentBytes(ProcessHandle.current().pid());
+
+        // Linux reports our own RSS; elsewhere the check is skipped and 0 is returned
+        assertThat(rss).isGreaterThanOrEqualTo(0);
+        if (Files.exists(Path.of("/proc/self/status"))) assertThat(rss).isPositive();
+    }
+}
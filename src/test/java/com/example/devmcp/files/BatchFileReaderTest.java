@@ -0,0 +1,95 @@
+package com.example.devmcp.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchFileReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private final BatchFileReader reader =
+        new BatchFileReader(new FileRangeReader(DataSize.ofKilobytes(64)), 10, DataSize.ofKilobytes(1), 4);
+
+    private Path write(String name, String content) throws Exception {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    @Test
+    void expandsGlobsInOrder_honouringGitIgnore() throws Exception {
+        write(".gitignore", "ignored/\n");
+        write("src/B.java", "class B {}\n");
+        write("src/a/A.java", "class A {}\n");
+        write("src/notes.txt", "notes\n");
+        write("ignored/C.java", "class C {}\n");
+
+        BatchFileReader.Result result = reader.read(List.of("**/*.java", "src/notes.txt", "*.kt"),
+            dir.toString(), null, null);
+
+        assertThat(result.files()).extracting(BatchFileReader.FileResult::path).containsExactly(
+            dir.resolve("src/B.java"), dir.resolve("src/a/A.java"), dir.resolve("src/notes.txt"));
+        assertThat(result.files()).extracting(BatchFileReader.FileResult::content)
+            .containsExactly("class B {}\n", "class A {}\n", "notes\n");
+        assertThat(result.unmatched()).containsExactly("*.kt");
+        assertThat(result.moreFiles()).isFalse();
+    }
+
+    @Test
+    void skipsBinaryFiles_andReportsErrorsPerFile() throws Exception {
+        Path text = write("a.txt", "hello\n");
+        Path binary = dir.resolve("b.bin");
+        Files.write(binary, new byte[] {'P', 'K', 0, 3, 4});
+
+        BatchFileReader.Result result = reader.read(
+            List.of(text.toString(), binary.toString(), dir.resolve("missing.txt").toString(), dir.toString()),
+            null, null, null);
+
+        assertThat(result.files()).extracting(BatchFileReader.FileResult::skipped)
+            .containsExactly(null, "binary", "no such file", "is a directory — use a glob such as dir/*");
+        assertThat(result.files().get(0).content()).isEqualTo("hello\n");
+    }
+
+    @Test
+    void appliesPerFileAndTotalBudgetsInEntryOrder() throws Exception {
+        String big = "x".repeat(99) + "\n";
+        Path first = write("1.txt", big.repeat(6));       // 600 bytes
+        Path second = write("2.txt", big.repeat(6));
+        Path third = write("3.txt", big.repeat(6));
+
+        BatchFileReader.Result result = reader.read(
+            List.of(first.toString(), second.toString(), third.toString()), null, 512, null);
+
+        List<BatchFileReader.FileResult> files = result.files();
+        assertThat(files.get(0).content()).startsWith(big.repeat(5)).contains("continue with offset=512");
+        assertThat(files.get(1).content()).startsWith(big.repeat(5)).contains("continue with offset=512");
+        assertThat(files.get(2).read()).isFalse();
+        assertThat(files.get(2).skipped()).isEqualTo("over the total byte budget");
+    }
+
+    @Test
+    void stopsAtMaxFiles() throws Exception {
+        for (int i = 0; i < 12; i++) write("f" + i + ".txt", "file " + i + "\n");
+
+        BatchFileReader.Result result = reader.read(List.of(dir + "/*.txt"), null, null, null);
+
+        assertThat(result.files()).hasSize(10);
+        assertThat(result.moreFiles()).isTrue();
+    }
+
+    @Test
+    void relativeEntriesNeedBaseDir() {
+        assertThatThrownBy(() -> reader.read(List.of("src/*.java"), null, null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("needs baseDir");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.devmcp.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileRangeReaderTest {
+
+    @TempDir
+    Path dir;
+
+    private final FileRangeReader reader = new FileRangeReader(DataSize.ofKilobytes(64));
+
+    private Path numberedLines(int count) throws Exception {
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, IntStream.rangeClosed(1, count)
+            .mapToObj(i -> "line " + i)
+            .collect(Collectors.joining("\n", "", "\n")));
+        return file;
+    }
+
+    @Test
+    void readLines_findsLinesPastManyCheckpoints() throws Exception {
+        Path file = numberedLines(5 * FileRangeReader.STRIDE + 10);
+
+        assertThat(reader.readLines(file, 4100, 4101L, null)).isEqualTo("line 4100\nline 4101\n");
+        assertThat(reader.readLines(file, 1, 1L, null)).isEqualTo("line 1\n");
+        assertThat(reader.lineIndex(file).lineCount()).isEqualTo(5 * FileRangeReader.STRIDE + 10);
+    }
+
+    @Test
+    void readLines_truncatesToWholeLinesWithCursor() throws Exception {
+        Path file = numberedLines(100);
+
+        assertThat(reader.readLines(file, 10, null, 16))
+            .startsWith("line 10\nline 11\n")
+            .endsWith("continue with startLine=12]");
+    }
+
+    @Test
+    void readBytes_truncatesWithOffsetCursor() throws Exception {
+        Path file = numberedLines(100);
+
+        assertThat(reader.readBytes(file, 7L, null, 6))
+            .startsWith("line 2")
+            .endsWith("continue with offset=13]");
+        assertThat(reader.readBytes(file, 0L, 6, null)).isEqualTo("line 1");
+    }
+
+    @Test
+    void utf8Boundary_doesNotSplitCharacters() {
+        byte[] bytes = "aé".getBytes(java.nio.charset.StandardCharsets.UTF_8);   // 61 C3 A9
+        assertThat(FileRangeReader.utf8Boundary(bytes, 2)).isEqualTo(1);
+        assertThat(FileRangeReader.utf8Boundary(bytes, 3)).isEqualTo(3);
+    }
+}
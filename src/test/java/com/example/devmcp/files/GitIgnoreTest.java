@@ -0,0 +1,61 @@
+package com.example.devmcp.files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitIgnoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void appliesGlobsAnchorsDirectoryRulesAndNegation() throws IOException {
+        Files.writeString(root.resolve(".gitignore"), """
+            # comment
+            *.log
+            !keep.log
+            /dist
+            generated/
+            docs/**/*.tmp
+            """);
+        GitIgnore ignore = new GitIgnore(root);
+
+        assertThat(ignore.isIgnored(root.resolve("app/server.log"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("app/keep.log"), false)).isFalse();
+        assertThat(ignore.isIgnored(root.resolve("dist/app.js"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("web/dist/app.js"), false)).isFalse();
+        assertThat(ignore.isIgnored(root.resolve("src/generated/Foo.java"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("docs/a/b/c.tmp"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("target/classes/App.class"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("src/App.java"), false)).isFalse();
+    }
+
+    @Test
+    void nestedIgnoreFiles_applyBelowTheirDirectory() throws IOException {
+        Files.createDirectories(root.resolve("web"));
+        Files.writeString(root.resolve("web/.gitignore"), "*.js\n");
+        GitIgnore ignore = new GitIgnore(root);
+
+        assertThat(ignore.isIgnored(root.resolve("web/app.js"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("tools/app.js"), false)).isFalse();
+    }
+
+    @Test
+    void outputDirs_areIgnoredOnlyNextToABuildFile() throws IOException {
+        Files.createDirectories(root.resolve("core/src/main/java/com/acme/build"));
+        Files.writeString(root.resolve("core/pom.xml"), "<project/>");
+        GitIgnore ignore = new GitIgnore(root);
+
+        assertThat(ignore.isIgnored(root.resolve("build/libs/app.jar"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("core/target/classes/App.class"), false)).isTrue();
+        assertThat(ignore.isIgnored(root.resolve("core/src/main/java/com/acme/build/Foo.java"), false)).isFalse();
+        assertThat(ignore.isIgnored(root.resolve("core/src/main/java/com/acme/target/Bar.java"), false)).isFalse();
+        assertThat(ignore.isIgnored(root.resolve("core/src/.git/config"), false)).isTrue();
+    }
+}
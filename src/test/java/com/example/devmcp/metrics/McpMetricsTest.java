@@ -0,0 +1,120 @@
+package com.example.devmcp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class McpMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final McpMetrics metrics = new McpMetrics(registry);
+
+    @Test
+    void record_returnsTheResultAndCountsASuccess() {
+        String result = metrics.record(McpMetrics.Kind.TOOL, "readFileTool", () -> "hello");
+
+        assertThat(result).isEqualTo("hello");
+        assertThat(requests("readFileTool", "success").count()).isEqualTo(1);
+        assertThat(requests("readFileTool", "error")).isNull();
+        assertThat(sizes("readFileTool").totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void failed_marksAnErrorMessageAsAnError() {
+        metrics.record(McpMetrics.Kind.TOOL, "searchCodeTool", () -> {
+            metrics.failed();
+            return "Search failed: boom";
+        });
+
+        assertThat(requests("searchCodeTool", "error").count()).isEqualTo(1);
+        assertThat(requests("searchCodeTool", "success")).isNull();
+    }
+
+    @Test
+    void exception_isCountedAsAnErrorAndRethrown() {
+        assertThatThrownBy(() -> metrics.record(McpMetrics.Kind.RESOURCE, "project://readme", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(requests("project://readme", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void nestedCall_hasItsOwnOutcome() {
+        metrics.record(McpMetrics.Kind.TOOL, "rerunFailedTests", () -> {
+            metrics.record(McpMetrics.Kind.TOOL, "inner", () -> {
+                metrics.failed();
+                return "";
+            });
+            return "ok";
+        });
+        metrics.record(McpMetrics.Kind.TOOL, "after", () -> "ok");
+
+        assertThat(requests("inner", "error").count()).isEqualTo(1);
+        assertThat(requests("rerunFailedTests", "success").count()).isEqualTo(1);
+        assertThat(requests("after", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void responseSize_ofACompletionList() {
+        metrics.record(McpMetrics.Kind.COMPLETION, "explain-build-error", () -> List.of("abc", "de"));
+
+        assertThat(sizes("explain-build-error").totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void describe_listsCallsPhasesBytesAndNotifications() {
+        metrics.record(McpMetrics.Kind.TOOL, "runBuildTool", () -> "BUILD SUCCESS");
+        metrics.phase("spawn", Duration.ofMillis(12));
+        metrics.bytes("file-read", 4096);
+        metrics.notification("progress", true);
+
+        String text = metrics.describe();
+
+        assertThat(text).contains("tool runBuildTool", "spawn", "file-read", "progress sent");
+    }
+
+    @Test
+    void disabled_runsTheHandlerWithoutRecording() {
+        McpMetrics disabled = new McpMetrics((MeterRegistry) null);
+
+        String result = disabled.record(McpMetrics.Kind.TOOL, "readFileTool", () -> {
+            disabled.failed();
+            return "hello";
+        });
+        disabled.phase("run", disabled.start());
+        disabled.bytes("build-output", 10);
+
+        assertThat(result).isEqualTo("hello");
+        assertThat(disabled.enabled()).isFalse();
+        assertThat(disabled.start()).isZero();
+        assertThat(disabled.describe()).contains("disabled");
+    }
+
+    private Timer requests(String name, String outcome) {
+        return find(Timer.class, "devmcp.mcp.requests", name, outcome);
+    }
+
+    private DistributionSummary sizes(String name) {
+        return find(DistributionSummary.class, "devmcp.mcp.response.size", name, null);
+    }
+
+    private <M extends Meter> M find(Class<M> type, String meter, String name, String outcome) {
+        return registry.getMeters().stream()
+            .filter(m -> m.getId().getName().equals(meter) && type.isInstance(m))
+            .filter(m -> name.equals(m.getId().getTag("name")))
+            .filter(m -> outcome == null || outcome.equals(m.getId().getTag("outcome")))
+            .map(type::cast)
+            .findFirst()
+            .orElse(null);
+    }
+}
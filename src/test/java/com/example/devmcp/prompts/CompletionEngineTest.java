@@ -0,0 +1,84 @@
+package com.example.devmcp.prompts;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionEngineTest {
+
+    private final CompletionEngine engine = new CompletionEngine(1000, Duration.ofDays(1));
+
+    private List<String> complete(String typed) {
+        return engine.complete("explain-build-error", "error", typed, 10);
+    }
+
+    @Test
+    void ranksPrefixThenWordStartThenInfixThenFuzzy() {
+        assertThat(complete("nosuch")).containsExactly("NoSuchBeanDefinitionException");
+        assertThat(complete("Bean").get(0)).isEqualTo("BeanCreationException");
+        assertThat(complete("Bean")).contains("NoSuchBeanDefinitionException");
+        assertThat(complete("nsbde")).containsExactly("NoSuchBeanDefinitionException");
+        assertThat(complete("zzz")).isEmpty();
+    }
+
+    @Test
+    void learnedSignatures_areSuggestedAndOutrankSeeds() {
+        engine.learnFromBuildOutput("""
+            [ERROR] /work/app/src/App.java:[12,5] cannot find symbol
+            [ERROR] Failed to execute goal org.apache.maven.plugins:maven-compiler-plugin:3.11.0:compile (default-compile)
+            Caused by: java.lang.IllegalStateException: boom
+            """);
+        engine.learnFromBuildOutput("Caused by: java.lang.IllegalStateException: again");
+
+        assertThat(complete("Ill")).containsExactly("IllegalStateException");
+        assertThat(complete("Failed").get(0))
+            .isEqualTo("Failed to execute goal org.apache.maven.plugins:maven-compiler-plugin:compile");
+        assertThat(complete("")).hasSize(10);
+        assertThat(complete("").get(0)).isEqualTo("IllegalStateException");
+    }
+
+    @Test
+    void vocabulariesArePerPromptArgument() {
+        engine.learn("commit-message", "diff", Set.of("feat(tools): add search"));
+
+        assertThat(engine.complete("commit-message", "diff", "feat", 5)).containsExactly("feat(tools): add search");
+        assertThat(complete("feat")).isEmpty();
+        assertThat(engine.complete("code-review", "code", "x", 5)).isEmpty();
+    }
+
+    @Test
+    void shortTerms_haveNoTrigramsButStillComplete() {
+        engine.learn("commit-message", "scope", Set.of("x"));
+        engine.learn("commit-message", "scope", Set.of("io", "api"));
+
+        assertThat(engine.complete("commit-message", "scope", "x", 5)).containsExactly("x");
+        assertThat(engine.complete("commit-message", "scope", "api", 5)).containsExactly("api");
+    }
+
+    @Test
+    void bufferedLookup_allocatesNothing() {
+        engine.learnFromBuildOutput("[ERROR] /src/App.java:[3,1] cannot find symbol: class Foo");
+        CompletionEngine.Buffer buffer = new CompletionEngine.Buffer();
+        String[] queries = {"", "nosuch", "Bean", "nsbde", "cannot find", "zzz"};
+        for (int i = 0; i < 1000; i++) {                // size the query buffer, load classes
+            engine.complete("explain-build-error", "error", queries[i % queries.length], 10, buffer);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        int found = 0;
+        for (int i = 0; i < 10_000; i++) {
+            found += engine.complete("explain-build-error", "error", queries[i % queries.length], 10, buffer);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(found).isPositive();
+        assertThat(allocated).isLessThan(1024);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.devmcp.prompts;
+
+import com.example.devmcp.metrics.McpMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.spec.McpSchema.GetPromptResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DevPromptsTest {
+
+    private static DevPrompts prompts(int maxChars, int messageChars) {
+        return new DevPrompts(new CompletionEngine(1000, Duration.ofDays(1)),
+            new McpMetrics(new SimpleMeterRegistry()), maxChars, messageChars);
+    }
+
+    private static List<String> texts(GetPromptResult result) {
+        return result.messages().stream().map(m -> ((TextContent) m.content()).text()).toList();
+    }
+
+    @Test
+    void commitMessage_skipsLockfilesAndWhitespaceOnlyHunks() {
+        String diff = """
+            diff --git a/src/App.java b/src/App.java
+            index 3b18e51..a9c1f2d 100644
+            --- a/src/App.java
+            +++ b/src/App.java
+            @@ -1,2 +1,2 @@
+             class App {
+            -  int x = 1;
+            +  int x = 2;
+            @@ -10 +10 @@
+            -    return  x;
+            +    return x;
+            diff --git a/web/package-lock.json b/web/package-lock.json
+            index 1c2d3e4..5f6a7b8 100644
+            --- a/web/package-lock.json
+            +++ b/web/package-lock.json
+            @@ -1 +1 @@
+            -  "version": "1.0.0"
+            +  "version": "1.0.1"
+            """;
+
+        List<String> texts = texts(prompts(100_000, 16_000).commitMessage(diff));
+
+        assertThat(texts).hasSize(1);
+        assertThat(texts.get(0))
+            .contains("```diff\ndiff --git a/src/App.java b/src/App.java\n")
+            .contains("@@ -1,2 +1,2 @@\n class App {\n-  int x = 1;\n+  int x = 2;\n```")
+            .contains("Skipped 1 generated or lock file: web/package-lock.json (lockfile, +1/-1).")
+            .contains("Dropped 1 whitespace-only hunk.")
+            .doesNotContain("return x", "\"version\"");
+    }
+
+    @Test
+    void commitMessage_overBudget_countsOmittedHunks() {
+        StringBuilder diff = new StringBuilder();
+        for (int file = 0; file < 50; file++) {
+            diff.append("diff --git a/src/App").append(file).append(".java b/src/App").append(file).append(".java\n")
+                .append("--- a/src/App").append(file).append(".java\n")
+                .append("+++ b/src/App").append(file).append(".java\n")
+                .append("@@ -1 +1 @@\n")
+                .append("-        result = service.process(request);\n")
+                .append("+        result = service.process(request, context);\n");
+        }
+
+        List<String> texts = texts(prompts(2_000, 100_000).commitMessage(diff.toString()));
+
+        String text = texts.get(0);
+        assertThat(text).contains("src/App0.java").doesNotContain("src/App49.java");
+        assertThat(text).containsPattern("Omitted \\d+ hunks over the prompt budget");
+        assertThat(text.length()).isLessThan(3_500);
+    }
+
+    @Test
+    void codeReview_collapsesImportsAndSplitsIntoMessages() {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < 5; i++) code.append("import java.util.List").append(i).append(";\n");
+        code.append("class A {\n");
+        for (int i = 0; i < 150; i++) code.append("    int field").append(i).append(" = ").append(i).append(";\n");
+        code.append("}\n");
+
+        List<String> texts = texts(prompts(2_000, 500).codeReview(code.toString()));
+
+        assertThat(texts.size()).isGreaterThan(2);
+        assertThat(texts.get(0)).contains("Code follows in " + (texts.size() - 1) + " messages.");
+        assertThat(texts.get(1))
+            .startsWith("Code (part 1 of " + (texts.size() - 1) + "):\n```java\n// 5 import lines omitted\nclass A {\n");
+        for (String part : texts.subList(1, texts.size() - 1)) {
+            assertThat(part.length()).isLessThan(600);
+        }
+        assertThat(texts.get(texts.size() - 1)).contains("more lines").contains("over the prompt budget of 2000 chars");
+    }
+
+    @Test
+    void explainBuildError_keepsShortOutputWhole() {
+        String error = "[ERROR] /src/App.java:[12,5] cannot find symbol\n  symbol:   class Foo";
+
+        List<String> texts = texts(prompts(100_000, 16_000).explainBuildError(error));
+
+        assertThat(texts).hasSize(1);
+        assertThat(texts.get(0)).startsWith("You are a Java and Maven/Gradle build expert.")
+            .endsWith("Build error:\n" + error);
+    }
+
+    @Test
+    void generatedReason_recognizesLockfilesAndBuildOutput() {
+        assertThat(DiffCondenser.generatedReason("web/yarn.lock")).isEqualTo("lockfile");
+        assertThat(DiffCondenser.generatedReason("target/generated-sources/Foo.java")).isEqualTo("generated");
+        assertThat(DiffCondenser.generatedReason("static/app.min.js")).isEqualTo("generated");
+        assertThat(DiffCondenser.generatedReason("src/main/java/App.java")).isNull();
+        assertThat(DiffCondenser.generatedReason("core/build/classes/App.class")).isEqualTo("generated");
+        assertThat(DiffCondenser.generatedReason("web/dist/app.js")).isEqualTo("generated");
+    }
+
+    @Test
+    void commitMessage_keepsChangesWhoseStrippedTextMerelyHashesAlike() {
+        // "Aa" and "BB" have the same 31*h+c hash and length
+        String diff = """
+            diff --git a/src/Keys.java b/src/Keys.java
+            --- a/src/Keys.java
+            +++ b/src/Keys.java
+            @@ -1 +1 @@
+            -String key = "Aa";
+            +String key = "BB";
+            """;
+
+        List<String> texts = texts(prompts(100_000, 16_000).commitMessage(diff));
+
+        assertThat(texts.get(0))
+            .contains("+String key = \"BB\";")
+            .doesNotContain("whitespace-only");
+    }
+
+    @Test
+    void commitMessage_reviewsSourcePackagesNamedLikeOutputDirs() {
+        String diff = """
+            diff --git a/src/main/java/com/acme/build/Plan.java b/src/main/java/com/acme/build/Plan.java
+            --- a/src/main/java/com/acme/build/Plan.java
+            +++ b/src/main/java/com/acme/build/Plan.java
+            @@ -1,2 +1,2 @@
+             class Plan {
+            -  int steps = 1;
+            +  int steps = 2;
+            diff --git a/src/main/java/com/acme/generated/Ids.java b/src/main/java/com/acme/generated/Ids.java
+            --- a/src/main/java/com/acme/generated/Ids.java
+            +++ b/src/main/java/com/acme/generated/Ids.java
+            @@ -1,2 +1,2 @@
+             // Code generated by idgen. DO NOT EDIT.
+            -class Ids { int next = 1; }
+            +class Ids { int next = 2; }
+            """;
+
+        List<String> texts = texts(prompts(100_000, 16_000).commitMessage(diff));
+
+        assertThat(DiffCondenser.generatedReason("src/main/java/com/acme/build/Plan.java")).isNull();
+        assertThat(texts.get(0))
+            .contains("+  int steps = 2;")
+            .contains("Skipped 1 generated or lock file: src/main/java/com/acme/generated/Ids.java (generated, +1/-1).")
+            .doesNotContain("next = 2");
+    }
+}
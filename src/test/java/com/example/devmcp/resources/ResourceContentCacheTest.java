@@ -0,0 +1,70 @@
+package com.example.devmcp.resources;
+
+import com.example.devmcp.files.ProjectFileWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceContentCacheTest {
+
+    @TempDir
+    Path dir;
+
+    // Watching disabled — exercises the stat-based fallback
+    private final ResourceContentCache cache =
+        new ResourceContentCache(new ProjectFileWatcher(false), DataSize.ofKilobytes(1));
+
+    @Test
+    void repeatedReads_hitCache_untilFileChanges() throws Exception {
+        Path file = dir.resolve("pom.xml");
+        Files.writeString(file, "<project/>");
+        AtomicInteger loads = new AtomicInteger();
+        ResourceContentCache.Loader loader = p -> {
+            loads.incrementAndGet();
+            return Files.readString(p);
+        };
+
+        assertThat(cache.get(file, loader)).isEqualTo("<project/>");
+        assertThat(cache.get(file, loader)).isEqualTo("<project/>");
+        assertThat(loads.get()).isEqualTo(1);
+
+        Files.writeString(file, "<project>changed</project>");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        assertThat(cache.get(file, loader)).isEqualTo("<project>changed</project>");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_dropsEverythingUnderDirectory() throws Exception {
+        Path file = dir.resolve("a.txt");
+        Files.writeString(file, "a");
+        AtomicInteger loads = new AtomicInteger();
+        ResourceContentCache.Loader loader = p -> {
+            loads.incrementAndGet();
+            return Files.readString(p);
+        };
+
+        cache.get(file, loader);
+        cache.invalidate(dir);
+        cache.get(file, loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats()).contains("invalidations: 1");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed_whenOverWeight() throws Exception {
+        for (String name : new String[] {"a", "b", "c"}) {
+            Files.writeString(dir.resolve(name), "x".repeat(200));   // 400 bytes each
+            cache.get(dir.resolve(name), Files::readString);
+        }
+        assertThat(cache.stats()).contains("evictions:     1");
+    }
+}
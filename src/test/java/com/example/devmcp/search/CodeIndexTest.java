@@ -0,0 +1,84 @@
+package com.example.devmcp.search;
+
+import com.example.devmcp.files.ProjectFileWatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeIndexTest {
+
+    @TempDir
+    Path root;
+
+    private CodeIndex index() {
+        CodeIndex index = new CodeIndex(root, new ProjectFileWatcher(false), true, 1 << 20, 2);
+        index.rescan(root);
+        return index;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    @Test
+    void search_ranksDeclarationsAndFileNamesFirst() throws IOException {
+        write("src/Usage.java", "class Usage {\n  OrderService s;\n  void go() { s.place(); }\n}\n");
+        write("src/OrderService.java", "package x;\n\npublic class OrderService {\n}\n");
+        write("README.md", "nothing relevant here\n");
+
+        CodeIndex.Result result = index().search("orderservice", false, null, 10);
+
+        assertThat(result.matchedFiles()).isEqualTo(2);
+        assertThat(result.candidates()).isEqualTo(2);
+        assertThat(result.hits().get(0).path()).isEqualTo("src/OrderService.java");
+        assertThat(result.hits().get(0).line()).isEqualTo(3);
+        assertThat(result.hits().get(0).snippet()).isEqualTo("public class OrderService {");
+    }
+
+    @Test
+    void index_skipsIgnoredAndBinaryFiles() throws IOException {
+        write(".gitignore", "generated/\n");
+        write("generated/Stub.java", "needle\n");
+        write("src/Real.java", "needle\n");
+        Files.write(root.resolve("src/blob.bin"), new byte[] {'n', 'e', 'e', 'd', 'l', 'e', 0, 1});
+
+        CodeIndex.Result result = index().search("needle", true, null, 10);
+
+        assertThat(result.matchedFiles()).isEqualTo(1);
+        assertThat(result.hits().get(0).path()).isEqualTo("src/Real.java");
+    }
+
+    @Test
+    void update_reindexesChangedAndDeletedFiles() throws IOException {
+        write("src/A.java", "alpha\n");
+        CodeIndex index = index();
+
+        write("src/A.java", "beta\n");
+        index.update(root.resolve("src/A.java"));
+        assertThat(index.search("alpha", false, null, 10).matchedFiles()).isZero();
+        assertThat(index.search("beta", false, null, 10).matchedFiles()).isEqualTo(1);
+
+        Files.delete(root.resolve("src/A.java"));
+        index.update(root.resolve("src/A.java"));
+        assertThat(index.search("beta", false, null, 10).matchedFiles()).isZero();
+        assertThat(index.stats()).contains("files:          0");
+    }
+
+    @Test
+    void pathGlob_restrictsResults() throws IOException {
+        write("src/A.java", "token\n");
+        write("docs/a.md", "token\n");
+
+        CodeIndex.Result result = index().search("token", false, "**.md", 10);
+
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.hits().get(0).path()).isEqualTo("docs/a.md");
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.devmcp.tools;
+
+import com.example.devmcp.BuildLog;
+import com.example.devmcp.build.BuildJob;
+import com.example.devmcp.build.BuildScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncBuildToolsTest {
+
+    private final BuildScheduler scheduler = new BuildScheduler(1, Duration.ofSeconds(10));
+
+    @Test
+    void cursor_holdsBackAPartialLineWhileTheBuildRuns() throws Exception {
+        BuildLog log = new BuildLog(1024 * 1024);
+        CountDownLatch attached = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-a"), "test", j -> {
+            j.attachLog(log);
+            attached.countDown();
+            release.await();
+            return 0;
+        });
+        attached.await();
+        AsyncBuildTools.OutputCursor cursor = new AsyncBuildTools.OutputCursor(job, 1024);
+
+        log.append("[INFO] one\n[INFO] two\n[INFO] thr");
+        assertThat(cursor.next()).isEqualTo("[INFO] one\n[INFO] two\n");
+        assertThat(cursor.next()).isNull();
+
+        log.append("ee\n[INFO] BUILD SUCCESS");
+        release.countDown();
+        scheduler.await(job);
+
+        assertThat(cursor.done()).isFalse();
+        assertThat(cursor.next()).isEqualTo("[INFO] three\n[INFO] BUILD SUCCESS");
+        assertThat(cursor.done()).isTrue();
+    }
+
+    @Test
+    void cursor_splitsLargeOutputAtLineEnds() throws Exception {
+        BuildLog log = new BuildLog(1024 * 1024);
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-b"), "test", j -> {
+            j.attachLog(log);
+            for (int i = 0; i < 100; i++) log.appendLine("line " + i);
+            return 0;
+        });
+        scheduler.await(job);
+        AsyncBuildTools.OutputCursor cursor = new AsyncBuildTools.OutputCursor(job, 64);
+
+        StringBuilder all = new StringBuilder();
+        String chunk;
+        while ((chunk = cursor.next()) != null) {
+            assertThat(chunk.length()).isLessThanOrEqualTo(64);
+            assertThat(chunk).endsWith("\n");
+            all.append(chunk);
+        }
+
+        assertThat(cursor.done()).isTrue();
+        assertThat(all.toString()).startsWith("line 0\n").endsWith("line 99\n");
+        assertThat(all.toString().lines().count()).isEqualTo(100);
+    }
+
+    @Test
+    void cursor_sendsALineLongerThanTheChunkInPieces() throws Exception {
+        BuildLog log = new BuildLog(1024 * 1024);
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-c"), "test", j -> {
+            j.attachLog(log);
+            log.appendLine("x".repeat(100));
+            return 0;
+        });
+        scheduler.await(job);
+        AsyncBuildTools.OutputCursor cursor = new AsyncBuildTools.OutputCursor(job, 64);
+
+        assertThat(cursor.next()).hasSize(64);
+        assertThat(cursor.next()).hasSize(37);
+        assertThat(cursor.done()).isTrue();
+    }
+
+    @Test
+    void cursor_cutsALongLineBetweenCharacters() throws Exception {
+        BuildLog log = new BuildLog(1024 * 1024);
+        BuildJob job = scheduler.submit(Path.of("/tmp/project-d"), "test", j -> {
+            j.attachLog(log);
+            log.appendLine("x".repeat(63) + "é€𝄞".repeat(4));
+            return 0;
+        });
+        scheduler.await(job);
+        AsyncBuildTools.OutputCursor cursor = new AsyncBuildTools.OutputCursor(job, 64);
+
+        StringBuilder all = new StringBuilder();
+        String chunk;
+        while ((chunk = cursor.next()) != null) {
+            assertThat(chunk).doesNotContain("\uFFFD");
+            all.append(chunk);
+        }
+        assertThat(all.toString()).isEqualTo("x".repeat(63) + "é€𝄞".repeat(4) + "\n");
+    }
+}